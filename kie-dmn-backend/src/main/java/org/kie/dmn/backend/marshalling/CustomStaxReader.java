@@ -4,6 +4,7 @@ import java.util.HashMap;
 import java.util.Map;
 
 import javax.xml.XMLConstants;
+import javax.xml.namespace.QName;
 import javax.xml.stream.XMLStreamReader;
 
 import com.thoughtworks.xstream.io.xml.QNameMap;
@@ -31,4 +32,20 @@ public class CustomStaxReader extends StaxReader {
         }
         return nsContext;
     }
+
+    /**
+     * Returns the attributes of the current element qualified by a namespace, e.g. the
+     * extension attributes of the DMN elements, but not the xsi ones
+     */
+    public Map<QName, String> getAdditionalAttributes() {
+        Map<QName, String> attributes = new HashMap<>();
+        for (int i = 0; i < in.getAttributeCount(); i++) {
+            QName name = in.getAttributeName(i);
+            String nsURI = name.getNamespaceURI();
+            if (nsURI != null && !nsURI.isEmpty() && !XMLConstants.W3C_XML_SCHEMA_INSTANCE_NS_URI.equals(nsURI)) {
+                attributes.put(name, in.getAttributeValue(i));
+            }
+        }
+        return attributes;
+    }
 }
@@ -23,6 +23,10 @@ public class CustomStaxWriter extends StaxWriter {
         out.writeNamespace(prefix, uri);
     }
     
+    public void writeAttribute(String prefix, String uri, String localName, String value) throws XMLStreamException {
+        out.writeAttribute(prefix, uri, localName, value);
+    }
+
     public void setDefaultNamespace(String uri) throws XMLStreamException {
         out.setDefaultNamespace(uri);
     }
@@ -16,11 +16,17 @@
 
 package org.kie.dmn.backend.marshalling.v1_1.xstream;
 
+import java.util.Map;
+
+import javax.xml.namespace.QName;
+
 import com.thoughtworks.xstream.XStream;
 import com.thoughtworks.xstream.converters.MarshallingContext;
 import com.thoughtworks.xstream.io.HierarchicalStreamReader;
 import com.thoughtworks.xstream.io.HierarchicalStreamWriter;
 
+import org.kie.dmn.backend.marshalling.CustomStaxReader;
+import org.kie.dmn.backend.marshalling.CustomStaxWriter;
 import org.kie.dmn.feel.model.v1_1.DMNElement;
 
 public abstract class DMNElementConverter
@@ -28,6 +34,7 @@ public abstract class DMNElementConverter
     public static final String ID          = "id";
     public static final String LABEL       = "label";
     public static final String DESCRIPTION = "description";
+    public static final String EXTENSION_ELEMENTS = "extensionElements";
 
     public DMNElementConverter(XStream xstream) {
         super( xstream );
@@ -37,6 +44,8 @@ public abstract class DMNElementConverter
     protected void assignChildElement(Object parent, String nodeName, Object child) {
         if ( DESCRIPTION.equals( nodeName ) && child instanceof String ) {
             ((DMNElement) parent).setDescription( (String) child );
+        } else if ( EXTENSION_ELEMENTS.equals( nodeName ) && child instanceof DMNElement.ExtensionElements ) {
+            ((DMNElement) parent).setExtensionElements( (DMNElement.ExtensionElements) child );
         } else {
             super.assignChildElement(parent, nodeName, child);
         }
@@ -52,6 +61,8 @@ public abstract class DMNElementConverter
 
         dmne.setId( id );
         dmne.setLabel( label );
+        // extension attributes, e.g. kie:memoizedResults
+        dmne.getOtherAttributes().putAll( ((CustomStaxReader) reader.underlyingReader()).getAdditionalAttributes() );
     }
     
     @Override
@@ -69,5 +80,14 @@ public abstract class DMNElementConverter
         
         if (e.getId() != null) writer.addAttribute( ID , e.getId() );
         if (e.getLabel() != null) writer.addAttribute( LABEL , e.getLabel() );
+        CustomStaxWriter staxWriter = ((CustomStaxWriter) writer.underlyingWriter());
+        for (Map.Entry<QName, String> a : e.getOtherAttributes().entrySet()) {
+            try {
+                staxWriter.writeAttribute( a.getKey().getPrefix(), a.getKey().getNamespaceURI(), a.getKey().getLocalPart(), a.getValue() );
+            } catch (Exception ex) {
+                //TODO what to do?
+                ex.printStackTrace();
+            }
+        }
     }
 }
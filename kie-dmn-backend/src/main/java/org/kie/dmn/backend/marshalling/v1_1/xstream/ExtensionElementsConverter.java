@@ -24,11 +24,13 @@ import com.thoughtworks.xstream.converters.UnmarshallingContext;
 import com.thoughtworks.xstream.io.HierarchicalStreamReader;
 import com.thoughtworks.xstream.io.HierarchicalStreamWriter;
 import org.kie.dmn.feel.model.v1_1.DMNModelInstrumentedBase;
+import org.kie.dmn.feel.model.v1_1.RulesImport;
 
 /**
- * Currently ignoring all extensionElements
+ * Currently ignoring all extensionElements, except the rulesImport elements
  */
 public class ExtensionElementsConverter extends DMNModelInstrumentedBaseConverter {
+    public static final String RULES_IMPORT = "rulesImport";
 
     @Override
     protected void assignAttributes(HierarchicalStreamReader reader, Object parent) {
@@ -37,8 +39,8 @@ public class ExtensionElementsConverter extends DMNModelInstrumentedBaseConverte
     }
 
     /**
-     * Currently ignoring all extensionElements.
-     * Please note overriding {@link DMNBaseConverter#unmarshal(HierarchicalStreamReader, UnmarshallingContext)} in order to just skip all child elements of this extensionElements.
+     * Currently ignoring all extensionElements, except the rulesImport elements.
+     * Please note overriding {@link DMNBaseConverter#unmarshal(HierarchicalStreamReader, UnmarshallingContext)} in order to skip the other child elements of this extensionElements.
      */
     @Override
     public Object unmarshal(HierarchicalStreamReader reader, UnmarshallingContext context) {
@@ -47,7 +49,12 @@ public class ExtensionElementsConverter extends DMNModelInstrumentedBaseConverte
         while ( reader.hasMoreChildren() ) {
             reader.moveDown();
             String nodeName = reader.getNodeName();
-            // skipping nodeName
+            if ( RULES_IMPORT.equals( nodeName ) ) {
+                Object child = readItem( reader, context, null );
+                ((RulesImport) child).setParent( (DMNModelInstrumentedBase) obj );
+                ((ExtensionElements) obj).getAny().add( child );
+            }
+            // skipping any other nodeName
             reader.moveUp();
         }
         return obj;
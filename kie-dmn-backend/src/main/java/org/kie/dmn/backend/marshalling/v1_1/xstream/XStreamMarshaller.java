@@ -59,6 +59,7 @@ import org.kie.dmn.feel.model.v1_1.OrganizationUnit;
 import org.kie.dmn.feel.model.v1_1.OutputClause;
 import org.kie.dmn.feel.model.v1_1.PerformanceIndicator;
 import org.kie.dmn.feel.model.v1_1.Relation;
+import org.kie.dmn.feel.model.v1_1.RulesImport;
 import org.kie.dmn.feel.model.v1_1.TextAnnotation;
 import org.kie.dmn.feel.model.v1_1.UnaryTests;
 import org.kie.dmn.api.marshalling.v1_1.DMNMarshaller;
@@ -304,6 +305,7 @@ public class XStreamMarshaller
         xStream.alias("row", org.kie.dmn.feel.model.v1_1.List.class );
         xStream.alias("list", org.kie.dmn.feel.model.v1_1.List.class );        
         xStream.alias("extensionElements", DMNElement.ExtensionElements.class);
+        xStream.alias("rulesImport", RulesImport.class);
 
         // Manually imported TEXT = String
         xStream.alias( LiteralExpressionConverter.TEXT, String.class );
@@ -340,6 +342,7 @@ public class XStreamMarshaller
         xStream.registerConverter(new OutputClauseConverter( xStream ) );
         xStream.registerConverter(new PerformanceIndicatorConverter( xStream ) );
         xStream.registerConverter(new RelationConverter( xStream ) );
+        xStream.registerConverter(new RulesImportConverter( xStream ) );
         xStream.registerConverter(new TextAnnotationConverter( xStream ) );
         xStream.registerConverter(new UnaryTestsConverter( xStream ) );
         
@@ -19,6 +19,7 @@ package org.kie.dmn.core.api;
 import org.kie.api.io.Resource;
 
 import java.io.Reader;
+import java.nio.file.Path;
 
 public interface DMNCompiler {
 
@@ -26,4 +27,43 @@ public interface DMNCompiler {
 
     DMNModel compile( Reader source );
 
+    /**
+     * Compiles the given resource again, reusing the compiled decisions, business knowledge
+     * models, input data and item definitions of the previous model that did not change and
+     * whose requirements and types did not change either.
+     *
+     * @param previous the model previously compiled from the same resource, can be null
+     */
+    DMNModel compile( Resource resource, DMNModel previous );
+
+    /**
+     * Compiles the given source again, reusing what did not change in the previous model
+     *
+     * @see #compile(Resource, DMNModel)
+     */
+    DMNModel compile( Reader source, DMNModel previous );
+
+    boolean isRetainDefinitions();
+
+    /**
+     * When false, the compiled models only keep what evaluation needs: the unmarshalled
+     * definitions and the text of the compiled expressions are dropped. The definitions of
+     * a model compiled from a {@link Resource} are then read again from the resource when
+     * requested, unless it changed since, while those of a model compiled from a {@link Reader}
+     * are no longer available. Defaults to true.
+     */
+    void setRetainDefinitions( boolean retainDefinitions );
+
+    Path getRuleStoreDirectory();
+
+    /**
+     * Sets the directory where the rules of the large decision tables are stored and mapped
+     * instead of kept in memory. The files are named after their content, so that the JVMs
+     * compiling the same table share the same file and its pages. Defaults to null, that keeps
+     * all the rules in memory.
+     * The rules of the decision tables also stay in the definitions of the model, unless they
+     * are dropped with {@link #setRetainDefinitions(boolean)}: both are meant to be used together.
+     */
+    void setRuleStoreDirectory( Path ruleStoreDirectory );
+
 }
@@ -0,0 +1,72 @@
+/*
+ * Copyright 2016 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.dmn.core.api;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Evaluates all decisions of a model for each submitted context, delivering the results to
+ * the consumer the stream was opened with. At most maxInFlight contexts are accepted and
+ * not delivered yet, and at most parallelism of them are evaluated at the same time, so a
+ * producer faster than the evaluations is held back by {@link #submit(DMNContext)} or
+ * refused by {@link #trySubmit(DMNContext)} instead of piling up work in the executor.
+ *
+ * Results are delivered one at a time, in submission order if the stream is ordered and in
+ * completion order otherwise. An evaluation failing with an exception, or the consumer
+ * throwing one, terminates the stream: the contexts not evaluated yet are dropped, the
+ * running evaluations are cancelled and the future returned by {@link #complete()} is
+ * completed exceptionally.
+ */
+public interface DMNEvaluationStream {
+
+    /**
+     * Submits a context for evaluation, waiting while maxInFlight contexts are pending.
+     *
+     * @param context the context with all the input variables
+     *
+     * @throws InterruptedException if interrupted while waiting
+     * @throws IllegalStateException if the stream was completed, cancelled or failed
+     */
+    void submit( DMNContext context ) throws InterruptedException;
+
+    /**
+     * Submits a context for evaluation if less than maxInFlight contexts are pending.
+     *
+     * @param context the context with all the input variables
+     *
+     * @return true if the context was accepted, false if the stream is full
+     *
+     * @throws IllegalStateException if the stream was completed, cancelled or failed
+     */
+    boolean trySubmit( DMNContext context );
+
+    /**
+     * Signals that no more contexts will be submitted. Must not be called concurrently
+     * with a submission.
+     *
+     * @return a future completed once the results of all the submitted contexts were
+     *         delivered, or completed exceptionally if the stream failed
+     */
+    CompletableFuture<Void> complete();
+
+    /**
+     * Terminates the stream: the contexts not evaluated yet are dropped and the running
+     * evaluations are cancelled.
+     */
+    void cancel();
+
+}
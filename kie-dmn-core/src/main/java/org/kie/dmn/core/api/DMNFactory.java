@@ -18,6 +18,13 @@ package org.kie.dmn.core.api;
 
 import org.kie.dmn.core.compiler.DMNCompilerImpl;
 import org.kie.dmn.core.impl.DMNContextImpl;
+import org.kie.dmn.core.impl.DMNModelRegistryImpl;
+import org.kie.dmn.core.impl.DMNRuntimeImpl;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
 
 public class DMNFactory {
 
@@ -27,4 +34,41 @@ public class DMNFactory {
 
     public static DMNCompiler newCompiler() { return new DMNCompilerImpl(); }
 
+    /**
+     * Creates a runtime that evaluates the given compiled models without a KieSession
+     */
+    public static DMNRuntime newRuntime(DMNModel... models) {
+        return newRuntime( Arrays.asList( models ) );
+    }
+
+    /**
+     * Creates a runtime that evaluates the given compiled models without a KieSession
+     */
+    public static DMNRuntime newRuntime(Collection<? extends DMNModel> models) {
+        return new DMNRuntimeImpl( models );
+    }
+
+    /**
+     * Creates a runtime that evaluates the models of the given registry without a KieSession.
+     * Models can be deployed to the registry while the runtime is in use.
+     */
+    public static DMNRuntime newRuntime(DMNModelRegistry registry) {
+        return new DMNRuntimeImpl( registry );
+    }
+
+    public static DMNModelRegistry newModelRegistry() {
+        return new DMNModelRegistryImpl();
+    }
+
+    /**
+     * Creates a runtime that evaluates all the models of the given packages without a KieSession
+     */
+    public static DMNRuntime newRuntime(DMNPackage... packages) {
+        List<DMNModel> models = new ArrayList<>();
+        for( DMNPackage pkg : packages ) {
+            models.addAll( pkg.getAllModels().values() );
+        }
+        return newRuntime( models );
+    }
+
 }
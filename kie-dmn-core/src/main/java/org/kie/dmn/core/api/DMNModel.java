@@ -16,6 +16,7 @@
 
 package org.kie.dmn.core.api;
 
+import org.kie.dmn.core.ast.BusinessKnowledgeModelNode;
 import org.kie.dmn.core.ast.DecisionNode;
 import org.kie.dmn.core.ast.InputDataNode;
 import org.kie.dmn.core.ast.ItemDefNode;
@@ -32,6 +33,11 @@ public interface DMNModel {
 
     String getName();
 
+    /**
+     * Returns the definitions this model was compiled from. A model compiled without
+     * retaining its definitions reloads them from its resource, and returns null if they
+     * cannot be reloaded or if the resource changed since the model was compiled.
+     */
     Definitions getDefinitions();
 
     InputDataNode getInputById(String id);
@@ -46,6 +52,12 @@ public interface DMNModel {
 
     Set<DecisionNode> getDecisions();
 
+    BusinessKnowledgeModelNode getBusinessKnowledgeModelById(String id);
+
+    BusinessKnowledgeModelNode getBusinessKnowledgeModelByName(String name);
+
+    Set<BusinessKnowledgeModelNode> getBusinessKnowledgeModels();
+
     Set<InputDataNode> getRequiredInputsForDecisionName(String decisionName );
 
     Set<InputDataNode> getRequiredInputsForDecisionId( String decisionName );
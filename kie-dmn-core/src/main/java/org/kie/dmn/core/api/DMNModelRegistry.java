@@ -0,0 +1,95 @@
+/*
+ * Copyright 2016 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.dmn.core.api;
+
+import java.util.List;
+
+/**
+ * The models available to a standalone runtime, by namespace and model name. Deploying a
+ * model replaces the one with the same namespace and name atomically: the evaluations that
+ * already started keep using the model they were given, and a replaced model is reclaimed
+ * once no evaluation references it anymore.
+ */
+public interface DMNModelRegistry {
+
+    /**
+     * Returns the model registered with the given namespace and model name, or null if none
+     * is registered
+     */
+    DMNModel getModel( String namespace, String modelName );
+
+    /**
+     * Returns the version tag of the model registered with the given namespace and model
+     * name, or null if none is registered. Use {@link #getVersionedModel(String, String)} to
+     * get a model together with its version, as a deployment can happen between two lookups.
+     */
+    String getVersion( String namespace, String modelName );
+
+    /**
+     * Returns the model registered with the given namespace and model name along with its
+     * version tag, or null if none is registered
+     */
+    VersionedModel getVersionedModel( String namespace, String modelName );
+
+    /**
+     * Returns all the registered models. The returned list is an unmodifiable snapshot.
+     */
+    List<DMNModel> getModels();
+
+    /**
+     * Registers the given model, tagged with the next revision number of its namespace and name:
+     * "1" for the first model deployed with them, then "2" and so on, even after an undeploy
+     *
+     * @return the model it replaces, or null if there was none
+     */
+    DMNModel deploy( DMNModel model );
+
+    /**
+     * Registers the given model with the given version tag
+     *
+     * @return the model it replaces, or null if there was none
+     */
+    DMNModel deploy( DMNModel model, String version );
+
+    /**
+     * Removes the model registered with the given namespace and model name
+     *
+     * @return the removed model, or null if there was none
+     */
+    DMNModel undeploy( String namespace, String modelName );
+
+    /**
+     * A registered model and the version tag it was deployed with
+     */
+    final class VersionedModel {
+        private final DMNModel model;
+        private final String   version;
+
+        public VersionedModel(DMNModel model, String version) {
+            this.model = model;
+            this.version = version;
+        }
+
+        public DMNModel getModel() {
+            return model;
+        }
+
+        public String getVersion() {
+            return version;
+        }
+    }
+}
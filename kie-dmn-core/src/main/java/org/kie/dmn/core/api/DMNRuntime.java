@@ -19,6 +19,9 @@ package org.kie.dmn.core.api;
 import org.kie.dmn.core.api.event.DMNRuntimeEventManager;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
 
 public interface DMNRuntime extends DMNRuntimeEventManager {
 
@@ -78,4 +81,81 @@ public interface DMNRuntime extends DMNRuntimeEventManager {
      */
     DMNResult evaluateDecisionById(DMNModel model, String decisionId, DMNContext context );
 
+    /**
+     * Sets the executor used by the asynchronous evaluation methods that do not take one.
+     * Models calling blocking external Java functions are better served by an executor
+     * that does not share its threads with other work, e.g. one starting a thread (or a
+     * virtual thread, where available) per task. Defaults to the common fork join pool.
+     *
+     * @param executor the default executor for asynchronous evaluations
+     */
+    void setAsyncExecutor( Executor executor );
+
+    /**
+     * Asynchronously evaluate all decisions for the model, given the context, on the
+     * default executor. See {@link #evaluateAllAsync(DMNModel, DMNContext, Executor)}.
+     */
+    CompletableFuture<DMNResult> evaluateAllAsync( DMNModel model, DMNContext context );
+
+    /**
+     * Asynchronously evaluate all decisions for the model, given the context.
+     *
+     * Cancelling the returned future stops the evaluation before the next decision, and
+     * if mayInterruptIfRunning is true, also interrupts the thread running the evaluation.
+     *
+     * @param model the model to evaluate
+     * @param context the context with all the input variables
+     * @param executor the executor that runs the evaluation
+     *
+     * @return a future completed with the result of the evaluation
+     */
+    CompletableFuture<DMNResult> evaluateAllAsync( DMNModel model, DMNContext context, Executor executor );
+
+    /**
+     * Asynchronously evaluate the decision identified by the given name and all dependent
+     * decisions, on the default executor. See {@link #evaluateAllAsync(DMNModel, DMNContext, Executor)}.
+     */
+    CompletableFuture<DMNResult> evaluateDecisionByNameAsync( DMNModel model, String decisionName, DMNContext context );
+
+    /**
+     * Asynchronously evaluate the decision identified by the given name and all dependent
+     * decisions. See {@link #evaluateAllAsync(DMNModel, DMNContext, Executor)}.
+     */
+    CompletableFuture<DMNResult> evaluateDecisionByNameAsync( DMNModel model, String decisionName, DMNContext context, Executor executor );
+
+    /**
+     * Asynchronously evaluate the decision identified by the given ID and all dependent
+     * decisions, on the default executor. See {@link #evaluateAllAsync(DMNModel, DMNContext, Executor)}.
+     */
+    CompletableFuture<DMNResult> evaluateDecisionByIdAsync( DMNModel model, String decisionId, DMNContext context );
+
+    /**
+     * Asynchronously evaluate the decision identified by the given ID and all dependent
+     * decisions. See {@link #evaluateAllAsync(DMNModel, DMNContext, Executor)}.
+     */
+    CompletableFuture<DMNResult> evaluateDecisionByIdAsync( DMNModel model, String decisionId, DMNContext context, Executor executor );
+
+    /**
+     * Opens an ordered evaluation stream for the model on the default executor, evaluating
+     * as many contexts at a time as there are processors and accepting up to four times
+     * as many. See {@link #openEvaluationStream(DMNModel, Consumer, int, int, boolean)}.
+     */
+    DMNEvaluationStream openEvaluationStream( DMNModel model, Consumer<? super DMNResult> results );
+
+    /**
+     * Opens a stream evaluating all decisions of the model for each submitted context on
+     * the default executor, with bounded parallelism and in-flight contexts.
+     *
+     * @param model the model to evaluate
+     * @param results the consumer of the results, never called concurrently
+     * @param parallelism the maximum number of contexts evaluated at the same time
+     * @param maxInFlight the maximum number of contexts accepted and not delivered yet,
+     *                    at least parallelism
+     * @param ordered true to deliver the results in submission order, false to deliver
+     *                them as soon as they are available
+     *
+     * @return the evaluation stream
+     */
+    DMNEvaluationStream openEvaluationStream( DMNModel model, Consumer<? super DMNResult> results, int parallelism, int maxInFlight, boolean ordered );
+
 }
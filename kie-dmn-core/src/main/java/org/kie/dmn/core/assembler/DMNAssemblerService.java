@@ -31,10 +31,24 @@ import org.kie.internal.assembler.KieAssemblerService;
 import org.kie.internal.builder.KnowledgeBuilder;
 import org.kie.internal.io.ResourceTypePackage;
 
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.Map;
 
 public class DMNAssemblerService implements KieAssemblerService {
 
+    /**
+     * The system property that, set to false, drops the definitions of the compiled models,
+     * see {@link DMNCompiler#setRetainDefinitions(boolean)}
+     */
+    public static final String RETAIN_DEFINITIONS_PROPERTY = "org.kie.dmn.compiler.retainDefinitions";
+
+    /**
+     * The system property giving the directory where the rules of the large decision tables
+     * are stored, see {@link DMNCompiler#setRuleStoreDirectory(Path)}
+     */
+    public static final String RULE_STORE_DIRECTORY_PROPERTY = "org.kie.dmn.compiler.ruleStoreDirectory";
+
     @Override
     public ResourceType getResourceType() {
         return ResourceType.DMN;
@@ -45,6 +59,14 @@ public class DMNAssemblerService implements KieAssemblerService {
             throws Exception {
 
         DMNCompiler dmnCompiler = DMNFactory.newCompiler();
+        String retainDefinitions = System.getProperty( RETAIN_DEFINITIONS_PROPERTY );
+        if ( retainDefinitions != null ) {
+            dmnCompiler.setRetainDefinitions( Boolean.parseBoolean( retainDefinitions ) );
+        }
+        String ruleStoreDirectory = System.getProperty( RULE_STORE_DIRECTORY_PROPERTY );
+        if ( ruleStoreDirectory != null && !ruleStoreDirectory.isEmpty() ) {
+            dmnCompiler.setRuleStoreDirectory( Paths.get( ruleStoreDirectory ) );
+        }
         DMNModel model = dmnCompiler.compile( resource );
         String namespace = model.getNamespace();
 
@@ -0,0 +1,79 @@
+/*
+ * Copyright 2016 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.dmn.core.ast;
+
+import org.kie.dmn.feel.model.v1_1.BusinessKnowledgeModel;
+import org.kie.dmn.feel.runtime.functions.InvocableFunction;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+public class BusinessKnowledgeModelNode extends DMNBaseNode implements DMNNode {
+
+    private BusinessKnowledgeModel bkm;
+    private String                 variableName;
+    // other business knowledge models invoked by this one
+    private Map<String, BusinessKnowledgeModelNode> dependencies = new LinkedHashMap<>();
+    // compiled once and shared by all the decisions that invoke this business knowledge model
+    private InvocableFunction      function;
+
+    public BusinessKnowledgeModelNode() {
+    }
+
+    public BusinessKnowledgeModelNode(BusinessKnowledgeModel bkm) {
+        super( bkm );
+        setBusinessKnowledgeModel( bkm );
+    }
+
+    public BusinessKnowledgeModel getBusinessKnowledgeModel() {
+        return bkm;
+    }
+
+    public void setBusinessKnowledgeModel(BusinessKnowledgeModel bkm) {
+        this.bkm = bkm;
+        this.variableName = bkm != null && bkm.getVariable() != null ? bkm.getVariable().getName() : null;
+    }
+
+    /**
+     * Returns the name the function of this business knowledge model is invoked by
+     */
+    public String getVariableName() {
+        return variableName != null ? variableName : getName();
+    }
+
+    @Override
+    public void detachSource() {
+        super.detachSource();
+        this.bkm = null;
+    }
+
+    public Map<String, BusinessKnowledgeModelNode> getDependencies() {
+        return dependencies;
+    }
+
+    public void addDependency(String name, BusinessKnowledgeModelNode dependency) {
+        this.dependencies.put( name, dependency );
+    }
+
+    public InvocableFunction getFunction() {
+        return function;
+    }
+
+    public void setFunction(InvocableFunction function) {
+        this.function = function;
+    }
+}
@@ -21,20 +21,33 @@ import org.kie.dmn.feel.model.v1_1.NamedElement;
 public abstract class DMNBaseNode {
 
     private NamedElement source;
+    // kept apart from the source, as they are still needed after it is detached
+    private String       id;
+    private String       name;
 
     public DMNBaseNode() {
     }
 
     public DMNBaseNode(NamedElement source) {
         this.source = source;
+        this.id = source != null ? source.getId() : null;
+        this.name = source != null ? source.getName() : null;
     }
 
     public String getId() {
-        return source != null ? source.getId() : null;
+        return id;
     }
 
     public String getName() {
-        return source != null ? source.getName() : null;
+        return name;
+    }
+
+    /**
+     * Drops the reference to the model element this node was compiled from, so that the
+     * element can be garbage collected. Only what evaluation needs is kept.
+     */
+    public void detachSource() {
+        this.source = null;
     }
 
 }
@@ -16,6 +16,7 @@
 
 package org.kie.dmn.core.ast;
 
+import org.kie.dmn.core.api.DMNContext;
 import org.kie.dmn.core.api.DMNMessage;
 import org.kie.dmn.core.api.DMNType;
 import org.kie.dmn.core.api.event.InternalDMNRuntimeEventManager;
@@ -25,7 +26,9 @@ import org.kie.dmn.feel.lang.CompiledExpression;
 import org.kie.dmn.feel.lang.impl.EvaluationContextImpl;
 import org.kie.dmn.feel.lang.impl.FEELImpl;
 import org.kie.dmn.feel.model.v1_1.Decision;
+import org.kie.dmn.feel.runtime.FEELFunction;
 import org.kie.dmn.feel.runtime.functions.DTInvokerFunction;
+import org.kie.dmn.feel.runtime.functions.InvocableFunction;
 import org.kie.dmn.feel.runtime.events.DecisionTableRulesMatchedEvent;
 import org.kie.dmn.feel.runtime.events.FEELEvent;
 import org.kie.dmn.feel.runtime.events.FEELEventListener;
@@ -35,8 +38,11 @@ import java.util.*;
 public class DecisionNode extends DMNBaseNode implements DMNNode {
 
     private Decision decision;
+    private String variableName;
     // need to retain dependencies order, so need to use LinkedHashMap
     private Map<String, DMNNode> dependencies = new LinkedHashMap<>( );
+    // business knowledge models invoked by this decision
+    private Map<String, BusinessKnowledgeModelNode> knowledgeRequirements = new LinkedHashMap<>( );
     private DecisionEvaluator evaluator;
     private DMNType resultType;
 
@@ -45,7 +51,7 @@ public class DecisionNode extends DMNBaseNode implements DMNNode {
 
     public DecisionNode(Decision decision, DMNType resultType ) {
         super( decision );
-        this.decision = decision;
+        setDecision( decision );
         this.resultType = resultType;
     }
 
@@ -55,6 +61,20 @@ public class DecisionNode extends DMNBaseNode implements DMNNode {
 
     public void setDecision(Decision decision) {
         this.decision = decision;
+        this.variableName = decision != null && decision.getVariable() != null ? decision.getVariable().getName() : null;
+    }
+
+    /**
+     * Returns the name of the variable that holds the result of this decision
+     */
+    public String getVariableName() {
+        return variableName;
+    }
+
+    @Override
+    public void detachSource() {
+        super.detachSource();
+        this.decision = null;
     }
 
     public Map<String, DMNNode> getDependencies() {
@@ -69,6 +89,28 @@ public class DecisionNode extends DMNBaseNode implements DMNNode {
         this.dependencies.put( name, dependency );
     }
 
+    public Map<String, BusinessKnowledgeModelNode> getKnowledgeRequirements() {
+        return knowledgeRequirements;
+    }
+
+    public void addKnowledgeRequirement( String name, BusinessKnowledgeModelNode bkm ) {
+        this.knowledgeRequirements.put( name, bkm );
+    }
+
+    /**
+     * Returns the functions of the business knowledge models invoked by this decision,
+     * by the name they are invoked with
+     */
+    public Map<String, FEELFunction> getKnowledgeRequirementFunctions() {
+        Map<String, FEELFunction> functions = new LinkedHashMap<>( );
+        knowledgeRequirements.forEach( (name, bkm) -> {
+            if( bkm.getFunction() != null ) {
+                functions.put( name, bkm.getFunction() );
+            }
+        } );
+        return functions;
+    }
+
     public DecisionEvaluator getEvaluator() {
         return evaluator;
     }
@@ -109,28 +151,106 @@ public class DecisionNode extends DMNBaseNode implements DMNNode {
 
     public static class LiteralExpressionFEELEvaluator implements DecisionEvaluator {
         private CompiledExpression expression;
+        private Map<String, FEELFunction> functions;
 
         public LiteralExpressionFEELEvaluator(CompiledExpression expression) {
+            this( expression, Collections.emptyMap() );
+        }
+
+        public LiteralExpressionFEELEvaluator(CompiledExpression expression, Map<String, FEELFunction> functions) {
             this.expression = expression;
+            this.functions = functions;
         }
 
         @Override
         public EvaluatorResult evaluate(InternalDMNRuntimeEventManager eventManager, DMNResultImpl result) {
-            Object val = FEEL.newInstance().evaluate( expression, result.getContext().getAll() );
+            Object val = FEEL.newInstance().evaluate( expression, withFunctions( result.getContext().getAll(), functions ) );
             return new EvaluatorResult( val, ResultType.SUCCESS );
         }
     }
 
+    private static Map<String, Object> withFunctions(Map<String, Object> values, Map<String, FEELFunction> functions) {
+        if( functions.isEmpty() ) {
+            return values;
+        }
+        Map<String, Object> all = new HashMap<>( values );
+        all.putAll( functions );
+        return all;
+    }
+
+    /**
+     * Evaluates an invocation of a business knowledge model. The binding of each parameter
+     * is compiled into the position of that parameter in the arguments of the function, so
+     * no argument is matched by name at evaluation time.
+     */
+    public static class InvocationEvaluator implements DecisionEvaluator, FEELEventListener {
+        private final String decisionId;
+        private final InvocableFunction function;
+        // indexed by the position of the parameter, null for the parameters that are not bound
+        private final CompiledExpression[] bindings;
+        private final Map<String, FEELFunction> functions;
+        private final FEELImpl feel;
+
+        private final ThreadLocal<List<FEELEvent>> events = ThreadLocal.withInitial( ArrayList::new );
+
+        public InvocationEvaluator(String decisionId, InvocableFunction function, CompiledExpression[] bindings, Map<String, FEELFunction> functions) {
+            this.decisionId = decisionId;
+            this.function = function;
+            this.bindings = bindings;
+            this.functions = functions;
+            this.feel = (FEELImpl) FEEL.newInstance();
+            feel.addListener( this );
+        }
+
+        @Override
+        public EvaluatorResult evaluate(InternalDMNRuntimeEventManager eventManager, DMNResultImpl result) {
+            Map<String, Object> values = withFunctions( result.getContext().getAll(), functions );
+            Object[] params = new Object[ bindings.length ];
+            for( int i = 0; i < params.length; i++ ) {
+                if( bindings[i] != null ) {
+                    params[i] = feel.evaluate( bindings[i], values );
+                }
+            }
+            EvaluationContextImpl ctx = EvaluationContextImpl.acquire( feel.getEventsManager() );
+            Object val;
+            try {
+                val = function.apply( ctx, params );
+            } finally {
+                ctx.release();
+            }
+            boolean hasErrors = false;
+            List<FEELEvent> evts = events.get();
+            for( FEELEvent e : evts ) {
+                if( e.getSeverity() == FEELEvent.Severity.ERROR ) {
+                    result.addMessage( DMNMessage.Severity.ERROR, e.getMessage(), decisionId, e );
+                    hasErrors = true;
+                }
+            }
+            evts.clear();
+            return new EvaluatorResult( val, hasErrors ? ResultType.FAILURE : ResultType.SUCCESS );
+        }
+
+        @Override
+        public void onEvent(FEELEvent event) {
+            this.events.get().add( event );
+        }
+    }
+
     public static class DTExpressionEvaluator implements DecisionEvaluator, FEELEventListener {
-        private final Decision decision;
+        private final String decisionId;
         private DTInvokerFunction dt;
         private FEELImpl feel;
+        // the parameters are the decision's requirements, read by name from the result context
+        private final String[] parameterNames;
 
-        private List<FEELEvent> events = new ArrayList<>(  );
+        // the same decision can be evaluated by several threads at once
+        private final ThreadLocal<List<FEELEvent>> events = ThreadLocal.withInitial( ArrayList::new );
 
         public DTExpressionEvaluator(Decision decision, DTInvokerFunction dt) {
-            this.decision = decision;
+            this.decisionId = decision.getId();
             this.dt = dt;
+            List<String> names = dt.getParameterNames().get( 0 );
+            this.parameterNames = names.toArray( new String[names.size()] );
             feel = (FEELImpl) FEEL.newInstance();
             feel.addListener( this );
         }
@@ -140,15 +260,20 @@ public class DecisionNode extends DMNBaseNode implements DMNNode {
             EventResults r = null;
             try {
                 eventManager.fireBeforeEvaluateDecisionTable( dt.getName(), result );
-                List<String> paramNames = dt.getParameterNames().get( 0 );
-                Object[] params = new Object[ paramNames.size() ];
-                EvaluationContextImpl ctx = new EvaluationContextImpl( feel.getEventsManager() );
+                DMNContext context = result.getContext();
+                Object[] params = new Object[ parameterNames.length ];
                 for( int i = 0; i < params.length; i++ ) {
-                    params[i] = feel.evaluate( paramNames.get( i ), result.getContext().getAll() );
-                    ctx.setValue( paramNames.get( i ), params[i] );
+                    params[i] = context.get( parameterNames[i] );
+                }
+                EvaluationContextImpl ctx = EvaluationContextImpl.acquire( feel.getEventsManager() );
+                Object dtr;
+                try {
+                    // the invoker binds the parameters in its own frame
+                    dtr = dt.apply( ctx, params );
+                } finally {
+                    ctx.release();
                 }
-                Object dtr = dt.apply( ctx, params );
-                r = processEvents( events, eventManager, result );
+                r = processEvents( events.get(), eventManager, result );
                 return new EvaluatorResult( dtr, r.hasErrors ? ResultType.FAILURE : ResultType.SUCCESS );
             } finally {
                 eventManager.fireAfterEvaluateDecisionTable( dt.getName(), result, ( r != null ? r.matchedRules : null ) );
@@ -161,7 +286,7 @@ public class DecisionNode extends DMNBaseNode implements DMNNode {
                 if( e instanceof DecisionTableRulesMatchedEvent ) {
                     r.matchedRules = ((DecisionTableRulesMatchedEvent) e).getMatches();
                 } else if( e.getSeverity() == FEELEvent.Severity.ERROR ) {
-                    result.addMessage( DMNMessage.Severity.ERROR, e.getMessage(), decision.getId(), e );
+                    result.addMessage( DMNMessage.Severity.ERROR, e.getMessage(), decisionId, e );
                     r.hasErrors = true;
                 }
             }
@@ -179,7 +304,7 @@ public class DecisionNode extends DMNBaseNode implements DMNNode {
 
         @Override
         public void onEvent(FEELEvent event) {
-            this.events.add( event );
+            this.events.get().add( event );
         }
     }
 
@@ -35,7 +35,13 @@ public class InputDataNode extends DMNBaseNode
     }
 
     public String getName() {
-        return this.inputData.getName();
+        return this.inputData != null ? this.inputData.getName() : super.getName();
+    }
+
+    @Override
+    public void detachSource() {
+        super.detachSource();
+        this.inputData = null;
     }
 
     public DMNType getDmnType() {
@@ -61,11 +67,14 @@ public class InputDataNode extends DMNBaseNode
 
         InputDataNode that = (InputDataNode) o;
 
-        return inputData != null ? inputData.equals( that.inputData ) : that.inputData == null;
+        if ( inputData == null && that.inputData == null ) {
+            return getId() != null ? getId().equals( that.getId() ) : that.getId() == null;
+        }
+        return inputData != null ? inputData.equals( that.inputData ) : false;
     }
 
     @Override
     public int hashCode() {
-        return inputData != null ? inputData.hashCode() : 0;
+        return inputData != null ? inputData.hashCode() : (getId() != null ? getId().hashCode() : 0);
     }
 }
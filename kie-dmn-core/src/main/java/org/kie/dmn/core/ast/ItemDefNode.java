@@ -25,6 +25,7 @@ public class ItemDefNode
 
     private ItemDefinition itemDef;
     private DMNType        type;
+    private boolean        collection;
 
     public ItemDefNode(ItemDefinition itemDef) {
         this( itemDef, null );
@@ -34,6 +35,7 @@ public class ItemDefNode
         super( itemDef );
         this.itemDef = itemDef;
         this.type = type;
+        this.collection = itemDef.isIsCollection();
     }
 
     public ItemDefinition getItemDef() {
@@ -42,18 +44,25 @@ public class ItemDefNode
 
     public void setItemDef(ItemDefinition itemDef) {
         this.itemDef = itemDef;
+        this.collection = itemDef != null && itemDef.isIsCollection();
     }
 
     public String getId() {
-        return itemDef.getId();
+        return itemDef != null ? itemDef.getId() : super.getId();
     }
 
     public String getName() {
-        return itemDef.getName();
+        return itemDef != null ? itemDef.getName() : super.getName();
     }
 
     public boolean isCollection() {
-        return itemDef.isIsCollection();
+        return collection;
+    }
+
+    @Override
+    public void detachSource() {
+        super.detachSource();
+        this.itemDef = null;
     }
 
     public DMNType getType() {
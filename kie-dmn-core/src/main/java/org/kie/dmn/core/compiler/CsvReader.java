@@ -0,0 +1,120 @@
+/*
+ * Copyright 2016 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.dmn.core.compiler;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Streams the records of a CSV file, one list of cells at a time. Cells may be quoted, a quote
+ * in a quoted cell is doubled and quoted cells may span several lines, as in RFC 4180. Empty
+ * lines are skipped.
+ */
+final class CsvReader
+        implements Closeable {
+
+    private final Reader reader;
+    private final char   separator;
+    private final char[] buffer = new char[ 8192 ];
+    private int          pos;
+    private int          limit;
+    private int          line   = 1;
+    private int          recordLine;
+
+    CsvReader(Reader reader, char separator) {
+        this.reader = reader;
+        this.separator = separator;
+    }
+
+    /**
+     * Returns the cells of the next record, or null at the end of the file
+     */
+    List<String> next() throws IOException {
+        int c = read();
+        while ( c == '\r' || c == '\n' ) {
+            c = read();
+        }
+        if ( c == -1 ) {
+            return null;
+        }
+        recordLine = line;
+        List<String> cells = new ArrayList<>();
+        StringBuilder cell = new StringBuilder();
+        while ( true ) {
+            cell.setLength( 0 );
+            if ( c == '"' ) {
+                while ( true ) {
+                    c = read();
+                    if ( c == -1 ) {
+                        throw new IOException( "Unterminated quoted cell in the record at line " + recordLine );
+                    }
+                    if ( c == '"' ) {
+                        c = read();
+                        if ( c != '"' ) {
+                            break;
+                        }
+                    }
+                    cell.append( (char) c );
+                }
+                if ( c != separator && c != '\r' && c != '\n' && c != -1 ) {
+                    throw new IOException( "Unexpected character after a quoted cell in the record at line " + recordLine );
+                }
+            } else {
+                while ( c != separator && c != '\r' && c != '\n' && c != -1 ) {
+                    cell.append( (char) c );
+                    c = read();
+                }
+            }
+            cells.add( cell.toString() );
+            if ( c != separator ) {
+                return cells;
+            }
+            c = read();
+        }
+    }
+
+    /**
+     * Returns the line the last record returned by {@link #next()} starts at
+     */
+    int getRecordLine() {
+        return recordLine;
+    }
+
+    private int read() throws IOException {
+        if ( pos == limit ) {
+            limit = reader.read( buffer, 0, buffer.length );
+            pos = 0;
+            if ( limit <= 0 ) {
+                limit = 0;
+                return -1;
+            }
+        }
+        char c = buffer[pos++];
+        if ( c == '\n' ) {
+            line++;
+        }
+        return c;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
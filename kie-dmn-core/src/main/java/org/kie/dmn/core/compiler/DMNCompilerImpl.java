@@ -22,6 +22,9 @@ import org.kie.dmn.core.api.DMNCompiler;
 import org.kie.dmn.core.api.DMNMessage;
 import org.kie.dmn.core.api.DMNModel;
 import org.kie.dmn.core.api.DMNType;
+import org.kie.dmn.core.ast.BusinessKnowledgeModelNode;
+import org.kie.dmn.core.ast.DMNBaseNode;
+import org.kie.dmn.core.ast.DMNNode;
 import org.kie.dmn.core.ast.DecisionNode;
 import org.kie.dmn.core.ast.InputDataNode;
 import org.kie.dmn.core.ast.ItemDefNode;
@@ -32,24 +35,47 @@ import org.kie.dmn.feel.FEEL;
 import org.kie.dmn.feel.lang.CompiledExpression;
 import org.kie.dmn.feel.lang.CompilerContext;
 import org.kie.dmn.feel.lang.Type;
+import org.kie.dmn.feel.lang.ast.BaseNode;
+import org.kie.dmn.feel.lang.impl.CompiledExpressionImpl;
 import org.kie.dmn.feel.lang.types.BuiltInType;
 import org.kie.dmn.feel.model.v1_1.*;
 import org.kie.dmn.feel.parser.feel11.FEELParser;
+import org.kie.dmn.feel.runtime.FEELFunction;
 import org.kie.dmn.feel.runtime.Range;
 import org.kie.dmn.feel.runtime.UnaryTest;
 import org.kie.dmn.feel.runtime.decisiontables.*;
 import org.kie.dmn.feel.runtime.decisiontables.HitPolicy;
+import org.kie.dmn.feel.runtime.functions.CustomFEELFunction;
 import org.kie.dmn.feel.runtime.functions.DTInvokerFunction;
+import org.kie.dmn.feel.runtime.functions.InvocableFunction;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import javax.xml.namespace.QName;
+import java.io.File;
+import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
 import java.io.Reader;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
 
 import static java.util.stream.Collectors.toList;
 
@@ -57,10 +83,85 @@ public class DMNCompilerImpl implements DMNCompiler {
 
     private static final Logger logger = LoggerFactory.getLogger( DMNCompilerImpl.class );
 
+    /**
+     * Extension attribute of a business knowledge model, the number of results its function
+     * memoizes by the arguments they were computed from, e.g.
+     * &lt;businessKnowledgeModel kie:memoizedResults="1000"&gt;. Business knowledge models
+     * whose result does not only depend on their arguments, because they call now(), today()
+     * or an external function, directly or through another business knowledge model, or
+     * their decision table has rules that are not constant, are never memoized.
+     */
+    public static final QName MEMOIZED_RESULTS = new QName( "http://www.drools.org/kie/dmn/1.1", "memoizedResults" );
+
+    private boolean retainDefinitions = true;
+    private UnaryTestCache unaryTestCache = UnaryTestCache.getShared();
+    private Path ruleStoreDirectory;
+    private int ruleStoreThreshold = 10000;
+
+    @Override
+    public boolean isRetainDefinitions() {
+        return retainDefinitions;
+    }
+
+    @Override
+    public void setRetainDefinitions(boolean retainDefinitions) {
+        this.retainDefinitions = retainDefinitions;
+    }
+
+    public UnaryTestCache getUnaryTestCache() {
+        return unaryTestCache;
+    }
+
+    /**
+     * Sets the cache used to share the compiled decision table cells. By default all the
+     * compilers share {@link UnaryTestCache#getShared()}.
+     */
+    public void setUnaryTestCache(UnaryTestCache unaryTestCache) {
+        this.unaryTestCache = unaryTestCache;
+    }
+
+    @Override
+    public Path getRuleStoreDirectory() {
+        return ruleStoreDirectory;
+    }
+
+    @Override
+    public void setRuleStoreDirectory(Path ruleStoreDirectory) {
+        this.ruleStoreDirectory = ruleStoreDirectory;
+    }
+
+    public int getRuleStoreThreshold() {
+        return ruleStoreThreshold;
+    }
+
+    /**
+     * Sets the number of rules from which a decision table is kept in the rule store directory.
+     * Defaults to 10000.
+     */
+    public void setRuleStoreThreshold(int ruleStoreThreshold) {
+        this.ruleStoreThreshold = ruleStoreThreshold;
+    }
+
     @Override
     public DMNModel compile(Resource resource) {
+        return compile( resource, null );
+    }
+
+    @Override
+    public DMNModel compile(Reader source) {
+        return compile( source, (DMNModel) null );
+    }
+
+    @Override
+    public DMNModel compile(Resource resource, DMNModel previous) {
         try {
-            return compile( resource.getReader() );
+            if ( retainDefinitions ) {
+                return compile( resource.getReader(), null, resource.getSourcePath(), previous );
+            }
+            // the definitions are reloaded on demand, and only if the resource did not change since
+            String source = readSource( resource );
+            byte[] digest = digestOf( source );
+            return compile( new StringReader( source ), () -> loadDefinitions( resource, digest ), resource.getSourcePath(), previous );
         } catch ( IOException e ) {
             logger.error( "Error retrieving reader for resource: "+resource.getSourcePath(), e );
         }
@@ -68,14 +169,34 @@ public class DMNCompilerImpl implements DMNCompiler {
     }
 
     @Override
-    public DMNModel compile(Reader source) {
+    public DMNModel compile(Reader source, DMNModel previous) {
+        return compile( source, null, null, previous );
+    }
+
+    private DMNModel compile(Reader source, Supplier<Definitions> definitionsLoader, String sourcePath, DMNModel previous) {
         try {
+            long cellRequests = unaryTestCache.getRequests();
+            long cellHits = unaryTestCache.getHits();
             Definitions dmndefs = DMNMarshallerFactory.newDefaultMarshaller().unmarshal( source );
             if ( dmndefs != null ) {
                 DMNModelImpl model = new DMNModelImpl( dmndefs );
+                model.setSourcePath( sourcePath );
+                DMNModelDiff diff = diff( previous, dmndefs );
 
-                processItemDefinitions( model, dmndefs );
-                processDrgElements( model, dmndefs );
+                processItemDefinitions( model, dmndefs, diff );
+                processDrgElements( model, dmndefs, diff );
+                if ( diff != null ) {
+                    diff.copyMessages( model );
+                    logger.debug( "Recompiled model '{}' reusing {} of its {} elements", model.getName(), diff.getReusedCount(), dmndefs.getDrgElement().size() );
+                }
+                if ( !retainDefinitions ) {
+                    model.dropDefinitions( definitionsLoader );
+                }
+                if ( logger.isDebugEnabled() ) {
+                    // approximate if other models are compiled concurrently with the same cache
+                    logger.debug( "Compiled model '{}'. Decision table cells: {} lookups, {} shared",
+                                  model.getName(), unaryTestCache.getRequests() - cellRequests, unaryTestCache.getHits() - cellHits );
+                }
                 return model;
             }
         } catch ( Exception e ) {
@@ -84,17 +205,85 @@ public class DMNCompilerImpl implements DMNCompiler {
         return null;
     }
 
-    private void processItemDefinitions(DMNModelImpl model, Definitions dmndefs) {
+    /**
+     * Returns the differences between the given definitions and the ones the previous model was
+     * compiled from, or null if nothing of the previous model can be reused. Models whose
+     * definitions were dropped are never reused, as their definitions can no longer be told
+     * apart from the new ones.
+     */
+    private static DMNModelDiff diff(DMNModel previous, Definitions dmndefs) {
+        if ( !(previous instanceof DMNModelImpl) || !((DMNModelImpl) previous).isDefinitionsRetained() ) {
+            return null;
+        }
+        Definitions previousDefs = previous.getDefinitions();
+        if ( !DMNModelDiff.isComparable( previousDefs, dmndefs ) ) {
+            return null;
+        }
+        return new DMNModelDiff( (DMNModelImpl) previous, previousDefs, dmndefs );
+    }
+
+    private static Definitions loadDefinitions(Resource resource, byte[] digest) {
+        try {
+            String source = readSource( resource );
+            if ( !Arrays.equals( digest, digestOf( source ) ) ) {
+                logger.warn( "Not reloading the definitions from resource: "+resource.getSourcePath()+", it changed since the model was compiled" );
+                return null;
+            }
+            return DMNMarshallerFactory.newDefaultMarshaller().unmarshal( new StringReader( source ) );
+        } catch ( IOException e ) {
+            logger.error( "Error reloading the definitions from resource: "+resource.getSourcePath(), e );
+        }
+        return null;
+    }
+
+    private static String readSource(Resource resource) throws IOException {
+        try ( Reader reader = resource.getReader() ) {
+            StringBuilder source = new StringBuilder();
+            char[] buffer = new char[ 8192 ];
+            for ( int n; (n = reader.read( buffer )) >= 0; ) {
+                source.append( buffer, 0, n );
+            }
+            return source.toString();
+        }
+    }
+
+    private static byte[] digestOf(String source) {
+        return newDigest().digest( source.getBytes( StandardCharsets.UTF_8 ) );
+    }
+
+    private void processItemDefinitions(DMNModelImpl model, Definitions dmndefs, DMNModelDiff diff) {
         for( ItemDefinition id : dmndefs.getItemDefinition() ) {
+            ItemDefNode reused = diff != null ? diff.getReusableItemDefinition( id ) : null;
+            if( reused != null ) {
+                // a fresh node bound to the new element, so the previous model keeps its own
+                model.addItemDefinition( new ItemDefNode( id, reused.getType() ) );
+                continue;
+            }
             DMNType type = buildTypeDef( model, id );
             ItemDefNode idn = new ItemDefNode( id, type );
             model.addItemDefinition( idn );
         }
     }
 
-    private void processDrgElements(DMNModelImpl model, Definitions dmndefs) {
+    private void processDrgElements(DMNModelImpl model, Definitions dmndefs, DMNModelDiff diff) {
         for ( DRGElement e : dmndefs.getDrgElement() ) {
-            if ( e instanceof InputData ) {
+            DMNNode reused = diff != null ? diff.getReusableNode( e ) : null;
+            // reused nodes belong to the previous model: only their compiled parts are carried
+            // over into fresh nodes bound to the new elements, and the dependencies are linked again
+            if ( reused instanceof InputDataNode ) {
+                InputData input = (InputData) e;
+                DMNType type = ((InputDataNode) reused).getDmnType();
+                model.addInput( new InputDataNode( input, type ) );
+                model.getTypeRegistry().put( input.getVariable().getTypeRef(), type );
+            } else if ( reused instanceof DecisionNode ) {
+                DecisionNode dn = new DecisionNode( (Decision) e, ((DecisionNode) reused).getResultType() );
+                dn.setEvaluator( ((DecisionNode) reused).getEvaluator() );
+                model.addDecision( dn );
+            } else if ( reused instanceof BusinessKnowledgeModelNode ) {
+                BusinessKnowledgeModelNode bkmn = new BusinessKnowledgeModelNode( (BusinessKnowledgeModel) e );
+                bkmn.setFunction( ((BusinessKnowledgeModelNode) reused).getFunction() );
+                model.addBusinessKnowledgeModel( bkmn );
+            } else if ( e instanceof InputData ) {
                 InputData input = (InputData) e;
                 String variableName = input.getVariable() != null ? input.getVariable().getName() : null;
                 if( ! variableNameIsValid( variableName ) ) {
@@ -117,11 +306,35 @@ public class DMNCompilerImpl implements DMNCompiler {
                 }
                 DecisionNode dn = new DecisionNode( decision, type );
                 model.addDecision( dn );
+            } else if ( e instanceof BusinessKnowledgeModel ) {
+                BusinessKnowledgeModel bkm = (BusinessKnowledgeModel) e;
+                BusinessKnowledgeModelNode bkmn = new BusinessKnowledgeModelNode( bkm );
+                if( ! variableNameIsValid( bkmn.getVariableName() ) ) {
+                    logger.error( "Invalid variable name '"+bkmn.getVariableName()+"' in business knowledge model '"+bkm.getId()+"'" );
+                    model.addMessage( DMNMessage.Severity.ERROR, "Invalid variable name '"+bkmn.getVariableName()+"' in business knowledge model '"+bkm.getId()+"'", bkm.getId() );
+                }
+                model.addBusinessKnowledgeModel( bkmn );
             }
         }
 
+        for ( BusinessKnowledgeModelNode bkm : model.getBusinessKnowledgeModels() ) {
+            for ( KnowledgeRequirement kr : bkm.getBusinessKnowledgeModel().getKnowledgeRequirement() ) {
+                BusinessKnowledgeModelNode required = resolveKnowledgeRequirement( model, kr, bkm );
+                if( required != null ) {
+                    bkm.addDependency( required.getVariableName(), required );
+                }
+            }
+        }
+        Set<BusinessKnowledgeModelNode> compiling = new HashSet<>();
+        for ( BusinessKnowledgeModelNode bkm : model.getBusinessKnowledgeModels() ) {
+            compileBusinessKnowledgeModel( model, bkm, compiling );
+        }
+
         for ( DecisionNode d : model.getDecisions() ) {
             linkDecisionRequirements( model, d );
+            if ( diff != null && diff.isReused( d.getId() ) ) {
+                continue;
+            }
             DecisionNode.DecisionEvaluator evaluator = compileDecision( model, d );
             d.setEvaluator( evaluator );
         }
@@ -155,9 +368,168 @@ public class DMNCompilerImpl implements DMNCompiler {
                 }
             }
         }
+        for ( KnowledgeRequirement kr : decision.getDecision().getKnowledgeRequirement() ) {
+            BusinessKnowledgeModelNode bkm = resolveKnowledgeRequirement( model, kr, decision );
+            if( bkm != null ) {
+                decision.addKnowledgeRequirement( bkm.getVariableName(), bkm );
+            }
+        }
+    }
+
+    private BusinessKnowledgeModelNode resolveKnowledgeRequirement(DMNModelImpl model, KnowledgeRequirement kr, DMNBaseNode node) {
+        if( kr.getRequiredKnowledge() == null ) {
+            return null;
+        }
+        String id = getId( kr.getRequiredKnowledge() );
+        BusinessKnowledgeModelNode bkm = model.getBusinessKnowledgeModelById( id );
+        if( bkm == null ) {
+            String message = "Required business knowledge model '"+id+"' not found for '"+node.getId()+"'";
+            logger.error( message );
+            model.addMessage( DMNMessage.Severity.ERROR, message, node.getId() );
+        }
+        return bkm;
+    }
+
+    /**
+     * Compiles the function of the given business knowledge model, after the functions of the
+     * business knowledge models it invokes. Each function is compiled once per model and shared
+     * by all the decisions that invoke it.
+     */
+    private void compileBusinessKnowledgeModel(DMNModelImpl model, BusinessKnowledgeModelNode bkmn, Set<BusinessKnowledgeModelNode> compiling) {
+        if( bkmn.getFunction() != null || bkmn.getBusinessKnowledgeModel() == null ) {
+            return;
+        }
+        if( ! compiling.add( bkmn ) ) {
+            model.addMessage( DMNMessage.Severity.ERROR, "Business knowledge model '"+bkmn.getName()+"' invokes itself", bkmn.getId() );
+            return;
+        }
+        try {
+            for ( BusinessKnowledgeModelNode dep : bkmn.getDependencies().values() ) {
+                compileBusinessKnowledgeModel( model, dep, compiling );
+            }
+            FunctionDefinition fd = bkmn.getBusinessKnowledgeModel().getEncapsulatedLogic();
+            if( fd == null ) {
+                model.addMessage( DMNMessage.Severity.ERROR, "No encapsulated logic defined for business knowledge model '"+bkmn.getId()+"'", bkmn.getId() );
+                return;
+            }
+            List<String> parameters = fd.getFormalParameter().stream().map( InformationItem::getName ).collect( toList() );
+            String name = bkmn.getVariableName();
+            Expression expression = fd.getExpression();
+            FEELFunction body;
+            if( expression instanceof LiteralExpression ) {
+                String text = ((LiteralExpression) expression).getText();
+                FEEL feel = FEEL.newInstance();
+                CompilerContext ctx = feel.newCompilerContext();
+                ctx.setRetainSource( retainDefinitions );
+                parameters.forEach( p -> ctx.addInputVariableType( p, BuiltInType.UNKNOWN ) );
+                bkmn.getDependencies().keySet().forEach( f -> ctx.addInputVariableType( f, BuiltInType.FUNCTION ) );
+                BaseNode compiled = (BaseNode) ((CompiledExpressionImpl) feel.compile( text, ctx )).getExpression();
+                if( compiled == null ) {
+                    model.addMessage( DMNMessage.Severity.ERROR, "Unable to compile the expression of business knowledge model '"+bkmn.getId()+"'", bkmn.getId() );
+                    return;
+                }
+                body = new CustomFEELFunction( name, parameters, compiled );
+            } else if( expression instanceof DecisionTable ) {
+                DecisionTableImpl dti = compileDecisionTable( model, bkmn, name, (DecisionTable) expression, parameters );
+                if( dti == null ) {
+                    return;
+                }
+                body = new DTInvokerFunction( dti );
+            } else {
+                if( expression != null ) {
+                    model.addMessage( DMNMessage.Severity.ERROR, "Expression type '"+expression.getClass().getSimpleName()+"' not supported in business knowledge model '"+bkmn.getId()+"'", bkmn.getId() );
+                } else {
+                    model.addMessage( DMNMessage.Severity.ERROR, "No expression defined for business knowledge model '"+bkmn.getId()+"'", bkmn.getId() );
+                }
+                return;
+            }
+            int memoizedResults = getMemoizedResults( model, bkmn );
+            if( memoizedResults > 0 && ! isDeterministic( bkmn, new HashSet<>() ) ) {
+                model.addMessage( DMNMessage.Severity.WARN, "Business knowledge model '"+bkmn.getName()+"' is not memoized, its result does not only depend on its arguments", bkmn.getId() );
+                memoizedResults = 0;
+            }
+            InvocableFunction function = new InvocableFunction( name, parameters, body, memoizedResults );
+            bkmn.getDependencies().forEach( (depName, dep) -> {
+                if( dep.getFunction() != null ) {
+                    function.addToScope( depName, dep.getFunction() );
+                }
+            } );
+            bkmn.setFunction( function );
+        } finally {
+            compiling.remove( bkmn );
+        }
     }
 
-    private String getId(DMNElementReference er) {
+    private static int getMemoizedResults(DMNModelImpl model, BusinessKnowledgeModelNode bkmn) {
+        String value = bkmn.getBusinessKnowledgeModel().getOtherAttributes().get( MEMOIZED_RESULTS );
+        if( value == null ) {
+            return 0;
+        }
+        try {
+            return Integer.parseInt( value.trim() );
+        } catch ( NumberFormatException e ) {
+            model.addMessage( DMNMessage.Severity.ERROR, "Invalid number of memoized results '"+value+"' for business knowledge model '"+bkmn.getName()+"'", bkmn.getId() );
+            return 0;
+        }
+    }
+
+    /**
+     * Returns true if the function of the given business knowledge model always returns the same
+     * result for the same arguments, checked on the compiled AST of its expressions and of the
+     * ones of the business knowledge models it invokes
+     */
+    private static boolean isDeterministic(BusinessKnowledgeModelNode bkmn, Set<BusinessKnowledgeModelNode> checked) {
+        if( ! checked.add( bkmn ) ) {
+            return true;
+        }
+        for ( BusinessKnowledgeModelNode dep : bkmn.getDependencies().values() ) {
+            if( ! isDeterministic( dep, checked ) ) {
+                return false;
+            }
+        }
+        Expression expression = bkmn.getBusinessKnowledgeModel().getEncapsulatedLogic().getExpression();
+        if( expression instanceof LiteralExpression ) {
+            return PureExpressions.isPure( parse( ((LiteralExpression) expression).getText() ) );
+        }
+        if( expression instanceof DecisionTable ) {
+            DecisionTable dt = (DecisionTable) expression;
+            if( getRulesImport( dt ) != null ) {
+                // imported rules are not checked
+                return false;
+            }
+            for ( InputClause ic : dt.getInput() ) {
+                if( ! PureExpressions.isPure( parse( ic.getInputExpression().getText() ) ) ) {
+                    return false;
+                }
+            }
+            for ( DecisionRule dr : dt.getRule() ) {
+                for ( UnaryTests ut : dr.getInputEntry() ) {
+                    // the cells must only test against constants, e.g. not against today()
+                    if( ! "-".equals( ut.getText().trim() ) && ! PureExpressions.isConstant( parse( "[ " + ut.getText() + " ]" ) ) ) {
+                        return false;
+                    }
+                }
+                for ( LiteralExpression le : dr.getOutputEntry() ) {
+                    if( ! PureExpressions.isPure( parse( le.getText() ) ) ) {
+                        return false;
+                    }
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+
+    private static BaseNode parse(String text) {
+        if( text == null ) {
+            return null;
+        }
+        FEEL feel = FEEL.newInstance();
+        CompiledExpression compiled = feel.compile( text, feel.newCompilerContext() );
+        return compiled != null ? (BaseNode) ((CompiledExpressionImpl) compiled).getExpression() : null;
+    }
+
+    static String getId(DMNElementReference er) {
         String href = er.getHref();
         return href.contains( "#" ) ? href.substring( href.indexOf( '#' ) + 1 ) : href;
     }
@@ -217,50 +589,20 @@ public class DMNCompilerImpl implements DMNCompiler {
         FEEL feel = FEEL.newInstance();
         Expression expression = decision.getExpression();
         if( expression instanceof LiteralExpression ) {
-            CompilerContext ctx = feel.newCompilerContext();
-            decisionNode.getDependencies().forEach( (name, node) -> {
-                // TODO: need to properly resolve types here
-                ctx.addInputVariableType( name, BuiltInType.UNKNOWN );
-            } );
-            CompiledExpression compiledExpression = feel.compile( ((LiteralExpression) expression).getText(), ctx );
-            DecisionNode.LiteralExpressionFEELEvaluator evaluator = new DecisionNode.LiteralExpressionFEELEvaluator( compiledExpression );
+            CompiledExpression compiledExpression = feel.compile( ((LiteralExpression) expression).getText(), newCompilerContext( feel, decisionNode ) );
+            DecisionNode.LiteralExpressionFEELEvaluator evaluator = new DecisionNode.LiteralExpressionFEELEvaluator( compiledExpression, decisionNode.getKnowledgeRequirementFunctions() );
             return evaluator;
         } else if( expression instanceof DecisionTable ) {
-            DecisionTable dt = (DecisionTable) expression;
-            List<DTInputClause> inputs = new ArrayList<>(  );
-            for( InputClause ic : dt.getInput() ) {
-                String inputExpressionText = ic.getInputExpression().getText();
-                String inputValuesText =  Optional.ofNullable( ic.getInputValues() ).map(UnaryTests::getText).orElse(null);
-                inputs.add( new DTInputClause(inputExpressionText, inputValuesText, textToUnaryTestList(inputValuesText) ) );
-            }
-            List<DTOutputClause> outputs = new ArrayList<>(  );
-            for( OutputClause oc : dt.getOutput() ) {
-                String outputName = oc.getName();
-                String id = oc.getId();
-                String outputValuesText =  Optional.ofNullable( oc.getOutputValues() ).map(UnaryTests::getText).orElse(null);
-                outputs.add( new DTOutputClause(outputName, id, (List<String>) feel.evaluate("["+outputValuesText+"]") ) );         // TODO another hack to be revised
-            }
-            List<DTDecisionRule> rules = new ArrayList<>(  );
-            int index = 0;
-            for( DecisionRule dr : dt.getRule() ) {
-                DTDecisionRule rule = new DTDecisionRule( index++ );
-                for( UnaryTests ut : dr.getInputEntry() ) {
-                    List<UnaryTest> tests = textToUnaryTestList( ut.getText() );
-                    rule.getInputEntry().add( x -> tests.stream().anyMatch( t -> t.apply( x ) ) );
-                }
-                for( LiteralExpression le : dr.getOutputEntry() ) {
-                    // we might want to compile and save the compiled expression here
-                    rule.getOutputEntry().add( le.getText() );
-                }
-                rules.add( rule );
-            }
-            String policy = dt.getHitPolicy().value() + (dt.getAggregation() != null ? " " + dt.getAggregation().value() : "");
-            HitPolicy hp = HitPolicy.fromString( policy );
             List<String> parameterNames = new ArrayList<>( decisionNode.getDependencies().keySet() );
-            DecisionTableImpl dti = new DecisionTableImpl( decision.getName(), parameterNames, inputs, outputs, rules, hp );
+            DecisionTableImpl dti = compileDecisionTable( model, decisionNode, decision.getName(), (DecisionTable) expression, parameterNames );
+            if( dti == null ) {
+                return null;
+            }
             DTInvokerFunction dtf = new DTInvokerFunction( dti );
             DecisionNode.DTExpressionEvaluator dtee = new DecisionNode.DTExpressionEvaluator( decision, dtf );
             return dtee;
+        } else if( expression instanceof Invocation ) {
+            return compileInvocation( model, decisionNode, (Invocation) expression );
 //        } else if( expression instanceof Context ) {
 //
         } else {
@@ -272,7 +614,274 @@ public class DMNCompilerImpl implements DMNCompiler {
         }
         return null;
     }
+
+    private CompilerContext newCompilerContext(FEEL feel, DecisionNode decisionNode) {
+        CompilerContext ctx = feel.newCompilerContext();
+        ctx.setRetainSource( retainDefinitions );
+        decisionNode.getDependencies().forEach( (name, node) -> {
+            // TODO: need to properly resolve types here
+            ctx.addInputVariableType( name, BuiltInType.UNKNOWN );
+        } );
+        decisionNode.getKnowledgeRequirements().keySet().forEach( name -> ctx.addInputVariableType( name, BuiltInType.FUNCTION ) );
+        return ctx;
+    }
+
+    /**
+     * Compiles the invocation of a business knowledge model, resolving the parameter of each
+     * binding to its position in the arguments of the shared function
+     */
+    private DecisionNode.DecisionEvaluator compileInvocation(DMNModelImpl model, DecisionNode decisionNode, Invocation invocation) {
+        String decisionId = decisionNode.getId();
+        if( !(invocation.getExpression() instanceof LiteralExpression) ) {
+            model.addMessage( DMNMessage.Severity.ERROR, "Missing name of the invoked function in decision '"+decisionId+"'", decisionId );
+            return null;
+        }
+        String functionName = ((LiteralExpression) invocation.getExpression()).getText().trim();
+        BusinessKnowledgeModelNode bkm = decisionNode.getKnowledgeRequirements().get( functionName );
+        if( bkm == null ) {
+            model.addMessage( DMNMessage.Severity.ERROR, "Decision '"+decisionId+"' invokes '"+functionName+"' that is not one of its required business knowledge models", decisionId );
+            return null;
+        }
+        InvocableFunction function = bkm.getFunction();
+        if( function == null ) {
+            // the business knowledge model failed to compile and that was already reported
+            return null;
+        }
+        FEEL feel = FEEL.newInstance();
+        CompiledExpression[] bindings = new CompiledExpression[ function.getParameterCount() ];
+        for ( Binding binding : invocation.getBinding() ) {
+            String parameter = binding.getParameter() != null ? binding.getParameter().getName() : null;
+            int index = function.getParameterIndex( parameter );
+            if( index < 0 ) {
+                model.addMessage( DMNMessage.Severity.ERROR, "Function '"+functionName+"' has no parameter '"+parameter+"', invoked in decision '"+decisionId+"'", decisionId );
+                return null;
+            }
+            if( binding.getExpression() instanceof LiteralExpression ) {
+                bindings[index] = feel.compile( ((LiteralExpression) binding.getExpression()).getText(), newCompilerContext( feel, decisionNode ) );
+            } else if( binding.getExpression() != null ) {
+                model.addMessage( DMNMessage.Severity.ERROR, "Expression type '"+binding.getExpression().getClass().getSimpleName()+"' not supported in the binding of parameter '"+parameter+"' in decision '"+decisionId+"'", decisionId );
+                return null;
+            }
+        }
+        return new DecisionNode.InvocationEvaluator( decisionId, function, bindings, decisionNode.getKnowledgeRequirementFunctions() );
+    }
+
+    /**
+     * Returns null, after reporting it, if the rules import of the table can not be read
+     */
+    private DecisionTableImpl compileDecisionTable(DMNModelImpl model, DMNBaseNode node, String name, DecisionTable dt, List<String> parameterNames) {
+        FEEL feel = FEEL.newInstance();
+        List<DTInputClause> inputs = new ArrayList<>(  );
+        for( InputClause ic : dt.getInput() ) {
+            String inputExpressionText = unaryTestCache.intern( ic.getInputExpression().getText() );
+            String inputValuesText =  Optional.ofNullable( ic.getInputValues() ).map(UnaryTests::getText).orElse(null);
+            inputs.add( new DTInputClause(inputExpressionText, inputValuesText, compileUnaryTests(inputValuesText) ) );
+        }
+        List<DTOutputClause> outputs = new ArrayList<>(  );
+        for( OutputClause oc : dt.getOutput() ) {
+            String outputName = oc.getName();
+            String id = oc.getId();
+            String outputValuesText =  Optional.ofNullable( oc.getOutputValues() ).map(UnaryTests::getText).orElse(null);
+            outputs.add( new DTOutputClause(outputName, id, (List<String>) feel.evaluate("["+outputValuesText+"]") ) );         // TODO another hack to be revised
+        }
+        String policy = dt.getHitPolicy().value() + (dt.getAggregation() != null ? " " + dt.getAggregation().value() : "");
+        HitPolicy hp = HitPolicy.fromString( policy );
+        RulesImport rulesImport = getRulesImport( dt );
+        if ( ruleStoreDirectory != null && (rulesImport != null || dt.getRule().size() >= ruleStoreThreshold) ) {
+            try {
+                return new DecisionTableImpl( name, parameterNames, inputs, outputs, storeRules( dt, rulesImport, model.getSourcePath() ), hp );
+            } catch ( RulesImportException e ) {
+                // reported once, when importing the rules again to keep them in memory
+            } catch ( IOException e ) {
+                logger.error( "Error storing the rules of decision table '" + name + "' in " + ruleStoreDirectory, e );
+                model.addMessage( DMNMessage.Severity.WARN, "Unable to store the rules of decision table '" + name + "', they are kept in memory", node.getId() );
+            }
+        }
+        List<DTDecisionRule> rules = new ArrayList<>(  );
+        try {
+            readRules( dt, rulesImport, model.getSourcePath(), (inputEntries, outputEntries) -> {
+                DTDecisionRule rule = new DTDecisionRule( rules.size() );
+                for( String text : inputEntries ) {
+                    List<UnaryTest> tests = compileUnaryTests( text );
+                    rule.getInputEntry().add( unaryTestCache.intern( DTUnaryTests.or( tests ) ) );
+                }
+                for( String text : outputEntries ) {
+                    // we might want to compile and save the compiled expression here
+                    rule.getOutputEntry().add( unaryTestCache.intern( text ) );
+                }
+                rules.add( rule );
+            } );
+        } catch ( IOException e ) {
+            logger.error( "Error importing the rules of decision table '" + name + "' from " + rulesImport.getLocationURI(), e );
+            model.addMessage( DMNMessage.Severity.ERROR, "Unable to import the rules of decision table '" + name + "' from '" + rulesImport.getLocationURI() + "': " + e.getMessage(), node.getId() );
+            // the rules read before the failure are not the table
+            return null;
+        }
+        DecisionTableImpl dti = new DecisionTableImpl( name, parameterNames, inputs, outputs, rules, hp );
+        // imported tables are usually too large for the static analysis
+        if ( rulesImport == null ) {
+            reportAnalysis( model, node, dti.analyze() );
+        }
+        return dti;
+    }
+
+    private static RulesImport getRulesImport(DecisionTable dt) {
+        if ( dt.getExtensionElements() != null ) {
+            for ( Object extension : dt.getExtensionElements().getAny() ) {
+                if ( extension instanceof RulesImport ) {
+                    return (RulesImport) extension;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Passes the text of the input and output entries of each rule of the given decision table to
+     * the given consumer: first the rules of the table, then the ones of its rules import, streamed
+     * from the CSV file without being added to the table. A CSV file that can not be read is
+     * reported as a {@link RulesImportException}.
+     */
+    private static void readRules(DecisionTable dt, RulesImport rulesImport, String sourcePath, BiConsumer<List<String>, List<String>> consumer) throws IOException {
+        for( DecisionRule dr : dt.getRule() ) {
+            List<String> inputEntries = new ArrayList<>( dr.getInputEntry().size() );
+            for( UnaryTests ut : dr.getInputEntry() ) {
+                inputEntries.add( ut.getText() );
+            }
+            List<String> outputEntries = new ArrayList<>( dr.getOutputEntry().size() );
+            for( LiteralExpression le : dr.getOutputEntry() ) {
+                outputEntries.add( le.getText() );
+            }
+            consumer.accept( inputEntries, outputEntries );
+        }
+        if ( rulesImport == null ) {
+            return;
+        }
+        int inputCount = dt.getInput().size();
+        int columns = inputCount + dt.getOutput().size();
+        String separator = rulesImport.getSeparator();
+        try ( CsvReader csv = new CsvReader( openRulesImport( rulesImport.getLocationURI(), sourcePath ), separator != null && !separator.isEmpty() ? separator.charAt( 0 ) : ',' ) ) {
+            if ( rulesImport.isHeader() ) {
+                csv.next();
+            }
+            List<String> cells;
+            while ( (cells = csv.next()) != null ) {
+                if ( cells.size() != columns ) {
+                    throw new IOException( "The record at line " + csv.getRecordLine() + " has " + cells.size() + " cells, " + columns + " expected" );
+                }
+                consumer.accept( cells.subList( 0, inputCount ), cells.subList( inputCount, columns ) );
+            }
+        } catch ( IOException e ) {
+            throw new RulesImportException( e );
+        }
+    }
+
+    /**
+     * The CSV file of a rules import could not be read
+     */
+    private static class RulesImportException
+            extends IOException {
+        private RulesImportException(IOException cause) {
+            super( cause.getMessage(), cause );
+        }
+    }
+
+    /**
+     * Opens the CSV file of a rules import, given its path or its name in the class path, relative
+     * to the resource the model was compiled from first, as it is usually next to it
+     */
+    private static Reader openRulesImport(String location, String sourcePath) throws IOException {
+        if ( location == null ) {
+            throw new IOException( "No locationURI" );
+        }
+        Reader reader = null;
+        if ( sourcePath != null ) {
+            try {
+                Path sibling = Paths.get( sourcePath ).resolveSibling( location );
+                reader = openFileOrClassPathResource( sibling, sibling.toString().replace( File.separatorChar, '/' ) );
+            } catch ( InvalidPathException e ) {
+                // the source is not a path, e.g. an URL
+            }
+        }
+        if ( reader == null ) {
+            reader = openFileOrClassPathResource( Paths.get( location ), location );
+        }
+        if ( reader == null ) {
+            throw new FileNotFoundException( location );
+        }
+        return reader;
+    }
+
+    private static Reader openFileOrClassPathResource(Path path, String name) throws IOException {
+        if ( Files.isRegularFile( path ) ) {
+            return new InputStreamReader( Files.newInputStream( path ), StandardCharsets.UTF_8 );
+        }
+        ClassLoader classLoader = Thread.currentThread().getContextClassLoader() != null ? Thread.currentThread().getContextClassLoader() : DMNCompilerImpl.class.getClassLoader();
+        InputStream is = classLoader.getResourceAsStream( name );
+        return is != null ? new InputStreamReader( is, StandardCharsets.UTF_8 ) : null;
+    }
     
+    /**
+     * Writes the rules of the given decision table to the rule store directory, unless a file with
+     * the same content is already there, and maps it
+     */
+    private DTRuleStore storeRules(DecisionTable dt, RulesImport rulesImport, String sourcePath) throws IOException {
+        DTRuleStore.Writer writer = new DTRuleStore.Writer( dt.getInput().size(), dt.getOutput().size() );
+        MessageDigest digest = newDigest();
+        digest.update( (dt.getInput().size() + "/" + dt.getOutput().size()).getBytes( StandardCharsets.UTF_8 ) );
+        readRules( dt, rulesImport, sourcePath, (inputEntries, outputEntries) -> {
+            writer.addRule( inputEntries, outputEntries );
+            for ( String text : inputEntries ) {
+                digest.update( ("\0" + text).getBytes( StandardCharsets.UTF_8 ) );
+            }
+            for ( String text : outputEntries ) {
+                digest.update( ("\0" + text).getBytes( StandardCharsets.UTF_8 ) );
+            }
+        } );
+        StringBuilder fileName = new StringBuilder();
+        for ( byte b : digest.digest() ) {
+            fileName.append( String.format( "%02x", b ) );
+        }
+        Path file = ruleStoreDirectory.resolve( fileName.append( ".rules" ).toString() );
+        if ( !Files.exists( file ) ) {
+            Files.createDirectories( ruleStoreDirectory );
+            writer.write( file );
+        }
+        return DTRuleStore.open( file, text -> unaryTestCache.intern( DTUnaryTests.or( compileUnaryTests( text ) ) ) );
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance( "SHA-256" );
+        } catch ( NoSuchAlgorithmException e ) {
+            throw new IllegalStateException( e );
+        }
+    }
+
+    private void reportAnalysis(DMNModelImpl model, DMNBaseNode decisionNode, DTAnalysis analysis) {
+        String name = decisionNode.getName();
+        for ( DTAnalysis.RulePair overlap : analysis.getOverlaps() ) {
+            model.addMessage( DMNMessage.Severity.WARN, "Rules " + (overlap.getFirst() + 1) + " and " + (overlap.getSecond() + 1) + " of decision table '" + name + "' overlap", decisionNode.getId() );
+        }
+        for ( DTAnalysis.RulePair subsumption : analysis.getSubsumptions() ) {
+            model.addMessage( DMNMessage.Severity.WARN, "Rule " + (subsumption.getSecond() + 1) + " of decision table '" + name + "' is subsumed by rule " + (subsumption.getFirst() + 1), decisionNode.getId() );
+        }
+        for ( List<Object> gap : analysis.getGaps() ) {
+            model.addMessage( DMNMessage.Severity.WARN, "No rule of decision table '" + name + "' matches the inputs " + gap, decisionNode.getId() );
+        }
+    }
+
+    /**
+     * Compiles the text of a decision table cell, sharing the result with the identical cells
+     * already compiled
+     */
+    private List<UnaryTest> compileUnaryTests(String text) {
+        if (text == null || text.isEmpty()) {
+            return Collections.emptyList();
+        }
+        return unaryTestCache.getUnaryTests( text, DMNCompilerImpl::textToUnaryTestList );
+    }
+
     /**
      * TODO quick hack to parse values, in case they are a list
      * @param text
@@ -282,15 +891,18 @@ public class DMNCompilerImpl implements DMNCompiler {
         if (text == null || text.isEmpty()) {
             return Collections.emptyList();
         }
+        if ( "-".equals( text.trim() ) ) {
+            return Collections.singletonList( DTUnaryTests.DASH );
+        }
         List<Object> ie = (List<Object>) FEEL.newInstance().evaluate( "[ " + text + " ]" );
         List<UnaryTest> tests = new ArrayList<>(  );
         for( Object o : ie ) {
             if ( o instanceof UnaryTest ) {
                 tests.add( (UnaryTest) o );
             } else if ( o instanceof Range ) {
-                tests.add( x -> x != null && ((Range) o).includes( (Comparable<?>) x ) );
+                tests.add( DTUnaryTests.range( (Range) o ) );
             } else {
-                tests.add( x -> x != null && x.equals( o ) );
+                tests.add( DTUnaryTests.equalTo( o ) );
             }
         }
         return tests;
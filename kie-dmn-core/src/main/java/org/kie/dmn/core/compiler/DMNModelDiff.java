@@ -0,0 +1,276 @@
+/*
+ * Copyright 2016 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.dmn.core.compiler;
+
+import org.kie.dmn.core.api.DMNMessage;
+import org.kie.dmn.core.ast.DMNNode;
+import org.kie.dmn.core.ast.ItemDefNode;
+import org.kie.dmn.core.impl.DMNModelImpl;
+import org.kie.dmn.feel.model.v1_1.BusinessKnowledgeModel;
+import org.kie.dmn.feel.model.v1_1.DMNElementReference;
+import org.kie.dmn.feel.model.v1_1.DMNModelInstrumentedBase;
+import org.kie.dmn.feel.model.v1_1.DRGElement;
+import org.kie.dmn.feel.model.v1_1.Decision;
+import org.kie.dmn.feel.model.v1_1.Definitions;
+import org.kie.dmn.feel.model.v1_1.InformationItem;
+import org.kie.dmn.feel.model.v1_1.InformationRequirement;
+import org.kie.dmn.feel.model.v1_1.InputData;
+import org.kie.dmn.feel.model.v1_1.ItemDefinition;
+import org.kie.dmn.feel.model.v1_1.KnowledgeRequirement;
+import org.kie.dmn.feel.model.v1_1.RulesImport;
+
+import javax.xml.namespace.QName;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Compares the definitions a model is recompiled from with the definitions of the previously
+ * compiled model, to find the nodes of the previous model that can be reused as they are.
+ *
+ * A node is reused when its element did not change, the item definition of its variable did
+ * not change, and all the elements it requires are reused too. Item definitions are compared
+ * by name, including the ones they reference.
+ */
+class DMNModelDiff {
+
+    private final DMNModelImpl             previous;
+    private final Map<String, DRGElement>  previousElements = new HashMap<>();
+    private final Map<String, DRGElement>  elements         = new HashMap<>();
+    private final Set<String>              changedTypes     = new HashSet<>();
+    private final Map<String, Boolean>     reusable         = new HashMap<>();
+
+    DMNModelDiff(DMNModelImpl previous, Definitions previousDefinitions, Definitions definitions) {
+        this.previous = previous;
+        previousDefinitions.getDrgElement().forEach( e -> previousElements.put( e.getId(), e ) );
+        definitions.getDrgElement().forEach( e -> elements.put( e.getId(), e ) );
+        findChangedTypes( previousDefinitions.getItemDefinition(), definitions.getItemDefinition() );
+    }
+
+    /**
+     * Returns whether the nodes of a model compiled from the given definitions can be reused
+     * when recompiling from the other ones. Nothing is reused when the namespaces differ.
+     */
+    static boolean isComparable(Definitions previousDefinitions, Definitions definitions) {
+        return Objects.equals( previousDefinitions.getNamespace(), definitions.getNamespace() )
+               && Objects.equals( previousDefinitions.getNsContext(), definitions.getNsContext() );
+    }
+
+    private void findChangedTypes(List<ItemDefinition> previousTypes, List<ItemDefinition> types) {
+        Map<String, ItemDefinition> previousByName = new HashMap<>();
+        previousTypes.forEach( t -> previousByName.put( t.getName(), t ) );
+        Map<String, ItemDefinition> byName = new HashMap<>();
+        types.forEach( t -> byName.put( t.getName(), t ) );
+
+        Set<String> names = new HashSet<>( previousByName.keySet() );
+        names.addAll( byName.keySet() );
+        for ( String name : names ) {
+            if ( !sameElement( previousByName.get( name ), byName.get( name ) ) ) {
+                changedTypes.add( name );
+            }
+        }
+        // a type built on a changed type changed too
+        boolean changed = true;
+        while ( changed ) {
+            changed = false;
+            for ( ItemDefinition t : types ) {
+                if ( !changedTypes.contains( t.getName() ) && referencesChangedType( t ) ) {
+                    changedTypes.add( t.getName() );
+                    changed = true;
+                }
+            }
+        }
+    }
+
+    private boolean referencesChangedType(ItemDefinition type) {
+        if ( isChangedType( type.getTypeRef() ) ) {
+            return true;
+        }
+        for ( ItemDefinition component : type.getItemComponent() ) {
+            if ( referencesChangedType( component ) ) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean isChangedType(QName typeRef) {
+        return typeRef != null && changedTypes.contains( typeRef.getLocalPart() );
+    }
+
+    /**
+     * Returns the node of the previous model for the given item definition, or null if it
+     * must be compiled again
+     */
+    ItemDefNode getReusableItemDefinition(ItemDefinition type) {
+        if ( changedTypes.contains( type.getName() ) ) {
+            return null;
+        }
+        return previous.getItemDefinitionByName( type.getName() );
+    }
+
+    /**
+     * Returns the node of the previous model for the given element, or null if it must be
+     * compiled again
+     */
+    DMNNode getReusableNode(DRGElement element) {
+        return isReused( element.getId() ) ? getPreviousNode( element.getId() ) : null;
+    }
+
+    boolean isReused(String id) {
+        Boolean r = reusable.get( id );
+        if ( r != null ) {
+            return r;
+        }
+        // a requirement cycle is not reused, and is reported when compiled again
+        reusable.put( id, false );
+        DRGElement element = elements.get( id );
+        boolean result = element != null
+                         && getPreviousNode( id ) != null
+                         && sameElement( previousElements.get( id ), element )
+                         && !isChangedType( getVariableType( element ) )
+                         && getRequiredIds( element ).stream().allMatch( this::isReused );
+        reusable.put( id, result );
+        return result;
+    }
+
+    /**
+     * Copies to the given model the messages the previous model reported on the reused nodes
+     */
+    void copyMessages(DMNModelImpl model) {
+        for ( DMNMessage msg : previous.getMessages() ) {
+            if ( msg.getSourceId() != null && Boolean.TRUE.equals( reusable.get( msg.getSourceId() ) ) ) {
+                model.addMessage( msg );
+            }
+        }
+    }
+
+    int getReusedCount() {
+        return (int) reusable.values().stream().filter( Boolean::booleanValue ).count();
+    }
+
+    private DMNNode getPreviousNode(String id) {
+        DMNNode node = previous.getInputById( id );
+        if ( node == null ) {
+            node = previous.getDecisionById( id );
+        }
+        if ( node == null ) {
+            node = previous.getBusinessKnowledgeModelById( id );
+        }
+        return node;
+    }
+
+    private static QName getVariableType(DRGElement element) {
+        InformationItem variable = null;
+        if ( element instanceof InputData ) {
+            variable = ((InputData) element).getVariable();
+        } else if ( element instanceof Decision ) {
+            variable = ((Decision) element).getVariable();
+        } else if ( element instanceof BusinessKnowledgeModel ) {
+            variable = ((BusinessKnowledgeModel) element).getVariable();
+        }
+        return variable != null ? variable.getTypeRef() : null;
+    }
+
+    private static List<String> getRequiredIds(DRGElement element) {
+        List<String> ids = new ArrayList<>();
+        List<KnowledgeRequirement> knowledgeRequirements = Collections.emptyList();
+        if ( element instanceof Decision ) {
+            for ( InformationRequirement ir : ((Decision) element).getInformationRequirement() ) {
+                addId( ids, ir.getRequiredInput() );
+                addId( ids, ir.getRequiredDecision() );
+            }
+            knowledgeRequirements = ((Decision) element).getKnowledgeRequirement();
+        } else if ( element instanceof BusinessKnowledgeModel ) {
+            knowledgeRequirements = ((BusinessKnowledgeModel) element).getKnowledgeRequirement();
+        }
+        for ( KnowledgeRequirement kr : knowledgeRequirements ) {
+            addId( ids, kr.getRequiredKnowledge() );
+        }
+        return ids;
+    }
+
+    private static void addId(List<String> ids, DMNElementReference ref) {
+        if ( ref != null ) {
+            ids.add( DMNCompilerImpl.getId( ref ) );
+        }
+    }
+
+    /**
+     * Compares two model elements field by field, ignoring the reference to their parent
+     */
+    static boolean sameElement(Object a, Object b) {
+        if ( a == b ) {
+            return true;
+        }
+        if ( a == null || b == null ) {
+            return isEmpty( a ) && isEmpty( b );
+        }
+        if ( a instanceof List && b instanceof List ) {
+            List<?> la = (List<?>) a;
+            List<?> lb = (List<?>) b;
+            if ( la.size() != lb.size() ) {
+                return false;
+            }
+            for ( int i = 0; i < la.size(); i++ ) {
+                if ( !sameElement( la.get( i ), lb.get( i ) ) ) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        if ( a.getClass() != b.getClass() ) {
+            return false;
+        }
+        if ( a instanceof RulesImport ) {
+            // the imported file may have changed
+            return false;
+        }
+        if ( !(a instanceof DMNModelInstrumentedBase) ) {
+            return a.equals( b );
+        }
+        for ( Class<?> c = a.getClass(); c != Object.class; c = c.getSuperclass() ) {
+            for ( Field f : c.getDeclaredFields() ) {
+                if ( Modifier.isStatic( f.getModifiers() ) || (c == DMNModelInstrumentedBase.class && "parent".equals( f.getName() )) ) {
+                    continue;
+                }
+                try {
+                    f.setAccessible( true );
+                    if ( !sameElement( f.get( a ), f.get( b ) ) ) {
+                        return false;
+                    }
+                } catch ( IllegalAccessException e ) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    // lists and maps are created lazily by the model classes
+    private static boolean isEmpty(Object o) {
+        return o == null || (o instanceof Collection && ((Collection<?>) o).isEmpty()) || (o instanceof Map && ((Map<?, ?>) o).isEmpty());
+    }
+}
@@ -0,0 +1,147 @@
+/*
+ * Copyright 2016 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.dmn.core.compiler;
+
+import org.kie.dmn.feel.lang.ast.*;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Tells, from their compiled AST, whether FEEL expressions always evaluate to the same value for
+ * the same inputs, e.g. to decide if the results of a function built from them can be memoized.
+ * Unknown node types are assumed to be impure.
+ */
+final class PureExpressions {
+
+    // the built-in functions whose result does not only depend on their arguments
+    private static final Set<String> NON_DETERMINISTIC_FUNCTIONS = new HashSet<>( Arrays.asList( "now", "today" ) );
+
+    private PureExpressions() {
+        // utility class
+    }
+
+    /**
+     * Returns true if the given expression does not call now(), today() or an external function.
+     * Null, i.e. an expression that failed to compile, is not pure.
+     */
+    static boolean isPure(BaseNode node) {
+        return node != null && check( node, true );
+    }
+
+    /**
+     * Returns true if the given expression is pure and does not reference any name but the ones of
+     * the functions it invokes, so that it evaluates to the same value in any context.
+     */
+    static boolean isConstant(BaseNode node) {
+        return node != null && check( node, false );
+    }
+
+    private static boolean check(BaseNode node, boolean names) {
+        if ( node == null || node instanceof StringNode || node instanceof NumberNode || node instanceof BooleanNode
+             || node instanceof NullNode || node instanceof DashNode || node instanceof TypeNode || node instanceof NameDefNode ) {
+            return true;
+        }
+        if ( node instanceof NameRefNode || node instanceof QualifiedNameNode ) {
+            return names;
+        }
+        if ( node instanceof FunctionInvocationNode ) {
+            FunctionInvocationNode fin = (FunctionInvocationNode) node;
+            if ( fin.getName() instanceof NameRefNode ) {
+                // the name of the function, not a reference to a value of the context
+                return ! NON_DETERMINISTIC_FUNCTIONS.contains( ((NameRefNode) fin.getName()).getText() ) && check( fin.getParams(), names );
+            }
+            return check( fin.getName(), names ) && check( fin.getParams(), names );
+        }
+        if ( node instanceof FunctionDefNode ) {
+            // the parameters are only referenced by the body
+            return ! ((FunctionDefNode) node).isExternal() && check( ((FunctionDefNode) node).getBody(), true );
+        }
+        if ( node instanceof ListNode ) {
+            return checkAll( ((ListNode) node).getElements(), names );
+        }
+        if ( node instanceof ContextNode ) {
+            return checkAll( ((ContextNode) node).getEntries(), true );
+        }
+        if ( node instanceof ContextEntryNode ) {
+            return check( ((ContextEntryNode) node).getName(), names ) && check( ((ContextEntryNode) node).getValue(), names );
+        }
+        if ( node instanceof InfixOpNode ) {
+            return check( ((InfixOpNode) node).getLeft(), names ) && check( ((InfixOpNode) node).getRight(), names );
+        }
+        if ( node instanceof BetweenNode ) {
+            BetweenNode bn = (BetweenNode) node;
+            return check( bn.getValue(), names ) && check( bn.getStart(), names ) && check( bn.getEnd(), names );
+        }
+        if ( node instanceof IfExpressionNode ) {
+            IfExpressionNode ien = (IfExpressionNode) node;
+            return check( ien.getCondition(), names ) && check( ien.getThenExpression(), names ) && check( ien.getElseExpression(), names );
+        }
+        if ( node instanceof InNode ) {
+            return check( ((InNode) node).getValue(), names ) && check( ((InNode) node).getExprs(), names );
+        }
+        if ( node instanceof RangeNode ) {
+            return check( ((RangeNode) node).getStart(), names ) && check( ((RangeNode) node).getEnd(), names );
+        }
+        if ( node instanceof UnaryTestNode ) {
+            return check( ((UnaryTestNode) node).getValue(), names );
+        }
+        if ( node instanceof SignedUnaryNode ) {
+            return check( ((SignedUnaryNode) node).getExpression(), names );
+        }
+        if ( node instanceof NotNode ) {
+            return check( ((NotNode) node).getExpression(), names );
+        }
+        if ( node instanceof InstanceOfNode ) {
+            return check( ((InstanceOfNode) node).getExpression(), names );
+        }
+        if ( node instanceof NamedParameterNode ) {
+            return check( ((NamedParameterNode) node).getExpression(), names );
+        }
+        if ( node instanceof PathExpressionNode ) {
+            // the name is the one of a member of the expression's value
+            return check( ((PathExpressionNode) node).getExpression(), names );
+        }
+        if ( node instanceof FilterExpressionNode ) {
+            // the filter references the items and their members
+            return check( ((FilterExpressionNode) node).getExpression(), names ) && check( ((FilterExpressionNode) node).getFilter(), true );
+        }
+        if ( node instanceof ForExpressionNode ) {
+            ForExpressionNode fen = (ForExpressionNode) node;
+            return checkAll( fen.getIterationContexts(), names ) && check( fen.getExpression(), true );
+        }
+        if ( node instanceof QuantifiedExpressionNode ) {
+            QuantifiedExpressionNode qen = (QuantifiedExpressionNode) node;
+            return checkAll( qen.getIterationContexts(), names ) && check( qen.getExpression(), true );
+        }
+        if ( node instanceof IterationContextNode ) {
+            return check( ((IterationContextNode) node).getExpression(), names );
+        }
+        return false;
+    }
+
+    private static boolean checkAll(List<? extends BaseNode> nodes, boolean names) {
+        for ( BaseNode node : nodes ) {
+            if ( ! check( node, names ) ) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
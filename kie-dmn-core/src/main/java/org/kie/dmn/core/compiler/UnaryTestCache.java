@@ -0,0 +1,172 @@
+/*
+ * Copyright 2016 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.dmn.core.compiler;
+
+import org.kie.dmn.feel.runtime.UnaryTest;
+import org.kie.dmn.feel.runtime.decisiontables.DTUnaryTests;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Canonicalizes the unary tests and expression texts of decision table cells, so that the
+ * same cell repeated across rules, tables and models is compiled once and shared as a
+ * single immutable instance.
+ *
+ * Cells are compiled without any input variable in scope, so their text alone determines
+ * the compiled tests. Each map keeps at most the configured number of entries, evicting the
+ * least recently used ones, so that the cells of undeployed or replaced models are eventually
+ * released. An evicted instance stays shared by the tables that already reference it.
+ */
+public class UnaryTestCache {
+
+    public static final int DEFAULT_MAX_ENTRIES = 20000;
+
+    private static final UnaryTestCache SHARED = new UnaryTestCache( DEFAULT_MAX_ENTRIES );
+
+    // only used while compiling, so a lock per map is cheap enough
+    private final Map<String, List<UnaryTest>> testsByText;
+    private final Map<UnaryTest, UnaryTest>    canonicalTests;
+    private final Map<String, String>          canonicalTexts;
+    private final AtomicLong                   requests = new AtomicLong();
+    private final AtomicLong                   hits     = new AtomicLong();
+
+    public UnaryTestCache(int maxEntries) {
+        this.testsByText = Collections.synchronizedMap( new LruMap<>( maxEntries ) );
+        this.canonicalTests = Collections.synchronizedMap( new LruMap<>( maxEntries ) );
+        this.canonicalTexts = Collections.synchronizedMap( new LruMap<>( maxEntries ) );
+    }
+
+    /**
+     * Returns the cache shared by all the compilers of this JVM
+     */
+    public static UnaryTestCache getShared() {
+        return SHARED;
+    }
+
+    /**
+     * Returns the tests of the given cell text, compiling them with the given function
+     * only if the same text was not compiled before. The returned list is unmodifiable.
+     */
+    public List<UnaryTest> getUnaryTests(String text, Function<String, List<UnaryTest>> compiler) {
+        String key = text.trim();
+        requests.incrementAndGet();
+        List<UnaryTest> tests = testsByText.get( key );
+        if ( tests != null ) {
+            hits.incrementAndGet();
+            return tests;
+        }
+        List<UnaryTest> compiled = compiler.apply( text );
+        List<UnaryTest> canonical = new ArrayList<>( compiled.size() );
+        for ( UnaryTest t : compiled ) {
+            canonical.add( intern( t ) );
+        }
+        tests = Collections.unmodifiableList( canonical );
+        List<UnaryTest> previous = testsByText.putIfAbsent( key, tests );
+        return previous != null ? previous : tests;
+    }
+
+    /**
+     * Returns the shared instance equal to the given test. Only the tests compared by value
+     * are shared, any other test is returned as is.
+     */
+    public UnaryTest intern(UnaryTest test) {
+        if ( !DTUnaryTests.isValueBased( test ) ) {
+            return test;
+        }
+        requests.incrementAndGet();
+        UnaryTest canonical = canonicalTests.get( test );
+        if ( canonical != null ) {
+            hits.incrementAndGet();
+            return canonical;
+        }
+        canonical = canonicalTests.putIfAbsent( test, test );
+        return canonical != null ? canonical : test;
+    }
+
+    /**
+     * Returns the shared instance equal to the given expression text, e.g. an output entry
+     */
+    public String intern(String text) {
+        if ( text == null ) {
+            return null;
+        }
+        requests.incrementAndGet();
+        String canonical = canonicalTexts.get( text );
+        if ( canonical != null ) {
+            hits.incrementAndGet();
+            return canonical;
+        }
+        canonical = canonicalTexts.putIfAbsent( text, text );
+        return canonical != null ? canonical : text;
+    }
+
+    /**
+     * Returns the number of cells, tests and texts looked up in this cache
+     */
+    public long getRequests() {
+        return requests.get();
+    }
+
+    /**
+     * Returns the number of lookups that were answered with an already shared instance
+     */
+    public long getHits() {
+        return hits.get();
+    }
+
+    /**
+     * Returns the fraction of lookups that were answered with an already shared instance,
+     * between 0 and 1
+     */
+    public double getDeduplicationRatio() {
+        long r = requests.get();
+        return r == 0 ? 0 : (double) hits.get() / r;
+    }
+
+    public int size() {
+        return testsByText.size() + canonicalTests.size() + canonicalTexts.size();
+    }
+
+    public void clear() {
+        testsByText.clear();
+        canonicalTests.clear();
+        canonicalTexts.clear();
+        requests.set( 0 );
+        hits.set( 0 );
+    }
+
+    private static class LruMap<K, V>
+            extends LinkedHashMap<K, V> {
+        private final int maxEntries;
+
+        private LruMap(int maxEntries) {
+            super( 16, 0.75f, true );
+            this.maxEntries = maxEntries;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+            return size() > maxEntries;
+        }
+    }
+}
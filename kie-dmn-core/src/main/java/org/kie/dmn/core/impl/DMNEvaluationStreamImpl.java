@@ -0,0 +1,210 @@
+/*
+ * Copyright 2016 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.dmn.core.impl;
+
+import org.kie.dmn.core.api.DMNContext;
+import org.kie.dmn.core.api.DMNEvaluationStream;
+import org.kie.dmn.core.api.DMNModel;
+import org.kie.dmn.core.api.DMNResult;
+import org.kie.dmn.core.api.DMNRuntime;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Starts the evaluations and delivers their results from a drain loop: whichever thread
+ * submits a context or completes an evaluation runs it, and the others only record that
+ * there is more work, so the consumer is never called concurrently.
+ */
+class DMNEvaluationStreamImpl
+        implements DMNEvaluationStream {
+
+    private final DMNRuntime                             runtime;
+    private final DMNModel                               model;
+    private final Consumer<? super DMNResult>            results;
+    private final Executor                               executor;
+    private final int                                    parallelism;
+    private final int                                    maxInFlight;
+    private final boolean                                ordered;
+
+    // one permit per context that can be accepted before its result is delivered
+    private final Semaphore                              inFlight;
+    private final Queue<Pending>                         pending    = new ConcurrentLinkedQueue<>();
+    private final Set<CompletableFuture<DMNResult>>      running    = ConcurrentHashMap.newKeySet();
+    private final Map<Long, DMNResult>                   byIndex    = new ConcurrentHashMap<>();
+    private final Queue<DMNResult>                       evaluated  = new ConcurrentLinkedQueue<>();
+    private final AtomicLong                             submitted  = new AtomicLong();
+    private final AtomicInteger                          wip        = new AtomicInteger();
+    // only incremented by the drain loop, so it never exceeds the parallelism
+    private final AtomicInteger                          evaluating = new AtomicInteger();
+    private final CompletableFuture<Void>                done       = new CompletableFuture<>();
+    private volatile boolean                             completing;
+    // accessed by the drain loop only
+    private long                                         delivered;
+
+    DMNEvaluationStreamImpl(DMNRuntime runtime, DMNModel model, Consumer<? super DMNResult> results, Executor executor,
+                            int parallelism, int maxInFlight, boolean ordered) {
+        if ( parallelism < 1 || maxInFlight < parallelism ) {
+            throw new IllegalArgumentException( "Expected 1 <= parallelism <= maxInFlight, found parallelism " + parallelism + " and maxInFlight " + maxInFlight );
+        }
+        this.runtime = runtime;
+        this.model = model;
+        this.results = results;
+        this.executor = executor;
+        this.parallelism = parallelism;
+        this.maxInFlight = maxInFlight;
+        this.ordered = ordered;
+        this.inFlight = new Semaphore( maxInFlight );
+        done.whenComplete( (v, t) -> {
+            if ( t != null ) {
+                terminate();
+            }
+        } );
+    }
+
+    @Override
+    public void submit(DMNContext context) throws InterruptedException {
+        checkOpen();
+        inFlight.acquire();
+        accept( context );
+    }
+
+    @Override
+    public boolean trySubmit(DMNContext context) {
+        checkOpen();
+        if ( !inFlight.tryAcquire() ) {
+            return false;
+        }
+        accept( context );
+        return true;
+    }
+
+    @Override
+    public CompletableFuture<Void> complete() {
+        completing = true;
+        drain();
+        return done;
+    }
+
+    @Override
+    public void cancel() {
+        done.cancel( false );
+    }
+
+    private void checkOpen() {
+        if ( done.isDone() ) {
+            throw new IllegalStateException( "The evaluation stream is terminated" );
+        }
+        if ( completing ) {
+            throw new IllegalStateException( "The evaluation stream is completed" );
+        }
+    }
+
+    private void accept(DMNContext context) {
+        if ( done.isDone() ) {
+            // wake up the next producer waiting for a permit, it fails the same way
+            inFlight.release();
+            throw new IllegalStateException( "The evaluation stream is terminated" );
+        }
+        pending.add( new Pending( submitted.getAndIncrement(), context ) );
+        drain();
+    }
+
+    private void drain() {
+        if ( wip.getAndIncrement() != 0 ) {
+            return;
+        }
+        int missed = 1;
+        do {
+            if ( done.isDone() ) {
+                pending.clear();
+            } else {
+                try {
+                    deliver();
+                    start();
+                    if ( completing && delivered == submitted.get() ) {
+                        done.complete( null );
+                    }
+                } catch ( Throwable t ) {
+                    done.completeExceptionally( t );
+                }
+            }
+            missed = wip.addAndGet( -missed );
+        } while ( missed != 0 );
+    }
+
+    private void deliver() {
+        DMNResult result;
+        while ( !done.isDone() && (result = ordered ? byIndex.remove( delivered ) : evaluated.poll()) != null ) {
+            delivered++;
+            results.accept( result );
+            inFlight.release();
+        }
+    }
+
+    private void start() {
+        Pending next;
+        while ( evaluating.get() < parallelism && !done.isDone() && (next = pending.poll()) != null ) {
+            evaluating.incrementAndGet();
+            long index = next.index;
+            CompletableFuture<DMNResult> evaluation = runtime.evaluateAllAsync( model, next.context, executor );
+            running.add( evaluation );
+            evaluation.whenComplete( (result, t) -> {
+                running.remove( evaluation );
+                if ( t != null ) {
+                    done.completeExceptionally( t );
+                } else if ( ordered ) {
+                    byIndex.put( index, result );
+                } else {
+                    evaluated.add( result );
+                }
+                evaluating.decrementAndGet();
+                drain();
+            } );
+        }
+    }
+
+    private void terminate() {
+        pending.clear();
+        for ( CompletableFuture<DMNResult> evaluation : running ) {
+            evaluation.cancel( true );
+        }
+        // wake up the producers waiting for a permit
+        inFlight.release( maxInFlight );
+        drain();
+    }
+
+    private static class Pending {
+        private final long       index;
+        private final DMNContext context;
+
+        private Pending(long index, DMNContext context) {
+            this.index = index;
+            this.context = context;
+        }
+    }
+
+}
@@ -19,6 +19,8 @@ package org.kie.dmn.core.impl;
 import org.kie.dmn.core.api.DMNMessage;
 import org.kie.dmn.core.api.DMNModel;
 import org.kie.dmn.core.api.DMNType;
+import org.kie.dmn.core.ast.BusinessKnowledgeModelNode;
+import org.kie.dmn.core.ast.DMNBaseNode;
 import org.kie.dmn.core.ast.DecisionNode;
 import org.kie.dmn.core.ast.InputDataNode;
 import org.kie.dmn.core.ast.ItemDefNode;
@@ -26,17 +28,27 @@ import org.kie.dmn.feel.model.v1_1.Definitions;
 import org.kie.dmn.feel.runtime.events.FEELEvent;
 
 import javax.xml.namespace.QName;
+import java.lang.ref.SoftReference;
 import java.util.*;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 public class DMNModelImpl
         implements DMNModel {
 
     private Definitions definitions;
+    // reloads the definitions after they were dropped, see dropDefinitions()
+    private Supplier<Definitions> definitionsLoader;
+    private volatile SoftReference<Definitions> reloadedDefinitions;
+    private String namespace;
+    private String name;
+    // the path of the resource this model was compiled from, if any
+    private String sourcePath;
     private Map<QName, DMNType>        typeRegistry = new HashMap<>();
     private Map<String, InputDataNode> inputs    = new HashMap<>();
     private Map<String, DecisionNode>  decisions = new HashMap<>();
     private Map<String, ItemDefNode>   itemDefs = new HashMap<>();
+    private Map<String, BusinessKnowledgeModelNode> bkms = new HashMap<>();
 
     // these are messages created at loading/compilation time
     private List<DMNMessage> messages = new ArrayList<>(  );
@@ -45,25 +57,73 @@ public class DMNModelImpl
     }
 
     public DMNModelImpl(Definitions definitions) {
-        this.definitions = definitions;
+        setDefinitions( definitions );
     }
 
     @Override
     public String getNamespace() {
-        return definitions != null ? definitions.getNamespace() : null;
+        return namespace;
     }
 
     public String getName() {
-        return definitions != null ? definitions.getName() : null;
+        return name;
     }
 
+    /**
+     * Returns the definitions this model was compiled from. If they were dropped, they are
+     * loaded again and kept until the memory is needed. Null is returned if there is no way
+     * to load them, or if their source changed since this model was compiled.
+     */
     @Override
     public Definitions getDefinitions() {
+        if ( definitions == null && definitionsLoader != null ) {
+            SoftReference<Definitions> ref = reloadedDefinitions;
+            Definitions reloaded = ref != null ? ref.get() : null;
+            if ( reloaded == null ) {
+                reloaded = definitionsLoader.get();
+                reloadedDefinitions = reloaded != null ? new SoftReference<>( reloaded ) : null;
+            }
+            return reloaded;
+        }
         return definitions;
     }
 
+    /**
+     * Returns whether the definitions this model was compiled from are still kept in memory
+     */
+    public boolean isDefinitionsRetained() {
+        return definitions != null;
+    }
+
     public void setDefinitions(Definitions definitions) {
         this.definitions = definitions;
+        this.definitionsLoader = null;
+        this.reloadedDefinitions = null;
+        this.namespace = definitions != null ? definitions.getNamespace() : null;
+        this.name = definitions != null ? definitions.getName() : null;
+    }
+
+    /**
+     * Drops the definitions and the model elements referenced by the nodes of this
+     * model, keeping only what evaluation needs. From then on {@link #getDefinitions()}
+     * uses the given loader, that can be null.
+     */
+    public void dropDefinitions(Supplier<Definitions> loader) {
+        this.definitions = null;
+        this.definitionsLoader = loader;
+        this.reloadedDefinitions = null;
+        inputs.values().forEach( DMNBaseNode::detachSource );
+        decisions.values().forEach( DMNBaseNode::detachSource );
+        itemDefs.values().forEach( DMNBaseNode::detachSource );
+        bkms.values().forEach( DMNBaseNode::detachSource );
+    }
+
+    public String getSourcePath() {
+        return sourcePath;
+    }
+
+    public void setSourcePath(String sourcePath) {
+        this.sourcePath = sourcePath;
     }
 
     public void addInput(InputDataNode idn) {
@@ -121,6 +181,33 @@ public class DMNModelImpl
         return this.decisions.values().stream().collect( Collectors.toSet());
     }
 
+    public void addBusinessKnowledgeModel(BusinessKnowledgeModelNode bkm) {
+        bkms.put( bkm.getId(), bkm );
+    }
+
+    @Override
+    public BusinessKnowledgeModelNode getBusinessKnowledgeModelById(String id) {
+        return this.bkms.get( id );
+    }
+
+    @Override
+    public BusinessKnowledgeModelNode getBusinessKnowledgeModelByName(String name) {
+        if( name == null ) {
+            return null;
+        }
+        for( BusinessKnowledgeModelNode bkm : this.bkms.values() ) {
+            if( bkm.getName() != null && name.equals( bkm.getName() ) ) {
+                return bkm;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public Set<BusinessKnowledgeModelNode> getBusinessKnowledgeModels() {
+        return this.bkms.values().stream().collect( Collectors.toSet());
+    }
+
     @Override
     public Set<InputDataNode> getRequiredInputsForDecisionName(String decisionName) {
         DecisionNode decision = getDecisionByName( decisionName );
@@ -0,0 +1,120 @@
+/*
+ * Copyright 2016 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.dmn.core.impl;
+
+import org.kie.dmn.core.api.DMNModel;
+import org.kie.dmn.core.api.DMNModelRegistry;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class DMNModelRegistryImpl
+        implements DMNModelRegistry {
+
+    private final ConcurrentMap<ModelKey, VersionedModel> models = new ConcurrentHashMap<>();
+    // the last revision number of each namespace and name, kept when the model is undeployed
+    private final ConcurrentMap<ModelKey, AtomicLong> revisions = new ConcurrentHashMap<>();
+    // rebuilt on each change, so that listing the models does not copy them on every call
+    private volatile List<DMNModel> snapshot = Collections.emptyList();
+
+    public DMNModelRegistryImpl() {
+    }
+
+    public DMNModelRegistryImpl(Collection<? extends DMNModel> models) {
+        models.forEach( this::deploy );
+    }
+
+    @Override
+    public DMNModel getModel(String namespace, String modelName) {
+        VersionedModel vm = getVersionedModel( namespace, modelName );
+        return vm != null ? vm.getModel() : null;
+    }
+
+    @Override
+    public String getVersion(String namespace, String modelName) {
+        VersionedModel vm = getVersionedModel( namespace, modelName );
+        return vm != null ? vm.getVersion() : null;
+    }
+
+    @Override
+    public VersionedModel getVersionedModel(String namespace, String modelName) {
+        return models.get( new ModelKey( namespace, modelName ) );
+    }
+
+    @Override
+    public List<DMNModel> getModels() {
+        return snapshot;
+    }
+
+    @Override
+    public DMNModel deploy(DMNModel model) {
+        AtomicLong revision = revisions.computeIfAbsent( new ModelKey( model.getNamespace(), model.getName() ), k -> new AtomicLong() );
+        return deploy( model, String.valueOf( revision.incrementAndGet() ) );
+    }
+
+    @Override
+    public synchronized DMNModel deploy(DMNModel model, String version) {
+        VersionedModel previous = models.put( new ModelKey( model.getNamespace(), model.getName() ), new VersionedModel( model, version ) );
+        updateSnapshot();
+        return previous != null ? previous.getModel() : null;
+    }
+
+    @Override
+    public synchronized DMNModel undeploy(String namespace, String modelName) {
+        VersionedModel previous = models.remove( new ModelKey( namespace, modelName ) );
+        updateSnapshot();
+        return previous != null ? previous.getModel() : null;
+    }
+
+    // changes are serialized, lookups never lock
+    private void updateSnapshot() {
+        List<DMNModel> list = new ArrayList<>( models.size() );
+        models.values().forEach( vm -> list.add( vm.getModel() ) );
+        snapshot = Collections.unmodifiableList( list );
+    }
+
+    private static class ModelKey {
+        private final String namespace;
+        private final String name;
+        private final int    hash;
+
+        private ModelKey(String namespace, String name) {
+            this.namespace = namespace;
+            this.name = name;
+            this.hash = Objects.hash( namespace, name );
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if ( this == o ) return true;
+            if ( !(o instanceof ModelKey) ) return false;
+            ModelKey that = (ModelKey) o;
+            return Objects.equals( namespace, that.namespace ) && Objects.equals( name, that.name );
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
@@ -21,14 +21,15 @@ import org.kie.dmn.core.api.DMNModel;
 import org.kie.dmn.core.api.DMNPackage;
 
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class DMNPackageImpl implements DMNPackage {
 
     private String namespace;
 
-    private Map<String, DMNModel> models = new HashMap<>(  );
+    // models can be replaced while the package is in use
+    private Map<String, DMNModel> models = new ConcurrentHashMap<>(  );
 
     public DMNPackageImpl() {
         this("");
@@ -24,24 +24,64 @@ import org.kie.dmn.core.api.event.DMNRuntimeEventListener;
 import org.kie.dmn.core.api.event.InternalDMNRuntimeEventManager;
 import org.kie.dmn.core.ast.DMNNode;
 import org.kie.dmn.core.ast.DecisionNode;
+import org.kie.dmn.core.ast.InputDataNode;
 import org.kie.internal.io.ResourceTypePackage;
 
 import java.util.*;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 public class DMNRuntimeImpl
         implements DMNRuntime {
 
+    private static final BooleanSupplier NOT_CANCELLED = () -> false;
+
     private KieRuntime                     runtime;
+    // the models of a standalone runtime, null when the models come from the KieRuntime
+    private DMNModelRegistry               registry;
     private InternalDMNRuntimeEventManager eventManager;
+    private volatile Executor              asyncExecutor = ForkJoinPool.commonPool();
 
     public DMNRuntimeImpl(KieRuntime runtime) {
         this.runtime = runtime;
         this.eventManager = new DMNRuntimeEventManagerImpl();
     }
 
+    /**
+     * Creates a runtime that evaluates the given models directly, without a KieSession.
+     * The runtime is thread safe and can be shared by all the evaluations of these models.
+     */
+    public DMNRuntimeImpl(Collection<? extends DMNModel> models) {
+        this( new DMNModelRegistryImpl( models ) );
+    }
+
+    /**
+     * Creates a runtime that evaluates the models of the given registry, without a KieSession.
+     * Models deployed to the registry are visible to the next lookups of this runtime.
+     */
+    public DMNRuntimeImpl(DMNModelRegistry registry) {
+        this.registry = registry;
+        this.eventManager = new DMNRuntimeEventManagerImpl();
+    }
+
+    /**
+     * Returns the registry of a standalone runtime, or null for a runtime created from a KieSession
+     */
+    public DMNModelRegistry getModelRegistry() {
+        return registry;
+    }
+
     @Override
     public List<DMNModel> getModels() {
+        if( registry != null ) {
+            return registry.getModels();
+        }
         List<DMNModel> models = new ArrayList<>(  );
         runtime.getKieBase().getKiePackages().forEach( kpkg -> {
             DMNPackage dmnPkg = (DMNPackage) ((InternalKnowledgePackage) kpkg).getResourceTypePackages().get( ResourceType.DMN );
@@ -54,7 +94,13 @@ public class DMNRuntimeImpl
 
     @Override
     public DMNModel getModel(String namespace, String modelName) {
+        if( registry != null ) {
+            return registry.getModel( namespace, modelName );
+        }
         InternalKnowledgePackage kpkg = (InternalKnowledgePackage) runtime.getKieBase().getKiePackage( namespace );
+        if( kpkg == null ) {
+            return null;
+        }
         Map<ResourceType, ResourceTypePackage> map = kpkg.getResourceTypePackages();
         DMNPackage dmnpkg = (DMNPackage) map.get( ResourceType.DMN );
         return dmnpkg != null ? dmnpkg.getModel( modelName ) : null;
@@ -62,19 +108,27 @@ public class DMNRuntimeImpl
 
     @Override
     public DMNResult evaluateAll(DMNModel model, DMNContext context) {
-        DMNResultImpl result = createResult( context );
+        return evaluateAll( model, context, NOT_CANCELLED );
+    }
+
+    private DMNResult evaluateAll(DMNModel model, DMNContext context, BooleanSupplier cancelled) {
+        DMNResultImpl result = createResult( model, context );
         for( DecisionNode decision : model.getDecisions() ) {
-            evaluateDecision( context, result, decision );
+            evaluateDecision( context, result, decision, cancelled );
         }
         return result;
     }
 
     @Override
     public DMNResult evaluateDecisionByName(DMNModel model, String decisionName, DMNContext context) {
-        DMNResultImpl result = createResult( context );
+        return evaluateDecisionByName( model, decisionName, context, NOT_CANCELLED );
+    }
+
+    private DMNResult evaluateDecisionByName(DMNModel model, String decisionName, DMNContext context, BooleanSupplier cancelled) {
+        DMNResultImpl result = createResult( model, context );
         DecisionNode decision = model.getDecisionByName( decisionName );
         if( decision != null ) {
-            evaluateDecision( context, result, decision );
+            evaluateDecision( context, result, decision, cancelled );
         } else {
             result.addMessage( DMNMessage.Severity.ERROR, "Decision not found for name '"+decisionName+"'", null );
         }
@@ -83,16 +137,76 @@ public class DMNRuntimeImpl
 
     @Override
     public DMNResult evaluateDecisionById(DMNModel model, String decisionId, DMNContext context) {
-        DMNResultImpl result = createResult( context );
+        return evaluateDecisionById( model, decisionId, context, NOT_CANCELLED );
+    }
+
+    private DMNResult evaluateDecisionById(DMNModel model, String decisionId, DMNContext context, BooleanSupplier cancelled) {
+        DMNResultImpl result = createResult( model, context );
         DecisionNode decision = model.getDecisionById( decisionId );
         if( decision != null ) {
-            evaluateDecision( context, result, decision );
+            evaluateDecision( context, result, decision, cancelled );
         } else {
             result.addMessage( DMNMessage.Severity.ERROR, "Decision not found for id '"+decisionId+"'", decisionId );
         }
         return result;
     }
 
+    @Override
+    public void setAsyncExecutor(Executor executor) {
+        this.asyncExecutor = executor;
+    }
+
+    @Override
+    public CompletableFuture<DMNResult> evaluateAllAsync(DMNModel model, DMNContext context) {
+        return evaluateAllAsync( model, context, asyncExecutor );
+    }
+
+    @Override
+    public CompletableFuture<DMNResult> evaluateAllAsync(DMNModel model, DMNContext context, Executor executor) {
+        return submit( executor, cancelled -> evaluateAll( model, context, cancelled ) );
+    }
+
+    @Override
+    public CompletableFuture<DMNResult> evaluateDecisionByNameAsync(DMNModel model, String decisionName, DMNContext context) {
+        return evaluateDecisionByNameAsync( model, decisionName, context, asyncExecutor );
+    }
+
+    @Override
+    public CompletableFuture<DMNResult> evaluateDecisionByNameAsync(DMNModel model, String decisionName, DMNContext context, Executor executor) {
+        return submit( executor, cancelled -> evaluateDecisionByName( model, decisionName, context, cancelled ) );
+    }
+
+    @Override
+    public CompletableFuture<DMNResult> evaluateDecisionByIdAsync(DMNModel model, String decisionId, DMNContext context) {
+        return evaluateDecisionByIdAsync( model, decisionId, context, asyncExecutor );
+    }
+
+    @Override
+    public CompletableFuture<DMNResult> evaluateDecisionByIdAsync(DMNModel model, String decisionId, DMNContext context, Executor executor) {
+        return submit( executor, cancelled -> evaluateDecisionById( model, decisionId, context, cancelled ) );
+    }
+
+    @Override
+    public DMNEvaluationStream openEvaluationStream(DMNModel model, Consumer<? super DMNResult> results) {
+        int parallelism = Runtime.getRuntime().availableProcessors();
+        return openEvaluationStream( model, results, parallelism, 4 * parallelism, true );
+    }
+
+    @Override
+    public DMNEvaluationStream openEvaluationStream(DMNModel model, Consumer<? super DMNResult> results, int parallelism, int maxInFlight, boolean ordered) {
+        return new DMNEvaluationStreamImpl( this, model, results, asyncExecutor, parallelism, maxInFlight, ordered );
+    }
+
+    private static CompletableFuture<DMNResult> submit(Executor executor, Function<BooleanSupplier, DMNResult> evaluation) {
+        EvaluationTask task = new EvaluationTask( evaluation );
+        try {
+            executor.execute( task );
+        } catch ( RejectedExecutionException e ) {
+            task.completeExceptionally( e );
+        }
+        return task;
+    }
+
     @Override
     public void addListener(DMNRuntimeEventListener listener) {
         this.eventManager.addListener( listener );
@@ -108,13 +222,35 @@ public class DMNRuntimeImpl
         return this.eventManager.getListeners();
     }
 
-    private DMNResultImpl createResult(DMNContext context) {
+    private DMNResultImpl createResult(DMNModel model, DMNContext context) {
         DMNResultImpl result = new DMNResultImpl();
         result.setContext( context.clone() );
+        validateInputs( model, result );
         return result;
     }
 
-    private boolean evaluateDecision(DMNContext context, DMNResultImpl result, DecisionNode decision) {
+    /**
+     * Checks the given inputs against the allowed values of their types, once per evaluation.
+     * Null values are not checked.
+     */
+    private void validateInputs(DMNModel model, DMNResultImpl result) {
+        for( InputDataNode input : model.getInputs() ) {
+            if( input.getDmnType() instanceof FeelTypeImpl && result.getContext().isDefined( input.getName() ) ) {
+                FeelTypeImpl type = (FeelTypeImpl) input.getDmnType();
+                Object value = result.getContext().get( input.getName() );
+                if( value != null && ! type.isAllowed( value ) ) {
+                    result.addMessage( DMNMessage.Severity.ERROR,
+                                       "Value '" + value + "' of input '" + input.getName() + "' is not one of the allowed values of type '" + type.getName() + "'",
+                                       input.getId() );
+                }
+            }
+        }
+    }
+
+    private boolean evaluateDecision(DMNContext context, DMNResultImpl result, DecisionNode decision, BooleanSupplier cancelled) {
+        if( cancelled.getAsBoolean() ) {
+            return false;
+        }
         if( result.getContext().isDefined( decision.getName() ) ) {
             // already resolved
             return true;
@@ -127,7 +263,7 @@ public class DMNRuntimeImpl
             for( DMNNode dep : decision.getDependencies().values() ) {
                 if( ! result.getContext().isDefined( dep.getName() ) ) {
                     if( dep instanceof DecisionNode ) {
-                        evaluateDecision( context, result, (DecisionNode) dep );
+                        evaluateDecision( context, result, (DecisionNode) dep, cancelled );
                     } else {
                         missingInput = true;
                         DMNMessage msg = result.addMessage( DMNMessage.Severity.ERROR,
@@ -150,7 +286,10 @@ public class DMNRuntimeImpl
             try {
                 DecisionNode.DecisionEvaluator.EvaluatorResult er = decision.getEvaluator().evaluate( eventManager, result );
                 if( er.getResultType() == DecisionNode.DecisionEvaluator.ResultType.SUCCESS ) {
-                    result.getContext().set( decision.getDecision().getVariable().getName(), er.getResult() );
+                    if( decision.getVariableName() == null ) {
+                        throw new IllegalStateException( "Decision '"+decision.getName()+"' does not define a variable" );
+                    }
+                    result.getContext().set( decision.getVariableName(), er.getResult() );
                     dr.setResult( er.getResult() );
                 }
             } catch( Throwable t ) {
@@ -162,4 +301,59 @@ public class DMNRuntimeImpl
         }
     }
 
+    /**
+     * The future of an asynchronous evaluation. Cancelling it stops the evaluation before the next
+     * decision and, if requested, interrupts the thread running it, e.g. to unblock a blocking
+     * external function.
+     */
+    private static class EvaluationTask
+            extends CompletableFuture<DMNResult>
+            implements Runnable {
+        private final Function<BooleanSupplier, DMNResult> evaluation;
+        // guarded by this
+        private Thread  runner;
+        private boolean interrupted;
+
+        private EvaluationTask(Function<BooleanSupplier, DMNResult> evaluation) {
+            this.evaluation = evaluation;
+        }
+
+        @Override
+        public void run() {
+            synchronized ( this ) {
+                if ( isDone() ) {
+                    return;
+                }
+                runner = Thread.currentThread();
+            }
+            try {
+                complete( evaluation.apply( this::isCancelled ) );
+            } catch ( Throwable t ) {
+                completeExceptionally( t );
+            } finally {
+                synchronized ( this ) {
+                    runner = null;
+                    if ( interrupted ) {
+                        // do not leak the interrupt to the next task of the executor's thread
+                        Thread.interrupted();
+                    }
+                }
+            }
+        }
+
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            boolean cancelled = super.cancel( mayInterruptIfRunning );
+            if ( cancelled && mayInterruptIfRunning ) {
+                synchronized ( this ) {
+                    if ( runner != null ) {
+                        interrupted = true;
+                        runner.interrupt();
+                    }
+                }
+            }
+            return cancelled;
+        }
+    }
+
 }
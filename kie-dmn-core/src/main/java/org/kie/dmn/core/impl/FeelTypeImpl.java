@@ -19,6 +19,8 @@ package org.kie.dmn.core.impl;
 import org.kie.dmn.core.api.DMNType;
 import org.kie.dmn.feel.lang.Type;
 import org.kie.dmn.feel.lang.types.BuiltInType;
+import org.kie.dmn.feel.runtime.decisiontables.ValueConstraint;
+import org.kie.dmn.feel.util.EvalHelper;
 
 import java.util.Collections;
 import java.util.List;
@@ -31,6 +33,8 @@ public class FeelTypeImpl
     private String  id;
     private Type    feelType;
     private List<?> allowedValues;
+    // compiled from the allowed values, null when any value is allowed
+    private ValueConstraint allowedValuesConstraint;
 
     public FeelTypeImpl() {
         this( null, null, null, null );
@@ -44,7 +48,7 @@ public class FeelTypeImpl
         this.name = name;
         this.id = id;
         this.feelType = feelType;
-        this.allowedValues = allowedValues;
+        setAllowedValues( allowedValues );
     }
 
     @Override
@@ -79,6 +83,15 @@ public class FeelTypeImpl
 
     public void setAllowedValues(List<?> allowedValues) {
         this.allowedValues = allowedValues;
+        this.allowedValuesConstraint = ValueConstraint.ofValues( allowedValues );
+    }
+
+    /**
+     * Returns true if the given value is one of the allowed values of this type, or if the
+     * type does not restrict its values. Numbers are compared as FEEL numbers.
+     */
+    public boolean isAllowed(Object value) {
+        return allowedValuesConstraint == null || allowedValuesConstraint.accepts( EvalHelper.coerceNumber( value ) );
     }
 
     @Override
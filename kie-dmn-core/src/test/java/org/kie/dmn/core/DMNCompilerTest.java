@@ -16,21 +16,41 @@
 
 package org.kie.dmn.core;
 
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 import org.kie.api.KieServices;
 import org.kie.api.runtime.KieContainer;
 import org.kie.dmn.core.api.*;
+import org.kie.dmn.core.ast.DecisionNode;
+import org.kie.dmn.core.ast.InputDataNode;
 import org.kie.dmn.core.ast.ItemDefNode;
+import org.kie.dmn.core.compiler.DMNCompilerImpl;
 import org.kie.dmn.core.impl.CompositeTypeImpl;
 import org.kie.dmn.core.impl.FeelTypeImpl;
+import org.kie.dmn.feel.model.v1_1.Decision;
+import org.kie.dmn.feel.model.v1_1.Definitions;
+import org.kie.dmn.feel.model.v1_1.InputData;
 import org.kie.dmn.feel.lang.types.BuiltInType;
 
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.stream.Collectors;
+
 import static org.hamcrest.CoreMatchers.*;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertThat;
 
 public class DMNCompilerTest {
 
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
     protected DMNRuntime createRuntime( String resourceName ) {
         KieServices ks = KieServices.Factory.get();
         KieContainer kieContainer = KieHelper.getKieContainer(
@@ -107,5 +127,90 @@ public class DMNCompilerTest {
         assertThat( ((FeelTypeImpl)termMonths).getFeelType(), is( BuiltInType.NUMBER ) );
     }
 
+    @Test
+    public void testIncrementalCompilation() throws Exception {
+        DMNCompiler compiler = DMNFactory.newCompiler();
+        String source = readResource( "0008-LX-arithmetic.dmn" );
+        DMNModel previous = compiler.compile( new StringReader( source ) );
+        assertThat( previous, notNullValue() );
+
+        DMNModel unchanged = compiler.compile( new StringReader( source ), previous );
+        assertThat( unchanged.getDecisionByName( "payment" ).getEvaluator(), is( sameInstance( previous.getDecisionByName( "payment" ).getEvaluator() ) ) );
+        assertThat( unchanged.getInputByName( "loan" ).getDmnType(), is( sameInstance( previous.getInputByName( "loan" ).getDmnType() ) ) );
+        assertThat( unchanged.getItemDefinitionByName( "tLoan" ).getType(), is( sameInstance( previous.getItemDefinitionByName( "tLoan" ).getType() ) ) );
+
+        DMNModel changed = compiler.compile( new StringReader( source.replace( "loan.principal*loan.rate/12", "loan.principal*loan.rate/24" ) ), unchanged );
+        assertThat( changed.getDecisionByName( "payment" ).getEvaluator(), is( not( sameInstance( unchanged.getDecisionByName( "payment" ).getEvaluator() ) ) ) );
+        assertThat( changed.getInputByName( "loan" ).getDmnType(), is( sameInstance( unchanged.getInputByName( "loan" ).getDmnType() ) ) );
+        assertThat( changed.getDecisionByName( "payment" ).getDependencies().get( "loan" ), is( sameInstance( changed.getInputByName( "loan" ) ) ) );
+
+        DMNModel retyped = compiler.compile( new StringReader( source.replace( "name=\"termMonths\"", "name=\"months\"" ) ), changed );
+        assertThat( retyped.getItemDefinitionByName( "tLoan" ).getType(), is( not( sameInstance( changed.getItemDefinitionByName( "tLoan" ).getType() ) ) ) );
+        assertThat( retyped.getInputByName( "loan" ).getDmnType(), is( not( sameInstance( changed.getInputByName( "loan" ).getDmnType() ) ) ) );
+        assertThat( retyped.getDecisionByName( "payment" ).getEvaluator(), is( not( sameInstance( changed.getDecisionByName( "payment" ).getEvaluator() ) ) ) );
+    }
+
+    @Test
+    public void testIncrementalCompilationLeavesPreviousModelUnchanged() throws Exception {
+        DMNCompilerImpl compiler = new DMNCompilerImpl();
+        String source = readResource( "0008-LX-arithmetic.dmn" );
+        DMNModel previous = compiler.compile( new StringReader( source ) );
+        Definitions definitions = previous.getDefinitions();
+        DecisionNode payment = previous.getDecisionByName( "payment" );
+        InputDataNode loan = previous.getInputByName( "loan" );
+        Decision decision = payment.getDecision();
+        InputData inputData = loan.getInputData();
+
+        compiler.setRetainDefinitions( false );
+        DMNModel recompiled = compiler.compile( new StringReader( source ), previous );
+        assertThat( recompiled.getDecisionByName( "payment" ), is( not( sameInstance( payment ) ) ) );
+        assertThat( recompiled.getInputByName( "loan" ), is( not( sameInstance( loan ) ) ) );
+        assertThat( recompiled.getDecisionByName( "payment" ).getDecision(), is( nullValue() ) );
+
+        assertThat( previous.getDefinitions(), is( sameInstance( definitions ) ) );
+        assertThat( previous.getDecisionByName( "payment" ), is( sameInstance( payment ) ) );
+        assertThat( payment.getDecision(), is( sameInstance( decision ) ) );
+        assertThat( loan.getInputData(), is( sameInstance( inputData ) ) );
+        assertThat( payment.getDependencies().get( "loan" ), is( sameInstance( loan ) ) );
+    }
+
+    private String readResource(String name) throws IOException {
+        try ( BufferedReader reader = new BufferedReader( new InputStreamReader( getClass().getResourceAsStream( name ) ) ) ) {
+            return reader.lines().collect( Collectors.joining( "\n" ) );
+        }
+    }
+
+    @Test
+    public void testCompileWithoutRetainingDefinitions() {
+        DMNCompilerImpl compiler = new DMNCompilerImpl();
+        compiler.setRetainDefinitions( false );
+        DMNModel dmnModel = compiler.compile( new InputStreamReader( getClass().getResourceAsStream( "0001-input-data-string.dmn" ) ) );
+        assertThat( dmnModel, notNullValue() );
+        assertThat( dmnModel.getDefinitions(), is( nullValue() ) );
+        assertThat( dmnModel.getNamespace(), is( "https://github.com/droolsjbpm/kie-dmn" ) );
+
+        DecisionNode decision = dmnModel.getDecisionByName( "Greeting Message" );
+        assertThat( decision.getId(), is( "d_GreetingMessage" ) );
+        assertThat( decision.getDecision(), is( nullValue() ) );
+        assertThat( decision.getVariableName(), is( "Greeting Message" ) );
+        assertThat( dmnModel.getInputByName( "Full Name" ), notNullValue() );
+    }
+
+    @Test
+    public void testDroppedDefinitionsAreReloadedUnlessChanged() throws IOException {
+        String source = readResource( "0001-input-data-string.dmn" );
+        File file = temporaryFolder.newFile( "0001-input-data-string.dmn" );
+        Files.write( file.toPath(), source.getBytes( StandardCharsets.UTF_8 ) );
+        DMNCompilerImpl compiler = new DMNCompilerImpl();
+        compiler.setRetainDefinitions( false );
+
+        DMNModel dmnModel = compiler.compile( KieServices.Factory.get().getResources().newFileSystemResource( file ) );
+        assertThat( dmnModel.getDefinitions(), notNullValue() );
+        assertThat( dmnModel.getDefinitions(), is( sameInstance( dmnModel.getDefinitions() ) ) );
+
+        DMNModel changedModel = compiler.compile( KieServices.Factory.get().getResources().newFileSystemResource( file ) );
+        Files.write( file.toPath(), source.replace( "Hello", "Goodbye" ).getBytes( StandardCharsets.UTF_8 ) );
+        assertThat( changedModel.getDefinitions(), is( nullValue() ) );
+    }
 
 }
@@ -17,24 +17,37 @@
 package org.kie.dmn.core;
 
 import org.junit.Ignore;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 import org.kie.api.KieServices;
 import org.kie.api.runtime.KieContainer;
 import org.kie.dmn.core.api.*;
 import org.kie.dmn.core.api.event.*;
 import org.kie.dmn.core.ast.InputDataNode;
+import org.kie.dmn.core.compiler.DMNCompilerImpl;
 import org.mockito.ArgumentCaptor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
 
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.Matchers.hasEntry;
 import static org.hamcrest.CoreMatchers.notNullValue;
 import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertThat;
 import static org.junit.Assert.assertTrue;
@@ -45,6 +58,9 @@ import static org.mockito.internal.verification.VerificationModeFactory.times;
 
 public class DMNRuntimeTest {
 
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
     protected DMNRuntime createRuntime( String resourceName ) {
         KieServices ks = KieServices.Factory.get();
         KieContainer kieContainer = KieHelper.getKieContainer(
@@ -56,6 +72,219 @@ public class DMNRuntimeTest {
         return runtime;
     }
 
+    @Test
+    public void testSimpleEvaluateAllAsync() throws Exception {
+        DMNRuntime runtime = createRuntime( "0001-input-data-string.dmn" );
+        DMNModel dmnModel = runtime.getModel( "https://github.com/droolsjbpm/kie-dmn", "0001-input-data-string" );
+        assertThat( dmnModel, notNullValue() );
+
+        DMNContext context = DMNFactory.newContext();
+        context.set( "Full Name", "John Doe" );
+
+        DMNResult dmnResult = runtime.evaluateAllAsync( dmnModel, context, Runnable::run ).get();
+
+        assertThat( dmnResult.getDecisionResultByName( "Greeting Message" ).getResult(), is( "Hello John Doe" ) );
+    }
+
+    @Test
+    public void testStandaloneRuntime() {
+        DMNModel dmnModel = DMNFactory.newCompiler().compile( new InputStreamReader( getClass().getResourceAsStream( "0001-input-data-string.dmn" ) ) );
+        DMNRuntime runtime = DMNFactory.newRuntime( dmnModel );
+        assertThat( runtime.getModels().size(), is( 1 ) );
+        assertThat( runtime.getModel( "https://github.com/droolsjbpm/kie-dmn", "0001-input-data-string" ), is( dmnModel ) );
+        assertThat( runtime.getModel( "https://github.com/droolsjbpm/kie-dmn", "unknown" ), is( nullValue() ) );
+
+        DMNContext context = DMNFactory.newContext();
+        context.set( "Full Name", "John Doe" );
+
+        DMNResult dmnResult = runtime.evaluateAll( dmnModel, context );
+
+        assertThat( dmnResult.getDecisionResultByName( "Greeting Message" ).getResult(), is( "Hello John Doe" ) );
+    }
+
+    @Test
+    public void testImportedRules() throws Exception {
+        DMNCompilerImpl compiler = new DMNCompilerImpl();
+        checkPostcodeRisk( compiler.compile( new InputStreamReader( getClass().getResourceAsStream( "Postcode_risk.dmn" ) ) ) );
+        // the same rules, read from a rule store
+        compiler.setRuleStoreDirectory( temporaryFolder.newFolder( "rules" ).toPath() );
+        checkPostcodeRisk( compiler.compile( new InputStreamReader( getClass().getResourceAsStream( "Postcode_risk.dmn" ) ) ) );
+    }
+
+    @Test
+    public void testImportedRulesNextToTheModel() throws Exception {
+        // the location of the rules is relative to the model file
+        File model = writePostcodeRiskModel( "postcode_risk.csv" );
+        try ( InputStream csv = getClass().getResourceAsStream( "postcode_risk.csv" ) ) {
+            Files.copy( csv, model.toPath().resolveSibling( "postcode_risk.csv" ) );
+        }
+        DMNCompilerImpl compiler = new DMNCompilerImpl();
+        checkPostcodeRisk( compiler.compile( KieServices.Factory.get().getResources().newFileSystemResource( model ) ) );
+    }
+
+    @Test
+    public void testMissingImportedRulesReportedOnce() throws Exception {
+        File model = writePostcodeRiskModel( "missing.csv" );
+        DMNCompilerImpl compiler = new DMNCompilerImpl();
+        compiler.setRuleStoreDirectory( temporaryFolder.newFolder( "rules" ).toPath() );
+        DMNModel dmnModel = compiler.compile( KieServices.Factory.get().getResources().newFileSystemResource( model ) );
+        assertThat( dmnModel.getMessages().size(), is( 1 ) );
+        assertThat( dmnModel.getMessages().get( 0 ).getSeverity(), is( DMNMessage.Severity.ERROR ) );
+    }
+
+    @Test
+    public void testMalformedImportedRulesNotPartiallyImported() throws Exception {
+        File model = writePostcodeRiskModel( "postcode_risk.csv" );
+        String rules = "Postcode,Age,Risk factor\n\"\"\"AB1\"\"\",< 25,1.5\n\"\"\"CD2\"\"\",0.8\n-,-,1\n";
+        Files.write( model.toPath().resolveSibling( "postcode_risk.csv" ), rules.getBytes( StandardCharsets.UTF_8 ) );
+        DMNCompilerImpl compiler = new DMNCompilerImpl();
+        for ( int i = 0; i < 2; i++ ) {
+            DMNModel dmnModel = compiler.compile( KieServices.Factory.get().getResources().newFileSystemResource( model ) );
+            assertThat( dmnModel.getMessages().size(), is( 1 ) );
+            assertThat( dmnModel.getMessages().get( 0 ).getSeverity(), is( DMNMessage.Severity.ERROR ) );
+            // no table is built from the rule read before the record with the wrong number of cells
+            assertThat( dmnModel.getDecisionByName( "Risk factor" ).getEvaluator(), is( nullValue() ) );
+            // the same through a rule store
+            compiler.setRuleStoreDirectory( temporaryFolder.newFolder( "rules" + i ).toPath() );
+        }
+    }
+
+    private File writePostcodeRiskModel(String locationURI) throws IOException {
+        String source;
+        try ( BufferedReader reader = new BufferedReader( new InputStreamReader( getClass().getResourceAsStream( "Postcode_risk.dmn" ), StandardCharsets.UTF_8 ) ) ) {
+            source = reader.lines().collect( Collectors.joining( "\n" ) );
+        }
+        File model = new File( temporaryFolder.newFolder( "model" ), "Postcode_risk.dmn" );
+        Files.write( model.toPath(), source.replace( "org/kie/dmn/core/postcode_risk.csv", locationURI ).getBytes( StandardCharsets.UTF_8 ) );
+        return model;
+    }
+
+    private void checkPostcodeRisk(DMNModel dmnModel) {
+        assertThat( dmnModel.hasErrors(), is( false ) );
+        DMNRuntime runtime = DMNFactory.newRuntime( dmnModel );
+
+        assertThat( riskFactor( runtime, dmnModel, "ZZ9", 30 ), is( new BigDecimal( "5" ) ) );
+        assertThat( riskFactor( runtime, dmnModel, "AB1", 20 ), is( new BigDecimal( "1.5" ) ) );
+        assertThat( riskFactor( runtime, dmnModel, "AB1", 40 ), is( new BigDecimal( "1.2" ) ) );
+        assertThat( riskFactor( runtime, dmnModel, "CD2", 40 ), is( new BigDecimal( "0.8" ) ) );
+        assertThat( riskFactor( runtime, dmnModel, "EF3", 40 ), is( new BigDecimal( "1" ) ) );
+    }
+
+    private Object riskFactor(DMNRuntime runtime, DMNModel dmnModel, String postcode, int age) {
+        DMNContext context = DMNFactory.newContext();
+        context.set( "Postcode", postcode );
+        context.set( "Age", new BigDecimal( age ) );
+        DMNResult dmnResult = runtime.evaluateAll( dmnModel, context );
+        assertThat( dmnResult.hasErrors(), is( false ) );
+        return dmnResult.getContext().get( "Risk factor" );
+    }
+
+    @Test
+    public void testModelHotSwap() {
+        DMNCompiler compiler = DMNFactory.newCompiler();
+        DMNModel v1 = compiler.compile( new InputStreamReader( getClass().getResourceAsStream( "0001-input-data-string.dmn" ) ) );
+        DMNModel v2 = compiler.compile( new InputStreamReader( getClass().getResourceAsStream( "0001-input-data-string.dmn" ) ) );
+        DMNModelRegistry registry = DMNFactory.newModelRegistry();
+        DMNRuntime runtime = DMNFactory.newRuntime( registry );
+        String namespace = "https://github.com/droolsjbpm/kie-dmn";
+
+        assertThat( registry.deploy( v1, "1.0" ), is( nullValue() ) );
+        DMNModel inFlight = runtime.getModel( namespace, "0001-input-data-string" );
+        assertThat( inFlight, is( v1 ) );
+
+        assertThat( registry.deploy( v2, "1.1" ), is( v1 ) );
+        assertThat( runtime.getModel( namespace, "0001-input-data-string" ), is( v2 ) );
+        assertThat( registry.getVersion( namespace, "0001-input-data-string" ), is( "1.1" ) );
+        DMNModelRegistry.VersionedModel deployed = registry.getVersionedModel( namespace, "0001-input-data-string" );
+        assertThat( deployed.getModel(), is( v2 ) );
+        assertThat( deployed.getVersion(), is( "1.1" ) );
+        assertThat( registry.getVersionedModel( namespace, "unknown" ), is( nullValue() ) );
+        assertThat( runtime.getModels().size(), is( 1 ) );
+
+        DMNContext context = DMNFactory.newContext();
+        context.set( "Full Name", "John Doe" );
+        DMNResult dmnResult = runtime.evaluateAll( inFlight, context );
+        assertThat( dmnResult.getDecisionResultByName( "Greeting Message" ).getResult(), is( "Hello John Doe" ) );
+
+        assertThat( registry.undeploy( namespace, "0001-input-data-string" ), is( v2 ) );
+        assertThat( runtime.getModels().isEmpty(), is( true ) );
+    }
+
+    @Test
+    public void testRevisionNumbersPerModel() {
+        DMNCompiler compiler = DMNFactory.newCompiler();
+        DMNModel greeting = compiler.compile( new InputStreamReader( getClass().getResourceAsStream( "0001-input-data-string.dmn" ) ) );
+        DMNModel arithmetic = compiler.compile( new InputStreamReader( getClass().getResourceAsStream( "0008-LX-arithmetic.dmn" ) ) );
+        DMNModelRegistry registry = DMNFactory.newModelRegistry();
+
+        registry.deploy( greeting );
+        assertThat( registry.getVersion( greeting.getNamespace(), greeting.getName() ), is( "1" ) );
+        registry.deploy( greeting );
+        assertThat( registry.getVersion( greeting.getNamespace(), greeting.getName() ), is( "2" ) );
+        // each model has its own revisions
+        registry.deploy( arithmetic );
+        assertThat( registry.getVersion( arithmetic.getNamespace(), arithmetic.getName() ), is( "1" ) );
+        // and they are not reused after an undeploy
+        registry.undeploy( greeting.getNamespace(), greeting.getName() );
+        registry.deploy( greeting );
+        assertThat( registry.getVersion( greeting.getNamespace(), greeting.getName() ), is( "3" ) );
+    }
+
+    @Test
+    public void testCancelledAsyncEvaluationIsNotRun() {
+        DMNRuntime runtime = createRuntime( "0001-input-data-string.dmn" );
+        DMNModel dmnModel = runtime.getModel( "https://github.com/droolsjbpm/kie-dmn", "0001-input-data-string" );
+
+        DMNContext context = DMNFactory.newContext();
+        context.set( "Full Name", "John Doe" );
+
+        List<Runnable> pending = new ArrayList<>();
+        CompletableFuture<DMNResult> future = runtime.evaluateAllAsync( dmnModel, context, pending::add );
+        assertTrue( future.cancel( true ) );
+        pending.forEach( Runnable::run );
+
+        assertTrue( future.isCancelled() );
+    }
+
+    @Test
+    public void testEvaluationStream() {
+        DMNModel dmnModel = DMNFactory.newCompiler().compile( new InputStreamReader( getClass().getResourceAsStream( "0001-input-data-string.dmn" ) ) );
+        DMNRuntime runtime = DMNFactory.newRuntime( dmnModel );
+        List<Runnable> pending = new ArrayList<>();
+        runtime.setAsyncExecutor( pending::add );
+
+        List<Object> greetings = new ArrayList<>();
+        DMNEvaluationStream stream = runtime.openEvaluationStream( dmnModel, r -> greetings.add( r.getDecisionResultByName( "Greeting Message" ).getResult() ), 2, 3, true );
+        assertTrue( stream.trySubmit( fullNameContext( "A" ) ) );
+        assertTrue( stream.trySubmit( fullNameContext( "B" ) ) );
+        assertTrue( stream.trySubmit( fullNameContext( "C" ) ) );
+        // three contexts in flight, two of them being evaluated
+        assertFalse( stream.trySubmit( fullNameContext( "D" ) ) );
+        assertThat( pending.size(), is( 2 ) );
+
+        // the second result waits for the first one
+        pending.get( 1 ).run();
+        assertTrue( greetings.isEmpty() );
+        pending.get( 0 ).run();
+        assertThat( greetings, is( Arrays.<Object>asList( "Hello A", "Hello B" ) ) );
+        assertThat( pending.size(), is( 3 ) );
+
+        assertTrue( stream.trySubmit( fullNameContext( "D" ) ) );
+        CompletableFuture<Void> done = stream.complete();
+        pending.get( 3 ).run();
+        assertFalse( done.isDone() );
+        pending.get( 2 ).run();
+
+        assertTrue( done.isDone() );
+        assertThat( greetings, is( Arrays.<Object>asList( "Hello A", "Hello B", "Hello C", "Hello D" ) ) );
+    }
+
+    private static DMNContext fullNameContext(String fullName) {
+        DMNContext context = DMNFactory.newContext();
+        context.set( "Full Name", fullName );
+        return context;
+    }
+
     @Test
     public void testSimpleEvaluateAll() {
         DMNRuntime runtime = createRuntime( "0001-input-data-string.dmn" );
@@ -169,6 +398,21 @@ public class DMNRuntimeTest {
         assertThat( result.get( "Employment Status Statement" ), is( "You are SELF-EMPLOYED" ) );
     }
 
+    @Test
+    public void testInputNotInAllowedValues() {
+        DMNRuntime runtime = createRuntime( "0003-input-data-string-allowed-values.dmn" );
+        DMNModel dmnModel = runtime.getModel( "https://github.com/droolsjbpm/kie-dmn", "0003-input-data-string-allowed-values" );
+        assertThat( dmnModel, notNullValue() );
+
+        DMNContext context = DMNFactory.newContext();
+        context.set( "Employment Status", "RETIRED" );
+
+        DMNResult dmnResult = runtime.evaluateAll( dmnModel, context );
+
+        assertThat( dmnResult.hasErrors(), is( true ) );
+        assertThat( dmnResult.getMessages().get( 0 ).getSourceId(), is( "i_EmploymentStatus" ) );
+    }
+
     @Test
     public void testCompositeItemDefinition() {
         DMNRuntime runtime = createRuntime( "0008-LX-arithmetic.dmn" );
@@ -189,6 +433,46 @@ public class DMNRuntimeTest {
         assertThat( result.get( "payment" ), is( new BigDecimal( "2778.693549432766720839844710324306" ) ) );
     }
 
+    @Test
+    public void testBusinessKnowledgeModelInvocation() {
+        DMNRuntime runtime = createRuntime( "BKM_payment.dmn" );
+        DMNModel dmnModel = runtime.getModel( "https://github.com/droolsjbpm/kie-dmn", "BKM_payment" );
+        assertThat( dmnModel, notNullValue() );
+        assertThat( dmnModel.getMessages().isEmpty(), is( true ) );
+        assertThat( dmnModel.getBusinessKnowledgeModelByName( "PMT" ).getFunction(), notNullValue() );
+
+        DMNContext context = DMNFactory.newContext();
+        context.set( "principal", 600000 );
+        context.set( "rate", 0.0375 );
+        context.set( "termMonths", 360 );
+
+        DMNResult dmnResult = runtime.evaluateAll( dmnModel, context );
+
+        DMNContext result = dmnResult.getContext();
+
+        assertThat( result.get( "payment" ), is( new BigDecimal( "2778.693549432766720839844710324306" ) ) );
+        assertThat( ((BigDecimal) result.get( "totalPayment" )).setScale( 2, RoundingMode.HALF_UP ), is( new BigDecimal( "1000329.68" ) ) );
+    }
+
+    @Test
+    public void testMemoizedBusinessKnowledgeModels() {
+        DMNRuntime runtime = createRuntime( "BKM_memoized.dmn" );
+        DMNModel dmnModel = runtime.getModel( "https://github.com/droolsjbpm/kie-dmn", "BKM memoized" );
+        assertThat( dmnModel, notNullValue() );
+        assertThat( dmnModel.getBusinessKnowledgeModelByName( "Discount" ).getFunction().isMemoized(), is( true ) );
+        // the input entry "< today()" does not always test the same
+        assertThat( dmnModel.getBusinessKnowledgeModelByName( "Expired" ).getFunction().isMemoized(), is( false ) );
+        assertTrue( dmnModel.getMessages( DMNMessage.Severity.WARN ).stream().anyMatch( m -> m.getSourceId().equals( "expired" ) && m.getMessage().contains( "not memoized" ) ) );
+
+        DMNContext context = DMNFactory.newContext();
+        context.set( "Price", 100 );
+        runtime.evaluateAll( dmnModel, context );
+        DMNResult dmnResult = runtime.evaluateAll( dmnModel, context );
+
+        assertThat( ((BigDecimal) dmnResult.getContext().get( "Discounted price" )).compareTo( new BigDecimal( 90 ) ), is( 0 ) );
+        assertThat( dmnModel.getBusinessKnowledgeModelByName( "Discount" ).getFunction().getMemoizedResultCount(), is( 1 ) );
+    }
+
     @Test
     public void testSimpleDTUnique() {
         DMNRuntime runtime = createRuntime( "0004-simpletable-U.dmn" );
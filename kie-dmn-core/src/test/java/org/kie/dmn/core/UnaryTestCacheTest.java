@@ -0,0 +1,76 @@
+/*
+ * Copyright 2016 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.dmn.core;
+
+import org.junit.Test;
+import org.kie.dmn.core.compiler.UnaryTestCache;
+import org.kie.dmn.feel.runtime.UnaryTest;
+import org.kie.dmn.feel.runtime.decisiontables.DTUnaryTests;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.assertThat;
+
+public class UnaryTestCacheTest {
+
+    @Test
+    public void testSameTextIsCompiledOnce() {
+        UnaryTestCache cache = new UnaryTestCache( 10 );
+        int[] compilations = new int[1];
+        List<UnaryTest> first = cache.getUnaryTests( "\"Gold\"", t -> { compilations[0]++; return Arrays.asList( DTUnaryTests.equalTo( "Gold" ) ); } );
+        List<UnaryTest> second = cache.getUnaryTests( " \"Gold\" ", t -> { compilations[0]++; return Arrays.asList( DTUnaryTests.equalTo( "Gold" ) ); } );
+
+        assertThat( second, is( sameInstance( first ) ) );
+        assertThat( compilations[0], is( 1 ) );
+    }
+
+    @Test
+    public void testEqualTestsAreShared() {
+        UnaryTestCache cache = new UnaryTestCache( 10 );
+        UnaryTest first = cache.intern( DTUnaryTests.compare( DTUnaryTests.Comparison.LT, 18 ) );
+        UnaryTest second = cache.intern( DTUnaryTests.compare( DTUnaryTests.Comparison.LT, 18 ) );
+
+        assertThat( second, is( sameInstance( first ) ) );
+        assertThat( cache.getRequests(), is( 2L ) );
+        assertThat( cache.getHits(), is( 1L ) );
+        assertThat( cache.getDeduplicationRatio(), is( 0.5 ) );
+    }
+
+    @Test
+    public void testLambdasAreNotShared() {
+        UnaryTestCache cache = new UnaryTestCache( 10 );
+        UnaryTest lambda = o -> true;
+
+        assertThat( cache.intern( lambda ), is( sameInstance( lambda ) ) );
+        assertThat( cache.size(), is( 0 ) );
+    }
+
+    @Test
+    public void testCacheEvictsLeastRecentlyUsed() {
+        UnaryTestCache cache = new UnaryTestCache( 2 );
+        String gold = cache.intern( "\"Gold\"" );
+        String silver = cache.intern( "\"Silver\"" );
+        cache.intern( new String( "\"Gold\"" ) );
+        cache.intern( "\"Bronze\"" );
+
+        assertThat( cache.size(), is( 2 ) );
+        assertThat( cache.intern( new String( "\"Gold\"" ) ), is( sameInstance( gold ) ) );
+        assertThat( cache.intern( new String( "\"Silver\"" ) ), is( not( sameInstance( silver ) ) ) );
+    }
+}
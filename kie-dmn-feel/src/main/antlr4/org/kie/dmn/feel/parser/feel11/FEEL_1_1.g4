@@ -13,6 +13,29 @@ grammar FEEL_1_1;
     import org.kie.dmn.feel.parser.feel11.Keywords;
 }
 
+@lexer::header {
+    import org.kie.dmn.feel.lang.ast.SourceBuffer;
+}
+
+@lexer::members {
+    // the source shared by the nodes of a parse, copied from the input when it is not a
+    // SourceCharStream, which carries its own
+    private SourceBuffer sourceBuffer;
+    private CharStream   sourceBufferInput;
+
+    public SourceBuffer getSourceBuffer() {
+        CharStream input = getInputStream();
+        if ( input instanceof SourceCharStream ) {
+            return ((SourceCharStream) input).getSourceBuffer();
+        }
+        if ( input != sourceBufferInput ) {
+            sourceBuffer = input != null ? new SourceBuffer( input.getText( new Interval( 0, input.size() - 1 ) ) ) : null;
+            sourceBufferInput = input;
+        }
+        return sourceBuffer;
+    }
+}
+
 @parser::members {
     private ParserHelper helper = new ParserHelper();
 
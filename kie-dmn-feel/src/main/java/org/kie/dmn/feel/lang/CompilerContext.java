@@ -28,4 +28,12 @@ public interface CompilerContext {
 
     Map<String, Object> getInputVariables();
 
+    /**
+     * Sets whether the compiled expression keeps its source text. When it does not, the text of the
+     * AST nodes is no longer available, which saves memory on large models. Defaults to true.
+     */
+    CompilerContext setRetainSource( boolean retainSource );
+
+    boolean isRetainSource();
+
 }
@@ -16,103 +16,97 @@
 
 package org.kie.dmn.feel.lang.ast;
 
+import org.antlr.v4.runtime.CharStream;
 import org.antlr.v4.runtime.ParserRuleContext;
+import org.antlr.v4.runtime.TokenSource;
 import org.antlr.v4.runtime.misc.Interval;
 import org.kie.dmn.feel.lang.EvaluationContext;
 import org.kie.dmn.feel.lang.Type;
-import org.kie.dmn.feel.lang.impl.EvaluationContextImpl;
 import org.kie.dmn.feel.lang.types.BuiltInType;
+import org.kie.dmn.feel.parser.feel11.FEEL_1_1Lexer;
+import org.kie.dmn.feel.parser.feel11.SourceCharStream;
 
 public class BaseNode
         implements ASTNode {
-    private int startChar;
-    private int endChar;
-    private int startLine;
-    private int startColumn;
-    private int endLine;
-    private int endColumn;
-
-    private String text;
+    // start and end char offsets, packed in a single long: nodes are created by the
+    // thousands for large models, so they keep no other position or text of their own
+    private long         position;
+    private SourceBuffer source;
 
     public BaseNode() {
     }
 
     public BaseNode( ParserRuleContext ctx ) {
-        this.setStartChar( ctx.getStart().getStartIndex() );
-        this.setStartLine( ctx.getStart().getLine() );
-        this.setStartColumn( ctx.getStart().getCharPositionInLine() );
-        this.setEndChar( ctx.getStop().getStopIndex() );
-        this.setEndLine( ctx.getStop().getLine() );
-        this.setEndColumn( ctx.getStop().getCharPositionInLine() + ctx.getStop().getText().length() );
-        this.setText( getOriginalText( ctx ) );
+        this.position = pack( ctx.getStart().getStartIndex(), ctx.getStop().getStopIndex() );
+        this.source = getSourceBuffer( ctx );
+    }
+
+    private static long pack(int startChar, int endChar) {
+        return ((long) startChar << 32) | (endChar & 0xFFFFFFFFL);
     }
 
     @Override
     public int getStartChar() {
-        return startChar;
+        return (int) (position >> 32);
     }
 
     public void setStartChar(int startChar) {
-        this.startChar = startChar;
+        this.position = pack( startChar, getEndChar() );
     }
 
     @Override
     public int getEndChar() {
-        return endChar;
+        return (int) position;
     }
 
     public void setEndChar(int endChar) {
-        this.endChar = endChar;
+        this.position = pack( getStartChar(), endChar );
     }
 
     @Override
     public int getStartLine() {
-        return startLine;
-    }
-
-    public void setStartLine(int startLine) {
-        this.startLine = startLine;
+        return source != null ? source.getLine( getStartChar() ) : 0;
     }
 
     @Override
     public int getStartColumn() {
-        return startColumn;
-    }
-
-    public void setStartColumn(int startColumn) {
-        this.startColumn = startColumn;
+        return source != null ? source.getColumn( getStartChar() ) : 0;
     }
 
     @Override
     public int getEndLine() {
-        return endLine;
-    }
-
-    public void setEndLine(int endLine) {
-        this.endLine = endLine;
+        return source != null ? source.getLine( getEndChar() ) : 0;
     }
 
     @Override
     public int getEndColumn() {
-        return endColumn;
-    }
-
-    public void setEndColumn(int endColumn) {
-        this.endColumn = endColumn;
+        return source != null ? source.getColumn( getEndChar() ) + 1 : 0;
     }
 
+    /**
+     * Returns the text of this node, sliced from the source of the expression, or
+     * null if the source was not retained
+     */
     @Override
     public String getText() {
-        return text;
+        return source != null ? source.getText( getStartChar(), getEndChar() ) : null;
     }
 
+    /**
+     * Replaces the source of this node with the given text, which then spans the whole node
+     */
     public void setText(String text) {
-        this.text = text;
+        this.source = text != null ? new SourceBuffer( text ) : null;
+        this.position = pack( 0, text != null ? text.length() - 1 : -1 );
+    }
+
+    public SourceBuffer getSource() {
+        return source;
     }
 
     @Override
     public String toString() {
-        return getClass().getSimpleName()+"{" + text + "}";
+        return getClass().getSimpleName()+"{" + getText() + "}";
     }
 
     @Override
@@ -125,11 +119,17 @@ public class BaseNode
         return null;
     }
 
-    private String getOriginalText( ParserRuleContext ctx ) {
-        int a = ctx.start.getStartIndex();
-        int b = ctx.stop.getStopIndex();
-        Interval interval = new Interval(a,b);
-        return ctx.getStart().getInputStream().getText(interval);
+    private static SourceBuffer getSourceBuffer( ParserRuleContext ctx ) {
+        // the lexer of the parse keeps the source shared by all its nodes
+        TokenSource tokenSource = ctx.getStart().getTokenSource();
+        if ( tokenSource instanceof FEEL_1_1Lexer ) {
+            return ((FEEL_1_1Lexer) tokenSource).getSourceBuffer();
+        }
+        CharStream input = ctx.getStart().getInputStream();
+        if ( input instanceof SourceCharStream ) {
+            return ((SourceCharStream) input).getSourceBuffer();
+        }
+        return input != null ? new SourceBuffer( input.getText( new Interval( 0, input.size() - 1 ) ) ) : null;
     }
 
 }
@@ -19,6 +19,7 @@ package org.kie.dmn.feel.lang.ast;
 import org.antlr.v4.runtime.ParserRuleContext;
 import org.kie.dmn.feel.lang.EvaluationContext;
 import org.kie.dmn.feel.runtime.UnaryTest;
+import org.kie.dmn.feel.runtime.decisiontables.DTUnaryTests;
 
 public class DashNode
         extends BaseNode {
@@ -30,6 +31,6 @@ public class DashNode
     @Override
     public UnaryTest evaluate(EvaluationContext ctx) {
         // a dash is a unary test that always evaluates to true
-        return o -> Boolean.TRUE;
+        return DTUnaryTests.DASH;
     }
 }
@@ -36,14 +36,19 @@ public class FunctionDefNode
 
     private static final Logger logger = LoggerFactory.getLogger( FunctionDefNode.class );
     private static final String ANONYMOUS = "<anonymous>";
-    private final Pattern METHOD_PARSER = Pattern.compile( "(.+)\\((.*)\\)" );
-    private final Pattern PARAMETER_PARSER = Pattern.compile( "([^, ]+)" );
+    private static final Pattern METHOD_PARSER = Pattern.compile( "(.+)\\((.*)\\)" );
+    private static final Pattern PARAMETER_PARSER = Pattern.compile( "([^, ]+)" );
 
 
     private List<NameDefNode> formalParameters;
     private boolean external;
     private BaseNode body;
 
+    // the external function resolved from a body made only of literals, returned by every evaluation
+    private volatile JavaFunction        constantFunction;
+    // the last external function resolved, reused while the body keeps naming the same method
+    private volatile ResolvedJavaFunction lastResolved;
+
     public FunctionDefNode(ParserRuleContext ctx, ListNode formalParameters, boolean external, BaseNode body) {
         super( ctx );
         this.formalParameters = new ArrayList<>(  );
@@ -62,6 +67,7 @@ public class FunctionDefNode
 
     public void setFormalParameters(List<NameDefNode> formalParameters) {
         this.formalParameters = formalParameters;
+        clearResolvedFunction();
     }
 
     public boolean isExternal() {
@@ -70,6 +76,7 @@ public class FunctionDefNode
 
     public void setExternal(boolean external) {
         this.external = external;
+        clearResolvedFunction();
     }
 
     public BaseNode getBody() {
@@ -78,12 +85,21 @@ public class FunctionDefNode
 
     public void setBody(BaseNode body) {
         this.body = body;
+        clearResolvedFunction();
+    }
+
+    private void clearResolvedFunction() {
+        this.constantFunction = null;
+        this.lastResolved = null;
     }
 
     @Override
     public Object evaluate(EvaluationContext ctx) {
-        List<String> params = formalParameters.stream().map( p -> p.evaluate( ctx ) ).collect( Collectors.toList() );
         if( external ) {
+            JavaFunction function = constantFunction;
+            if( function != null ) {
+                return function;
+            }
             try {
                 // creating a simple algorithm to find the method in java
                 // without using any external libraries in this initial implementation
@@ -93,6 +109,10 @@ public class FunctionDefNode
                     // this is a java function
                     String clazzName = (String) java.get( "class" );
                     String methodSignature = (String) java.get( "method signature" );
+                    ResolvedJavaFunction last = lastResolved;
+                    if( last != null && last.clazzName.equals( clazzName ) && last.methodSignature.equals( methodSignature ) ) {
+                        return last.function;
+                    }
                     if( clazzName != null && methodSignature != null ) {
                         // might need to explicitly use a classloader here
                         Class<?> clazz = Class.forName( clazzName );
@@ -102,13 +122,19 @@ public class FunctionDefNode
                                 String methodName = mp[0];
                                 String[] paramTypeNames = parseParams( mp[1] );
                                 int numberOfParams = paramTypeNames.length;
+                                List<String> params = evaluateFormalParameters( ctx );
                                 if( numberOfParams == params.size() ) {
                                     Class[] paramTypes = new Class[ numberOfParams ];
                                     for( int i = 0; i < numberOfParams; i++ ) {
                                         paramTypes[i] = getType( paramTypeNames[i] );
                                     }
                                     Method method = clazz.getMethod( methodName, paramTypes );
-                                    return new JavaFunction( ANONYMOUS, params, clazz, method );
+                                    function = new JavaFunction( ANONYMOUS, params, clazz, method );
+                                    lastResolved = new ResolvedJavaFunction( clazzName, methodSignature, function );
+                                    if( isLiteral( body ) ) {
+                                        constantFunction = function;
+                                    }
+                                    return function;
                                 } else {
                                     logger.error( "Parameter count mismatch on function definition: "+getText() );
                                     return null;
@@ -123,10 +149,32 @@ public class FunctionDefNode
             }
             return null;
         } else {
-            return new CustomFEELFunction( ANONYMOUS, params, body );
+            return new CustomFEELFunction( ANONYMOUS, evaluateFormalParameters( ctx ), body );
         }
     }
 
+    private List<String> evaluateFormalParameters(EvaluationContext ctx) {
+        return formalParameters.stream().map( p -> p.evaluate( ctx ) ).collect( Collectors.toList() );
+    }
+
+    /**
+     * Returns true if the node evaluates to the same value in any context
+     */
+    private static boolean isLiteral(BaseNode node) {
+        if( node instanceof StringNode || node instanceof NumberNode || node instanceof BooleanNode || node instanceof NullNode ) {
+            return true;
+        }
+        if( node instanceof ContextNode ) {
+            for( ContextEntryNode entry : ((ContextNode) node).getEntries() ) {
+                if( !( entry.getName() instanceof NameDefNode || isLiteral( entry.getName() ) ) || !isLiteral( entry.getValue() ) ) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+
     private Class<?> getType(String typeName)
             throws ClassNotFoundException {
         // first check if it is primitive
@@ -190,5 +238,16 @@ public class FunctionDefNode
         return null;
     }
 
+    private static class ResolvedJavaFunction {
+        private final String       clazzName;
+        private final String       methodSignature;
+        private final JavaFunction function;
+
+        private ResolvedJavaFunction(String clazzName, String methodSignature, JavaFunction function) {
+            this.clazzName = clazzName;
+            this.methodSignature = methodSignature;
+            this.function = function;
+        }
+    }
 
 }
@@ -19,6 +19,7 @@ package org.kie.dmn.feel.lang.ast;
 import org.antlr.v4.runtime.ParserRuleContext;
 import org.kie.dmn.feel.lang.EvaluationContext;
 import org.kie.dmn.feel.runtime.Range;
+import org.kie.dmn.feel.util.DecimalMath;
 import org.kie.dmn.feel.util.EvalHelper;
 
 import java.math.BigDecimal;
@@ -110,7 +111,7 @@ public class InfixOpNode
             case SUB:
                 return sub( left, right, ctx);
             case MULT:
-                return math( left, right, ctx, (l, r) -> l.multiply( r, MathContext.DECIMAL128 ) );
+                return math( left, right, ctx, DecimalMath::multiply );
             case DIV:
                 return math( left, right, ctx, (l, r) -> l.divide( r, MathContext.DECIMAL128 ) );
             case POW:
@@ -178,7 +179,7 @@ public class InfixOpNode
         } else if ( left instanceof Duration && right instanceof OffsetTime ) {
             return ((OffsetTime) right).plus( (Duration) left);
         } else {
-            return math( left, right, ctx, (l, r) -> l.add( r, MathContext.DECIMAL128 ) );
+            return math( left, right, ctx, DecimalMath::add );
         }
     }
 
@@ -216,7 +217,7 @@ public class InfixOpNode
         } else if ( left instanceof OffsetTime && right instanceof Duration ) {
             return ((OffsetTime) left).minus( (Duration) left);
         } else {
-            return math( left, right, ctx, (l, r) -> l.subtract( r, MathContext.DECIMAL128 )  );
+            return math( left, right, ctx, DecimalMath::subtract);
         }
     }
 
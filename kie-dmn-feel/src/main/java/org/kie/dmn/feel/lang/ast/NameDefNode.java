@@ -34,15 +34,18 @@ public class NameDefNode
 
     private List<String> parts;
     private String name;
+    private String normalizedText;
 
     public NameDefNode(ParserRuleContext ctx, List<String> parts) {
         super( ctx );
         this.parts = parts;
+        this.normalizedText = EvalHelper.normalizeVariableName( getText() );
     }
 
     public NameDefNode(ParserRuleContext ctx, String name) {
         super( ctx );
         this.name = name;
+        this.normalizedText = EvalHelper.normalizeVariableName( getText() );
     }
 
     public List<String> getParts() {
@@ -63,6 +66,6 @@ public class NameDefNode
 
     @Override
     public String evaluate(EvaluationContext ctx) {
-        return EvalHelper.normalizeVariableName( getText() );
+        return normalizedText;
     }
 }
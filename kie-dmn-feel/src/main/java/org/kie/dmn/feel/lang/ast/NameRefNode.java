@@ -23,12 +23,23 @@ import org.kie.dmn.feel.util.EvalHelper;
 public class NameRefNode
         extends BaseNode {
 
+    // names are looked up on every evaluation, so they are kept independently of the source
+    private final String text;
+    private final String normalizedName;
+
     public NameRefNode(ParserRuleContext ctx) {
         super( ctx );
+        this.text = super.getText();
+        this.normalizedName = EvalHelper.normalizeVariableName( text );
+    }
+
+    @Override
+    public String getText() {
+        return text;
     }
 
     @Override
     public Object evaluate(EvaluationContext ctx) {
-        return ctx.getValue( EvalHelper.normalizeVariableName( getText() ) );
+        return ctx.getValue( normalizedName );
     }
 }
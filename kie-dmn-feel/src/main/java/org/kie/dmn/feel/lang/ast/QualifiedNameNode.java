@@ -31,10 +31,12 @@ public class QualifiedNameNode
     private static final Logger logger = LoggerFactory.getLogger( QualifiedNameNode.class );
 
     private List<NameRefNode> parts;
+    // normalized names of parts[1..n], resolved once instead of on every evaluation
+    private String[] propertyNames;
 
     public QualifiedNameNode(ParserRuleContext ctx, List<NameRefNode> parts) {
         super( ctx );
-        this.parts = parts;
+        setParts( parts );
     }
 
     public List<NameRefNode> getParts() {
@@ -43,6 +45,7 @@ public class QualifiedNameNode
 
     public void setParts(List<NameRefNode> parts) {
         this.parts = parts;
+        this.propertyNames = parts.stream().skip( 1 ).map( p -> EvalHelper.normalizeVariableName( p.getText() ) ).toArray( String[]::new );
     }
 
     public String[] getPartsAsStringArray() {
@@ -54,9 +57,8 @@ public class QualifiedNameNode
         Object current = parts.get( 0 ).evaluate( ctx );
         try {
             if ( current != null ) {
-                for ( int i = 1; i < parts.size(); i++ ) {
-                    String n = parts.get( i ).getText();
-                    current = EvalHelper.getValue( current, EvalHelper.normalizeVariableName( n ) );
+                for ( String n : propertyNames ) {
+                    current = EvalHelper.getValue( current, n );
                 }
                 return current;
             }
@@ -0,0 +1,85 @@
+/*
+ * Copyright 2016 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.dmn.feel.lang.ast;
+
+import java.util.Arrays;
+
+/**
+ * The source text of a FEEL expression, shared by all the nodes of its AST. Each
+ * node only keeps its character range, and slices its text from here on demand.
+ *
+ * The index of the line starts is kept even if the text is released, so that line
+ * and column numbers are still available when the source is not retained.
+ */
+public final class SourceBuffer {
+
+    private String      text;
+    // offset of the first char of each line; line n (1 based) starts at lineStarts[n - 1]
+    private final int[] lineStarts;
+
+    public SourceBuffer(String text) {
+        this.text = text;
+        int[] starts = new int[ 8 ];
+        int lines = 1;
+        for ( int i = 0; i < text.length(); i++ ) {
+            if ( text.charAt( i ) == '\n' ) {
+                if ( lines == starts.length ) {
+                    starts = Arrays.copyOf( starts, lines * 2 );
+                }
+                starts[lines++] = i + 1;
+            }
+        }
+        this.lineStarts = Arrays.copyOf( starts, lines );
+    }
+
+    /**
+     * Returns the text between the given offsets, both inclusive, or null
+     * if the source was released
+     */
+    public String getText(int startChar, int endChar) {
+        if ( text == null || startChar < 0 || endChar < startChar - 1 || endChar >= text.length() ) {
+            return null;
+        }
+        return text.substring( startChar, endChar + 1 );
+    }
+
+    public boolean isRetained() {
+        return text != null;
+    }
+
+    /**
+     * Discards the text, keeping only what is needed to compute line and column numbers
+     */
+    public void release() {
+        this.text = null;
+    }
+
+    /**
+     * Returns the 1 based line of the given offset
+     */
+    public int getLine(int offset) {
+        int index = Arrays.binarySearch( lineStarts, offset );
+        return index >= 0 ? index + 1 : -index - 1;
+    }
+
+    /**
+     * Returns the 0 based position of the given offset within its line
+     */
+    public int getColumn(int offset) {
+        return offset - lineStarts[ getLine( offset ) - 1 ];
+    }
+}
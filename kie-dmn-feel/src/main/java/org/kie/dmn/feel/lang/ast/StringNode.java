@@ -23,12 +23,16 @@ import org.kie.dmn.feel.util.EvalHelper;
 public class StringNode
         extends BaseNode {
 
+    // unescaped when parsed, so that it does not depend on the source being retained
+    private final String value;
+
     public StringNode(ParserRuleContext ctx) {
         super( ctx );
+        this.value = EvalHelper.unescapeString( getText() );
     }
 
     @Override
     public Object evaluate(EvaluationContext ctx) {
-        return EvalHelper.unescapeString( getText() );
+        return value;
     }
 }
@@ -24,12 +24,15 @@ import org.kie.dmn.feel.lang.types.BuiltInType;
 public class TypeNode
         extends BaseNode {
 
+    private final Type type;
+
     public TypeNode(ParserRuleContext ctx) {
         super( ctx );
+        this.type = BuiltInType.determineTypeFromName( getText() );
     }
 
     @Override
     public Type evaluate(EvaluationContext ctx) {
-        return BuiltInType.determineTypeFromName( getText() );
+        return type;
     }
 }
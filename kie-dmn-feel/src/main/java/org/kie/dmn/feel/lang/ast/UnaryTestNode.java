@@ -20,6 +20,7 @@ import org.antlr.v4.runtime.ParserRuleContext;
 import org.kie.dmn.feel.lang.EvaluationContext;
 import org.kie.dmn.feel.runtime.Range;
 import org.kie.dmn.feel.runtime.UnaryTest;
+import org.kie.dmn.feel.runtime.decisiontables.DTUnaryTests;
 
 import java.util.List;
 
@@ -81,17 +82,12 @@ public class UnaryTestNode
         Object val = value.evaluate( ctx );
         switch ( operator ) {
             case LTE:
-                return o -> o == null || val == null ? null : ((Comparable) o).compareTo( val ) <= 0;
             case LT:
-                return o -> o == null || val == null ? null : ((Comparable) o).compareTo( val ) < 0;
             case GT:
-                return o -> o == null || val == null ? null : ((Comparable) o).compareTo( val ) > 0;
             case GTE:
-                return o -> o == null || val == null ? null : ((Comparable) o).compareTo( val ) >= 0;
             case EQ:
-                return o -> o == null || val == null ? null : ((Comparable) o).compareTo( val ) == 0;
             case NE:
-                return o -> o == null || val == null ? null : ((Comparable) o).compareTo( val ) != 0;
+                return DTUnaryTests.compare( DTUnaryTests.Comparison.valueOf( operator.name() ), val );
             case NOT:
                 return o -> {
                     if( o == null || val == null ) {
@@ -34,9 +34,15 @@ public class CompiledExpressionImpl implements CompiledExpression {
     }
 
     public Object evaluate(FEELEventListenersManager eventsManager, Map<String, Object> inputVariables) {
-        EvaluationContextImpl ctx = new EvaluationContextImpl( eventsManager );
-        inputVariables.entrySet().stream().forEach( e -> ctx.setValue( e.getKey(), e.getValue() ) );
-        return expression.evaluate( ctx );
+        EvaluationContextImpl ctx = EvaluationContextImpl.acquire( eventsManager );
+        try {
+            for ( Map.Entry<String, Object> e : inputVariables.entrySet() ) {
+                ctx.setValue( e.getKey(), e.getValue() );
+            }
+            return expression.evaluate( ctx );
+        } finally {
+            ctx.release();
+        }
     }
 
 }
@@ -26,6 +26,7 @@ public class CompilerContextImpl implements CompilerContext {
     private final FEELEventListenersManager eventsManager;
     private Map<String, Object> inputVariables = new HashMap<>();
     private Map<String, Type> inputVariableTypes = new HashMap<>();
+    private boolean retainSource = true;
 
     public CompilerContextImpl(FEELEventListenersManager eventsManager) {
         this.eventsManager = eventsManager;
@@ -56,4 +57,15 @@ public class CompilerContextImpl implements CompilerContext {
     public Map<String, Object> getInputVariables() {
         return this.inputVariables;
     }
+
+    @Override
+    public CompilerContext setRetainSource(boolean retainSource) {
+        this.retainSource = retainSource;
+        return this;
+    }
+
+    @Override
+    public boolean isRetainSource() {
+        return retainSource;
+    }
 }
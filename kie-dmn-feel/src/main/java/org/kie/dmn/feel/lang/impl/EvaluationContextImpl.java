@@ -21,50 +21,123 @@ import org.kie.dmn.feel.runtime.functions.BuiltInFunctions;
 import org.kie.dmn.feel.util.EvalHelper;
 import org.kie.dmn.feel.runtime.FEELFunction;
 
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.Stack;
 
 public class EvaluationContextImpl implements EvaluationContext {
 
-    private final FEELEventListenersManager eventsManager;
-    private       Stack<ExecutionFrame> stack;
+    // the root frame holds all the built in functions. It is never written after
+    // creation, so it is shared by all the contexts.
+    private static final ExecutionFrame ROOT_FRAME = createRootFrame();
+
+    // frames 0 and 1 are the root and global frames, that are never popped
+    private static final int GLOBAL_FRAME = 1;
+
+    // contexts kept for reuse by each thread; evaluations can nest, e.g. a decision
+    // table evaluating its cells, so a thread may need more than one at a time
+    private static final int MAX_POOLED_CONTEXTS = 8;
+    private static final ThreadLocal<ArrayDeque<EvaluationContextImpl>> POOL = ThreadLocal.withInitial( ArrayDeque::new );
+
+    private FEELEventListenersManager eventsManager;
+    // frames[0..depth) is the stack, spareFrames[i] the frame created by enterFrame() at depth i
+    private ExecutionFrame[]          frames      = new ExecutionFrame[ 8 ];
+    private ExecutionFrame[]          spareFrames = new ExecutionFrame[ 8 ];
+    private int                       depth;
+    private Map<String, Object>       allValues;
 
     public EvaluationContextImpl(FEELEventListenersManager eventsManager) {
         this.eventsManager = eventsManager;
-        this.stack = new Stack<>();
-        // we create a rootFrame to hold all the built in functions
-        // TODO: can we cache/reuse the rootFrame to avoid recreating it all the time?
+        push( ROOT_FRAME );
+        // and then create a global frame to be the starting frame
+        // for function evaluation
+        ExecutionFrame global = new ExecutionFrame( ROOT_FRAME );
+        push( global );
+    }
+
+    private static ExecutionFrame createRootFrame() {
         ExecutionFrame rootFrame = new ExecutionFrame( null );
         for( FEELFunction f : BuiltInFunctions.getFunctions() ) {
             rootFrame.setValue( f.getName(), f );
         }
-        push( rootFrame );
-        // and then create a global frame to be the starting frame
-        // for function evaluation
-        ExecutionFrame global = new ExecutionFrame( rootFrame );
-        push( global );
+        return rootFrame;
+    }
+
+    /**
+     * Returns an empty context from the current thread's pool, or a new one if
+     * the pool is empty. The context must be given back with {@link #release()}
+     * once the evaluation is over, and must not be used after that.
+     */
+    public static EvaluationContextImpl acquire(FEELEventListenersManager eventsManager) {
+        EvaluationContextImpl ctx = POOL.get().poll();
+        if ( ctx == null ) {
+            return new EvaluationContextImpl( eventsManager );
+        }
+        ctx.eventsManager = eventsManager;
+        return ctx;
+    }
+
+    /**
+     * Clears this context and returns it to the current thread's pool
+     */
+    public void release() {
+        // drop the variables of every frame, including the reusable ones, so
+        // the pool does not keep the values of past evaluations alive
+        for ( ExecutionFrame frame : spareFrames ) {
+            if ( frame != null ) {
+                frame.reset( null );
+            }
+        }
+        frames[GLOBAL_FRAME].reset( ROOT_FRAME );
+        Arrays.fill( frames, GLOBAL_FRAME + 1, frames.length, null );
+        depth = GLOBAL_FRAME + 1;
+        allValues = null;
+        eventsManager = null;
+        ArrayDeque<EvaluationContextImpl> pool = POOL.get();
+        if ( pool.size() < MAX_POOLED_CONTEXTS ) {
+            pool.push( this );
+        }
     }
 
     public void push(ExecutionFrame obj) {
-        stack.push( obj );
+        if ( depth == frames.length ) {
+            frames = Arrays.copyOf( frames, depth * 2 );
+        }
+        frames[depth++] = obj;
+        allValues = null;
     }
 
     public ExecutionFrame pop() {
-        return stack.pop();
+        if ( depth <= GLOBAL_FRAME + 1 ) {
+            throw new IllegalStateException( "The global frame of an evaluation context can not be removed" );
+        }
+        allValues = null;
+        ExecutionFrame frame = frames[--depth];
+        frames[depth] = null;
+        return frame;
     }
 
     public ExecutionFrame peek() {
-        return stack.peek();
-    }
-
-    public Stack<ExecutionFrame> getStack() {
-        return this.stack;
+        return frames[depth - 1];
     }
 
     @Override
     public void enterFrame() {
-        push( new ExecutionFrame( peek() /*, symbols, scope*/ ) );
+        // reuses the frame previously created at this depth, if any, so that
+        // iterating expressions do not allocate a frame for each element
+        if ( depth == spareFrames.length ) {
+            spareFrames = Arrays.copyOf( spareFrames, depth * 2 );
+        }
+        ExecutionFrame frame = spareFrames[depth];
+        if ( frame != null ) {
+            frame.reset( peek() );
+        } else {
+            frame = new ExecutionFrame( peek() /*, symbols, scope*/ );
+            spareFrames[depth] = frame;
+        }
+        push( frame );
     }
 
     @Override
@@ -75,6 +148,7 @@ public class EvaluationContextImpl implements EvaluationContext {
     @Override
     public void setValue(String name, Object value) {
         peek().setValue( name, EvalHelper.coerceNumber( value ) );
+        allValues = null;
     }
 
     @Override
@@ -87,13 +161,20 @@ public class EvaluationContextImpl implements EvaluationContext {
         return peek().getValue( name );
     }
 
+    /**
+     * Returns all the visible values, inner frames taking precedence. The returned map is
+     * read only, and is reused until a frame is entered or exited or a value is set.
+     */
     @Override
     public Map<String, Object> getAllValues() {
-        Map<String, Object> values = new HashMap<>(  );
-        for( int i = 0; i < stack.size(); i++ ) {
-            values.putAll( stack.get( i ).getAllValues() );
+        if ( allValues == null ) {
+            Map<String, Object> values = new HashMap<>(  );
+            for( int i = 0; i < depth; i++ ) {
+                values.putAll( frames[i].getAllValues() );
+            }
+            allValues = Collections.unmodifiableMap( values );
         }
-        return values;
+        return allValues;
     }
 
     public FEELEventListenersManager getEventsManager() {
@@ -18,6 +18,7 @@ package org.kie.dmn.feel.lang.impl;
 
 import org.kie.dmn.feel.util.EvalHelper;
 
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
@@ -25,12 +26,23 @@ import java.util.Objects;
 public class ExecutionFrame {
     private ExecutionFrame parentFrame;
 
-    private Map<String, Object> variables = new HashMap<>();
+    // created on first use, as many frames never hold a variable
+    private Map<String, Object> variables;
 
     public ExecutionFrame(ExecutionFrame parentFrame) {
         this.parentFrame = parentFrame;
     }
 
+    /**
+     * Prepares this frame to be reused with the given parent, discarding its variables
+     */
+    public void reset(ExecutionFrame parentFrame) {
+        this.parentFrame = parentFrame;
+        if ( variables != null && !variables.isEmpty() ) {
+            variables.clear();
+        }
+    }
+
     public ExecutionFrame getParentFrame() {
         return parentFrame;
     }
@@ -41,7 +53,7 @@ public class ExecutionFrame {
 
     public Object getValue(String symbol) {
         symbol = EvalHelper.normalizeVariableName( symbol );
-        if ( variables.containsKey( symbol ) ) {
+        if ( variables != null && variables.containsKey( symbol ) ) {
             return variables.get( symbol );
         }
         if ( parentFrame != null ) {
@@ -55,10 +67,13 @@ public class ExecutionFrame {
     }
 
     public void setValue(String symbol, Object value) {
+        if ( variables == null ) {
+            variables = new HashMap<>();
+        }
         this.variables.put( EvalHelper.normalizeVariableName( symbol ), value );
     }
 
     public Map<String, Object> getAllValues() {
-        return this.variables;
+        return this.variables != null ? this.variables : Collections.emptyMap();
     }
 }
@@ -21,6 +21,7 @@ import org.kie.dmn.feel.FEEL;
 import org.kie.dmn.feel.lang.CompiledExpression;
 import org.kie.dmn.feel.lang.CompilerContext;
 import org.kie.dmn.feel.lang.ast.BaseNode;
+import org.kie.dmn.feel.lang.ast.SourceBuffer;
 import org.kie.dmn.feel.parser.feel11.ASTBuilderVisitor;
 import org.kie.dmn.feel.parser.feel11.FEELParser;
 import org.kie.dmn.feel.parser.feel11.FEEL_1_1Parser;
@@ -49,6 +50,12 @@ public class FEELImpl
         ParseTree tree = parser.compilation_unit();
         ASTBuilderVisitor v = new ASTBuilderVisitor();
         BaseNode expr = v.visit( tree );
+        if ( !ctx.isRetainSource() ) {
+            SourceBuffer source = FEELParser.getSourceBuffer( parser );
+            if ( source != null ) {
+                source.release();
+            }
+        }
         CompiledExpression ce = new CompiledExpressionImpl( expr );
         return ce;
     }
@@ -23,7 +23,12 @@ import org.kie.dmn.feel.parser.feel11.ParserHelper;
 import org.kie.dmn.feel.util.EvalHelper;
 
 public class JavaBackedType implements CustomType {
-    private static Map<Class<?>, JavaBackedType> cache = new HashMap<>();
+    private static final ClassValue<Type> cache = new ClassValue<Type>() {
+        @Override
+        protected Type computeValue(Class<?> clazz) {
+            return Optional.<Type>ofNullable( createIfAnnotated( clazz ) ).orElse( BuiltInType.UNKNOWN );
+        }
+    };
     
     private static Set<Method> javaObjectMethods = new HashSet<>( Arrays.asList( Object.class.getMethods() ) );
     
@@ -59,7 +64,7 @@ public class JavaBackedType implements CustomType {
      * @return JavaBackedType representing clazz or BuiltInType.UNKNOWN
      */
     public static Type of(Class<?> clazz) {
-        return Optional.ofNullable( (Type) cache.computeIfAbsent( clazz, JavaBackedType::createIfAnnotated ) ).orElse( BuiltInType.UNKNOWN );
+        return cache.get( clazz );
     }
     
     /**
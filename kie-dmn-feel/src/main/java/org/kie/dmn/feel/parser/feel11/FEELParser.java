@@ -18,6 +18,7 @@ package org.kie.dmn.feel.parser.feel11;
 
 import org.antlr.v4.runtime.*;
 import org.kie.dmn.feel.lang.Type;
+import org.kie.dmn.feel.lang.ast.SourceBuffer;
 import org.kie.dmn.feel.lang.impl.JavaBackedType;
 import org.kie.dmn.feel.lang.impl.FEELEventListenersManager;
 import org.kie.dmn.feel.runtime.events.FEELEvent;
@@ -30,7 +31,7 @@ import java.util.concurrent.atomic.AtomicBoolean;
 public class FEELParser {
 
     public static FEEL_1_1Parser parse(FEELEventListenersManager eventsManager, String source, Map<String, Type> inputVariableTypes, Map<String, Object> inputVariables) {
-        ANTLRInputStream input = new ANTLRInputStream(source);
+        SourceCharStream input = new SourceCharStream(source);
         FEEL_1_1Lexer lexer = new FEEL_1_1Lexer( input );
         CommonTokenStream tokens = new CommonTokenStream( lexer );
         FEEL_1_1Parser parser = new FEEL_1_1Parser( tokens );
@@ -44,11 +45,19 @@ public class FEELParser {
         return parser;
     }
 
+    /**
+     * Returns the source shared by the nodes built by the given parser
+     */
+    public static SourceBuffer getSourceBuffer(FEEL_1_1Parser parser) {
+        TokenSource tokenSource = parser.getInputStream().getTokenSource();
+        return tokenSource instanceof FEEL_1_1Lexer ? ((FEEL_1_1Lexer) tokenSource).getSourceBuffer() : null;
+    }
+
     public static boolean isVariableNameValid( String source ) {
         if( source == null ) {
             return false;
         }
-        ANTLRInputStream input = new ANTLRInputStream(source);
+        SourceCharStream input = new SourceCharStream(source);
         FEEL_1_1Lexer lexer = new FEEL_1_1Lexer( input );
         CommonTokenStream tokens = new CommonTokenStream( lexer );
         FEEL_1_1Parser parser = new FEEL_1_1Parser( tokens );
@@ -0,0 +1,38 @@
+/*
+ * Copyright 2016 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.dmn.feel.parser.feel11;
+
+import org.antlr.v4.runtime.ANTLRInputStream;
+import org.kie.dmn.feel.lang.ast.SourceBuffer;
+
+/**
+ * Input stream that carries the {@link SourceBuffer} shared by all the nodes built from it
+ */
+public class SourceCharStream
+        extends ANTLRInputStream {
+
+    private final SourceBuffer sourceBuffer;
+
+    public SourceCharStream(String source) {
+        super( source );
+        this.sourceBuffer = new SourceBuffer( source );
+    }
+
+    public SourceBuffer getSourceBuffer() {
+        return sourceBuffer;
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright 2016 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.dmn.feel.runtime.decisiontables;
+
+import org.kie.dmn.feel.runtime.UnaryTest;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Dictionary encoding of the strings the tests of a decision table column compare the input
+ * value to. Each distinct string gets an int code, so that the input value is looked up once per
+ * evaluation and the string equality tests of the column become int comparisons.
+ */
+final class ColumnDictionary {
+
+    /**
+     * The code of any value that is not one of the dictionary strings, including null and the
+     * values that are not strings: no encoded test matches it
+     */
+    static final int NOT_IN_DICTIONARY = -1;
+
+    private final Map<String, Integer> codes;
+
+    private ColumnDictionary(Map<String, Integer> codes) {
+        this.codes = codes;
+    }
+
+    /**
+     * Builds the dictionary of the given tests of a column, or returns null if none of them
+     * can be encoded
+     */
+    static ColumnDictionary of(List<UnaryTest> tests) {
+        Map<String, Integer> codes = new HashMap<>();
+        for ( UnaryTest test : tests ) {
+            if ( isEncodable( test ) ) {
+                for ( UnaryTest t : alternatives( test ) ) {
+                    codes.putIfAbsent( (String) ((DTUnaryTests.EqualsTest) t).getValue(), codes.size() );
+                }
+            }
+        }
+        return codes.isEmpty() ? null : new ColumnDictionary( codes );
+    }
+
+    /**
+     * Returns the code of the given input value, or {@link #NOT_IN_DICTIONARY}
+     */
+    int encode(Object value) {
+        if ( value instanceof String ) {
+            Integer code = codes.get( value );
+            return code != null ? code : NOT_IN_DICTIONARY;
+        }
+        return NOT_IN_DICTIONARY;
+    }
+
+    /**
+     * Returns the sorted codes of the strings matched by the given test, or null if the test is
+     * not a string equality or a disjunction of string equalities
+     */
+    int[] codesOf(UnaryTest test) {
+        if ( !isEncodable( test ) ) {
+            return null;
+        }
+        UnaryTest[] alternatives = alternatives( test );
+        int[] result = new int[ alternatives.length ];
+        for ( int i = 0; i < result.length; i++ ) {
+            result[i] = codes.get( ((DTUnaryTests.EqualsTest) alternatives[i]).getValue() );
+        }
+        Arrays.sort( result );
+        return result;
+    }
+
+    /**
+     * Checks if a code is one of the given sorted codes
+     */
+    static boolean matches(int[] testCodes, int code) {
+        if ( code == NOT_IN_DICTIONARY ) {
+            return false;
+        }
+        return testCodes.length == 1 ? testCodes[0] == code : Arrays.binarySearch( testCodes, code ) >= 0;
+    }
+
+    int size() {
+        return codes.size();
+    }
+
+    private static boolean isEncodable(UnaryTest test) {
+        if ( test instanceof DTUnaryTests.DisjunctionTest ) {
+            for ( UnaryTest t : ((DTUnaryTests.DisjunctionTest) test).getTests() ) {
+                if ( !isStringEquality( t ) ) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        return isStringEquality( test );
+    }
+
+    private static boolean isStringEquality(UnaryTest test) {
+        return test instanceof DTUnaryTests.EqualsTest && ((DTUnaryTests.EqualsTest) test).getValue() instanceof String;
+    }
+
+    private static UnaryTest[] alternatives(UnaryTest test) {
+        if ( test instanceof DTUnaryTests.DisjunctionTest ) {
+            List<UnaryTest> tests = ((DTUnaryTests.DisjunctionTest) test).getTests();
+            return tests.toArray( new UnaryTest[tests.size()] );
+        }
+        return new UnaryTest[]{ test };
+    }
+}
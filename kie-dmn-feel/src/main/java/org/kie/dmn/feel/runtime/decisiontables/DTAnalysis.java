@@ -0,0 +1,105 @@
+/*
+ * Copyright 2016 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.dmn.feel.runtime.decisiontables;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The result of the static analysis of a decision table, see {@link DecisionTableImpl#analyze()}.
+ *
+ * Rules are identified by their index, as in {@link DTDecisionRule#getIndex()}.
+ */
+public class DTAnalysis {
+
+    private final List<RulePair>     overlaps;
+    private final List<RulePair>     subsumptions;
+    private final List<List<Object>> gaps;
+    private final boolean            gapsChecked;
+    private final boolean            firstMatchSufficient;
+
+    public DTAnalysis(List<RulePair> overlaps,
+                      List<RulePair> subsumptions,
+                      List<List<Object>> gaps,
+                      boolean gapsChecked,
+                      boolean firstMatchSufficient) {
+        this.overlaps = Collections.unmodifiableList( overlaps );
+        this.subsumptions = Collections.unmodifiableList( subsumptions );
+        this.gaps = Collections.unmodifiableList( gaps );
+        this.gapsChecked = gapsChecked;
+        this.firstMatchSufficient = firstMatchSufficient;
+    }
+
+    /**
+     * Pairs of rules that certainly overlap in a way the hit policy does not allow: any overlap
+     * for UNIQUE tables, overlaps with different output entries for ANY tables.
+     */
+    public List<RulePair> getOverlaps() {
+        return overlaps;
+    }
+
+    /**
+     * Pairs of rules where the first one matches every input the second one matches. Only
+     * reported for the single hit policies, where the second rule is redundant.
+     */
+    public List<RulePair> getSubsumptions() {
+        return subsumptions;
+    }
+
+    /**
+     * Combinations of input values that no rule matches. Only checked when every input of the
+     * table either lists its valid values or is a dash in every rule, see {@link #isGapsChecked()}.
+     */
+    public List<List<Object>> getGaps() {
+        return gaps;
+    }
+
+    public boolean isGapsChecked() {
+        return gapsChecked;
+    }
+
+    /**
+     * True if it is proven that, for this table's hit policy, the first matching rule
+     * determines the result, so evaluation can stop there.
+     */
+    public boolean isFirstMatchSufficient() {
+        return firstMatchSufficient;
+    }
+
+    public static class RulePair {
+        private final int first;
+        private final int second;
+
+        public RulePair(int first, int second) {
+            this.first = first;
+            this.second = second;
+        }
+
+        public int getFirst() {
+            return first;
+        }
+
+        public int getSecond() {
+            return second;
+        }
+
+        @Override
+        public String toString() {
+            return "[" + first + ", " + second + "]";
+        }
+    }
+}
@@ -0,0 +1,372 @@
+/*
+ * Copyright 2016 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.dmn.feel.runtime.decisiontables;
+
+import org.kie.dmn.feel.runtime.Range;
+import org.kie.dmn.feel.runtime.UnaryTest;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Static analysis of the input entries of a decision table.
+ *
+ * Each input entry is translated into a union of intervals over its column. Entries that
+ * cannot be translated (e.g. function invocations or "not(...)" tests) are unknown, and
+ * nothing is ever proven about them.
+ */
+final class DTAnalyzer {
+
+    // maximum number of input combinations enumerated looking for gaps
+    private static final int MAX_GAP_COMBINATIONS = 10000;
+    private static final int MAX_REPORTED_GAPS    = 10;
+
+    private enum Overlap {
+        NO, MAYBE, YES
+    }
+
+    private DTAnalyzer() {
+    }
+
+    static DTAnalysis analyze(DecisionTableImpl dt) {
+        List<DTDecisionRule> rules = dt.getDecisionRules();
+        UnaryTest[][] ruleTests = dt.getRuleTests();
+        int columns = dt.getInputs().size();
+        HitPolicy hitPolicy = dt.getHitPolicy();
+        boolean singleHit = hitPolicy == HitPolicy.UNIQUE || hitPolicy == HitPolicy.ANY || hitPolicy == HitPolicy.FIRST || hitPolicy == HitPolicy.PRIORITY;
+
+        List<Interval>[][] cells = new List[ruleTests.length][columns];
+        for ( int r = 0; r < ruleTests.length; r++ ) {
+            for ( int c = 0; c < columns; c++ ) {
+                cells[r][c] = c < ruleTests[r].length ? toIntervals( ruleTests[r][c] ) : null;
+            }
+        }
+
+        List<DTAnalysis.RulePair> overlaps = new ArrayList<>();
+        List<DTAnalysis.RulePair> subsumptions = new ArrayList<>();
+        boolean firstMatchSufficient = hitPolicy == HitPolicy.FIRST;
+        boolean canStopAtFirstMatch = hitPolicy == HitPolicy.UNIQUE || hitPolicy == HitPolicy.ANY;
+        for ( int a = 0; a < cells.length; a++ ) {
+            for ( int b = a + 1; b < cells.length; b++ ) {
+                Overlap overlap = overlap( cells[a], cells[b] );
+                if ( overlap != Overlap.NO && hitPolicy == HitPolicy.ANY ) {
+                    boolean sameOutput = rules.get( a ).getOutputEntry().equals( rules.get( b ).getOutputEntry() );
+                    canStopAtFirstMatch &= sameOutput;
+                    if ( overlap == Overlap.YES && !sameOutput ) {
+                        overlaps.add( new DTAnalysis.RulePair( rules.get( a ).getIndex(), rules.get( b ).getIndex() ) );
+                    }
+                } else if ( overlap != Overlap.NO && hitPolicy == HitPolicy.UNIQUE ) {
+                    canStopAtFirstMatch = false;
+                    if ( overlap == Overlap.YES ) {
+                        overlaps.add( new DTAnalysis.RulePair( rules.get( a ).getIndex(), rules.get( b ).getIndex() ) );
+                    }
+                }
+                if ( singleHit && overlap == Overlap.YES ) {
+                    if ( contains( cells[a], cells[b] ) ) {
+                        subsumptions.add( new DTAnalysis.RulePair( rules.get( a ).getIndex(), rules.get( b ).getIndex() ) );
+                    } else if ( contains( cells[b], cells[a] ) ) {
+                        subsumptions.add( new DTAnalysis.RulePair( rules.get( b ).getIndex(), rules.get( a ).getIndex() ) );
+                    }
+                }
+            }
+        }
+        firstMatchSufficient |= canStopAtFirstMatch;
+
+        List<List<Object>> gaps = new ArrayList<>();
+        boolean gapsChecked = findGaps( dt, cells, columns, gaps );
+        return new DTAnalysis( overlaps, subsumptions, gaps, gapsChecked, firstMatchSufficient );
+    }
+
+    /**
+     * Enumerates every combination of the valid input values and checks that some rule matches it.
+     * Returns false if the domain of some input is not enumerable, or too large.
+     */
+    private static boolean findGaps(DecisionTableImpl dt, List<Interval>[][] cells, int columns, List<List<Object>> gaps) {
+        UnaryTest[][] ruleTests = dt.getRuleTests();
+        UnaryTest[][] inputValueTests = dt.getInputValueTests();
+        List<Object>[] domains = new List[columns];
+        long combinations = 1;
+        for ( int c = 0; c < columns; c++ ) {
+            domains[c] = enumerate( inputValueTests[c] );
+            if ( domains[c] == null ) {
+                if ( !isDashColumn( ruleTests, c ) ) {
+                    return false;
+                }
+                // any value does, as every rule matches it
+                domains[c] = Collections.singletonList( null );
+            }
+            combinations *= domains[c].size();
+            if ( combinations > MAX_GAP_COMBINATIONS ) {
+                return false;
+            }
+        }
+        if ( combinations == 0 ) {
+            return true;
+        }
+
+        int[] position = new int[columns];
+        Object[] values = new Object[columns];
+        for ( long n = 0; n < combinations && gaps.size() < MAX_REPORTED_GAPS; n++ ) {
+            for ( int c = 0; c < columns; c++ ) {
+                values[c] = domains[c].get( position[c] );
+            }
+            if ( !anyRuleMatches( ruleTests, values ) ) {
+                List<Object> gap = new ArrayList<>( columns );
+                Collections.addAll( gap, values );
+                gaps.add( gap );
+            }
+            // next combination
+            for ( int c = columns - 1; c >= 0 && ++position[c] == domains[c].size(); c-- ) {
+                position[c] = 0;
+            }
+        }
+        return true;
+    }
+
+    private static List<Object> enumerate(UnaryTest[] inputValues) {
+        if ( inputValues.length == 0 ) {
+            return null;
+        }
+        List<Object> values = new ArrayList<>( inputValues.length );
+        for ( UnaryTest test : inputValues ) {
+            if ( !(test instanceof DTUnaryTests.EqualsTest) ) {
+                return null;
+            }
+            values.add( ((DTUnaryTests.EqualsTest) test).getValue() );
+        }
+        return values;
+    }
+
+    private static boolean isDashColumn(UnaryTest[][] ruleTests, int column) {
+        for ( UnaryTest[] tests : ruleTests ) {
+            if ( column >= tests.length || tests[column] != DTUnaryTests.DASH ) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean anyRuleMatches(UnaryTest[][] ruleTests, Object[] values) {
+        for ( UnaryTest[] tests : ruleTests ) {
+            boolean matches = true;
+            for ( int c = 0; c < values.length && matches; c++ ) {
+                matches = c < tests.length && DTUnaryTests.isSatisfied( tests[c], values[c] );
+            }
+            if ( matches ) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static Overlap overlap(List<Interval>[] a, List<Interval>[] b) {
+        Overlap result = Overlap.YES;
+        for ( int c = 0; c < a.length; c++ ) {
+            Overlap column = overlap( a[c], b[c] );
+            if ( column == Overlap.NO ) {
+                return Overlap.NO;
+            } else if ( column == Overlap.MAYBE ) {
+                result = Overlap.MAYBE;
+            }
+        }
+        return result;
+    }
+
+    private static Overlap overlap(List<Interval> a, List<Interval> b) {
+        if ( a == null || b == null ) {
+            return Overlap.MAYBE;
+        }
+        Overlap result = Overlap.NO;
+        for ( Interval ia : a ) {
+            for ( Interval ib : b ) {
+                Overlap o = ia.overlap( ib );
+                if ( o == Overlap.YES ) {
+                    return o;
+                } else if ( o == Overlap.MAYBE ) {
+                    result = o;
+                }
+            }
+        }
+        return result;
+    }
+
+    private static boolean contains(List<Interval>[] outer, List<Interval>[] inner) {
+        for ( int c = 0; c < outer.length; c++ ) {
+            if ( !contains( outer[c], inner[c] ) ) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean contains(List<Interval> outer, List<Interval> inner) {
+        if ( outer == null || inner == null ) {
+            return false;
+        }
+        for ( Interval i : inner ) {
+            boolean contained = false;
+            for ( Interval o : outer ) {
+                if ( o.contains( i ) ) {
+                    contained = true;
+                    break;
+                }
+            }
+            if ( !contained ) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Translates a unary test into the union of intervals of the values it matches, or
+     * null if that is unknown
+     */
+    private static List<Interval> toIntervals(UnaryTest test) {
+        if ( test == DTUnaryTests.DASH ) {
+            return Collections.singletonList( Interval.ALL );
+        } else if ( test instanceof DTUnaryTests.EqualsTest ) {
+            Object value = ((DTUnaryTests.EqualsTest) test).getValue();
+            return value instanceof Comparable ? Collections.singletonList( Interval.point( (Comparable) value ) ) : null;
+        } else if ( test instanceof DTUnaryTests.RangeTest ) {
+            Range range = ((DTUnaryTests.RangeTest) test).getRange();
+            if ( range.getLowEndPoint() == null || range.getHighEndPoint() == null ) {
+                return null;
+            }
+            return Collections.singletonList( new Interval( range.getLowEndPoint(), range.getLowBoundary() == Range.RangeBoundary.CLOSED,
+                                                            range.getHighEndPoint(), range.getHighBoundary() == Range.RangeBoundary.CLOSED ) );
+        } else if ( test instanceof DTUnaryTests.ComparisonTest ) {
+            DTUnaryTests.ComparisonTest ct = (DTUnaryTests.ComparisonTest) test;
+            if ( !(ct.getValue() instanceof Comparable) ) {
+                return null;
+            }
+            Comparable value = (Comparable) ct.getValue();
+            switch ( ct.getComparison() ) {
+                case LT:
+                    return Collections.singletonList( new Interval( null, false, value, false ) );
+                case LTE:
+                    return Collections.singletonList( new Interval( null, false, value, true ) );
+                case GT:
+                    return Collections.singletonList( new Interval( value, false, null, false ) );
+                case GTE:
+                    return Collections.singletonList( new Interval( value, true, null, false ) );
+                case EQ:
+                    return Collections.singletonList( Interval.point( value ) );
+                default:
+                    return null;
+            }
+        } else if ( test instanceof DTUnaryTests.DisjunctionTest ) {
+            List<Interval> intervals = new ArrayList<>();
+            for ( UnaryTest t : ((DTUnaryTests.DisjunctionTest) test).getTests() ) {
+                List<Interval> ti = toIntervals( t );
+                if ( ti == null ) {
+                    return null;
+                }
+                intervals.addAll( ti );
+            }
+            return intervals;
+        }
+        return null;
+    }
+
+    /**
+     * An interval of values, where a null end point is unbounded
+     */
+    private static final class Interval {
+        static final Interval ALL = new Interval( null, false, null, false );
+
+        final Comparable low;
+        final boolean    lowClosed;
+        final Comparable high;
+        final boolean    highClosed;
+
+        Interval(Comparable low, boolean lowClosed, Comparable high, boolean highClosed) {
+            this.low = low;
+            this.lowClosed = lowClosed;
+            this.high = high;
+            this.highClosed = highClosed;
+        }
+
+        static Interval point(Comparable value) {
+            return new Interval( value, true, value, true );
+        }
+
+        Overlap overlap(Interval other) {
+            try {
+                // the intersection goes from the highest low end point to the lowest high end point
+                Comparable lo;
+                boolean loClosed;
+                if ( low == null || other.low == null ) {
+                    lo = low == null ? other.low : low;
+                    loClosed = low == null ? other.lowClosed : lowClosed;
+                } else {
+                    int c = low.compareTo( other.low );
+                    lo = c >= 0 ? low : other.low;
+                    loClosed = c > 0 ? lowClosed : c < 0 ? other.lowClosed : lowClosed && other.lowClosed;
+                }
+                Comparable hi;
+                boolean hiClosed;
+                if ( high == null || other.high == null ) {
+                    hi = high == null ? other.high : high;
+                    hiClosed = high == null ? other.highClosed : highClosed;
+                } else {
+                    int c = high.compareTo( other.high );
+                    hi = c <= 0 ? high : other.high;
+                    hiClosed = c < 0 ? highClosed : c > 0 ? other.highClosed : highClosed && other.highClosed;
+                }
+                if ( lo == null || hi == null ) {
+                    return Overlap.YES;
+                }
+                int c = lo.compareTo( hi );
+                if ( c < 0 ) {
+                    return Overlap.YES;
+                }
+                return c == 0 && loClosed && hiClosed ? Overlap.YES : Overlap.NO;
+            } catch ( RuntimeException e ) {
+                // values of different types can not be compared
+                return Overlap.MAYBE;
+            }
+        }
+
+        boolean contains(Interval other) {
+            try {
+                boolean lowOk;
+                if ( low == null ) {
+                    lowOk = true;
+                } else if ( other.low == null ) {
+                    lowOk = false;
+                } else {
+                    int c = low.compareTo( other.low );
+                    lowOk = c < 0 || (c == 0 && (lowClosed || !other.lowClosed));
+                }
+                boolean highOk;
+                if ( high == null ) {
+                    highOk = true;
+                } else if ( other.high == null ) {
+                    highOk = false;
+                } else {
+                    int c = high.compareTo( other.high );
+                    highOk = c > 0 || (c == 0 && (highClosed || !other.highClosed));
+                }
+                return lowOk && highOk;
+            } catch ( RuntimeException e ) {
+                return false;
+            }
+        }
+    }
+}
@@ -0,0 +1,189 @@
+/*
+ * Copyright 2016 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.dmn.feel.runtime.decisiontables;
+
+import org.kie.dmn.feel.util.DecimalMath;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Single pass accumulator for the aggregating COLLECT hit policies (C+, C#, C&lt;, C&gt;).
+ *
+ * The output of each matching rule is fed as soon as the rule matches, so no list of
+ * matches or results is kept. For multiple output tables, each output is aggregated
+ * separately and the result is a context with an entry per output.
+ */
+public class DTCollectAggregator {
+
+    private final List<DTOutputClause> outputs;
+    private final Accumulator[]        accumulators;
+
+    private DTCollectAggregator(List<DTOutputClause> outputs, Accumulator[] accumulators) {
+        this.outputs = outputs;
+        this.accumulators = accumulators;
+    }
+
+    /**
+     * Creates a new aggregator for the given hit policy, or returns null if the hit policy
+     * does not aggregate the rule outputs into a single value.
+     */
+    public static DTCollectAggregator forHitPolicy(HitPolicy hitPolicy, List<DTOutputClause> outputs) {
+        if ( !isAggregation( hitPolicy ) ) {
+            return null;
+        }
+        Accumulator[] accumulators = new Accumulator[ outputs.size() ];
+        for ( int i = 0; i < accumulators.length; i++ ) {
+            accumulators[i] = newAccumulator( hitPolicy );
+        }
+        return new DTCollectAggregator( outputs, accumulators );
+    }
+
+    public static boolean isAggregation(HitPolicy hitPolicy) {
+        switch ( hitPolicy ) {
+            case COLLECT_SUM:
+            case COLLECT_COUNT:
+            case COLLECT_MIN:
+            case COLLECT_MAX:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    private static Accumulator newAccumulator(HitPolicy hitPolicy) {
+        switch ( hitPolicy ) {
+            case COLLECT_SUM:
+                return new SumAccumulator();
+            case COLLECT_COUNT:
+                return new CountAccumulator();
+            case COLLECT_MIN:
+                return new MinMaxAccumulator( -1 );
+            default:
+                return new MinMaxAccumulator( 1 );
+        }
+    }
+
+    /**
+     * Accumulates the output of a matching rule: the value itself for single output
+     * tables, or a context with an entry per output otherwise
+     */
+    public void accumulate(Object ruleOutput) {
+        if ( accumulators.length == 1 ) {
+            accumulators[0].accumulate( ruleOutput );
+        } else if ( accumulators.length > 1 ) {
+            Map<?, ?> context = (Map<?, ?>) ruleOutput;
+            for ( int i = 0; i < accumulators.length; i++ ) {
+                accumulators[i].accumulate( context.get( outputs.get( i ).getName() ) );
+            }
+        }
+    }
+
+    public Object getResult() {
+        if ( accumulators.length == 1 ) {
+            return accumulators[0].getResult();
+        }
+        // do not use Collectors.toMap() as it does not support null for values.
+        Map<String, Object> result = new HashMap<>();
+        for ( int i = 0; i < accumulators.length; i++ ) {
+            result.put( outputs.get( i ).getName(), accumulators[i].getResult() );
+        }
+        return result;
+    }
+
+    private interface Accumulator {
+        void accumulate(Object value);
+
+        Object getResult();
+    }
+
+    /**
+     * C+ - the sum is null as soon as a non numeric output is found
+     */
+    private static class SumAccumulator
+            implements Accumulator {
+        private BigDecimal sum = BigDecimal.ZERO;
+
+        @Override
+        public void accumulate(Object value) {
+            if ( sum == null ) {
+                return;
+            }
+            if ( value instanceof Number ) {
+                sum = sum.add( DecimalMath.toBigDecimal( (Number) value ) );
+            } else {
+                sum = null;
+            }
+        }
+
+        @Override
+        public Object getResult() {
+            return sum;
+        }
+    }
+
+    /**
+     * C# - the number of distinct outputs
+     */
+    private static class CountAccumulator
+            implements Accumulator {
+        private final Set<Object> distinct = new HashSet<>();
+
+        @Override
+        public void accumulate(Object value) {
+            distinct.add( value );
+        }
+
+        @Override
+        public Object getResult() {
+            return BigDecimal.valueOf( distinct.size() );
+        }
+    }
+
+    /**
+     * C&lt; and C&gt; - the smallest or largest output, null outputs are ignored
+     */
+    private static class MinMaxAccumulator
+            implements Accumulator {
+        private final int  direction;
+        private Comparable best;
+
+        private MinMaxAccumulator(int direction) {
+            this.direction = direction;
+        }
+
+        @Override
+        public void accumulate(Object value) {
+            if ( value == null ) {
+                return;
+            }
+            Comparable candidate = (Comparable) value;
+            if ( best == null || Integer.signum( candidate.compareTo( best ) ) == direction ) {
+                best = candidate;
+            }
+        }
+
+        @Override
+        public Object getResult() {
+            return best;
+        }
+    }
+}
@@ -0,0 +1,501 @@
+/*
+ * Copyright 2016 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.dmn.feel.runtime.decisiontables;
+
+import org.kie.dmn.feel.runtime.UnaryTest;
+import org.kie.dmn.feel.util.EvalHelper;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+
+/**
+ * The rules of a very large decision table, stored in a read-only memory-mapped file instead of
+ * a list of {@link DTDecisionRule}, see {@link DecisionTableImpl#DecisionTableImpl(String, List, List, List, DTRuleStore, HitPolicy)}.
+ *
+ * Each distinct cell is stored once and each rule is a row of cell ids. The input entries that are
+ * a single string or number literal are indexed by value for each input column, so the rules that
+ * may match an input value are found without scanning the table. Only the matching rules are
+ * materialized as {@link DTDecisionRule}, and the other input entries are compiled the first time
+ * they are tested. As the file is mapped read only, the JVMs that open the same file share its pages.
+ *
+ * Files are written by a {@link Writer} and can not be larger than 2 GB.
+ */
+public final class DTRuleStore {
+
+    private static final int MAGIC   = 0x44545253;
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 9 * 4;
+
+    // each cell is stored as its kind followed by its payload: the value of a literal, the text otherwise
+    private static final char DASH       = '-';
+    private static final char STRING     = 'S';
+    private static final char NUMBER     = 'N';
+    private static final char EXPRESSION = 'E';
+
+    private static final Pattern NUMBER_LITERAL = Pattern.compile( "-?[0-9]+(\\.[0-9]+)?" );
+
+    private final ByteBuffer                  buffer;
+    private final int                         ruleCount;
+    private final int                         inputCount;
+    private final int                         outputCount;
+    private final int                         cellsPos;
+    private final int                         rowsPos;
+    private final int                         indexPos;
+    private final Function<String, UnaryTest> parser;
+    private final ConcurrentMap<Integer, UnaryTest> compiledTests = new ConcurrentHashMap<>();
+
+    private DTRuleStore(ByteBuffer buffer, Function<String, UnaryTest> parser) {
+        if ( buffer.limit() < HEADER_SIZE || buffer.getInt( 0 ) != MAGIC || buffer.getInt( 4 ) != VERSION ) {
+            throw new IllegalArgumentException( "Not a decision table rule store" );
+        }
+        this.buffer = buffer;
+        this.ruleCount = buffer.getInt( 8 );
+        this.inputCount = buffer.getInt( 12 );
+        this.outputCount = buffer.getInt( 16 );
+        this.cellsPos = buffer.getInt( 24 );
+        this.rowsPos = buffer.getInt( 28 );
+        this.indexPos = buffer.getInt( 32 );
+        this.parser = parser;
+    }
+
+    /**
+     * Maps the given rule store file in memory.
+     *
+     * @param file a file written by a {@link Writer}
+     * @param parser compiles the input entries that are not a dash or a single literal
+     */
+    public static DTRuleStore open(Path file, Function<String, UnaryTest> parser) throws IOException {
+        try ( FileChannel channel = FileChannel.open( file, StandardOpenOption.READ ) ) {
+            return new DTRuleStore( channel.map( FileChannel.MapMode.READ_ONLY, 0, channel.size() ), parser );
+        }
+    }
+
+    public int getRuleCount() {
+        return ruleCount;
+    }
+
+    public int getInputCount() {
+        return inputCount;
+    }
+
+    public int getOutputCount() {
+        return outputCount;
+    }
+
+    /**
+     * Materializes the given rule
+     */
+    public DTDecisionRule getRule(int index) {
+        DTDecisionRule rule = new DTDecisionRule( index );
+        for ( int c = 0; c < inputCount; c++ ) {
+            rule.getInputEntry().add( getTest( cellAt( index, c ) ) );
+        }
+        for ( int o = 0; o < outputCount; o++ ) {
+            rule.getOutputEntry().add( payload( cellAt( index, inputCount + o ) ) );
+        }
+        return rule;
+    }
+
+    /**
+     * A view of the rules, each one materialized when it is read
+     */
+    public List<DTDecisionRule> asList() {
+        return new RuleList();
+    }
+
+    /**
+     * Returns true if some input entries of the given input column are indexed by value
+     */
+    boolean isIndexed(int column) {
+        return buffer.getInt( indexPos + column * 16 + 4 ) > 0;
+    }
+
+    /**
+     * Returns the key under which input entries equal to the given value are indexed, or null
+     * if no literal input entry can be equal to it
+     */
+    static byte[] keyOf(Object value) {
+        String key = null;
+        if ( value instanceof String ) {
+            key = STRING + (String) value;
+        } else {
+            BigDecimal number = EvalHelper.getBigDecimalOrNull( value );
+            if ( number != null ) {
+                key = NUMBER + normalize( number );
+            }
+        }
+        return key != null ? key.getBytes( StandardCharsets.UTF_8 ) : null;
+    }
+
+    /**
+     * Returns, in ascending order, the rules whose input entry in the given indexed column is either
+     * a literal equal to the value of the given key, or a test that is not indexed
+     */
+    int[] findRules(int column, byte[] key) {
+        int dir = indexPos + column * 16;
+        int entriesPos = buffer.getInt( dir );
+        int entryCount = buffer.getInt( dir + 4 );
+        int othersPos = buffer.getInt( dir + 8 );
+        int othersCount = buffer.getInt( dir + 12 );
+
+        int postingsPos = 0;
+        int postingsCount = 0;
+        if ( key != null ) {
+            int hash = Arrays.hashCode( key );
+            int low = 0;
+            int high = entryCount;
+            while ( low < high ) {
+                int mid = (low + high) >>> 1;
+                if ( buffer.getInt( entriesPos + mid * 16 ) < hash ) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            for ( int e = low; e < entryCount && buffer.getInt( entriesPos + e * 16 ) == hash; e++ ) {
+                int entry = entriesPos + e * 16;
+                if ( cellEquals( buffer.getInt( entry + 4 ), key ) ) {
+                    postingsPos = buffer.getInt( entry + 8 );
+                    postingsCount = buffer.getInt( entry + 12 );
+                    break;
+                }
+            }
+        }
+
+        // merge the two sorted lists
+        int[] rules = new int[ postingsCount + othersCount ];
+        int p = 0;
+        int o = 0;
+        for ( int i = 0; i < rules.length; i++ ) {
+            if ( o >= othersCount || (p < postingsCount && buffer.getInt( postingsPos + p * 4 ) < buffer.getInt( othersPos + o * 4 )) ) {
+                rules[i] = buffer.getInt( postingsPos + 4 * p++ );
+            } else {
+                rules[i] = buffer.getInt( othersPos + 4 * o++ );
+            }
+        }
+        return rules;
+    }
+
+    /**
+     * Checks the input entry of the given rule and column against a value and its {@link #keyOf(Object)}
+     */
+    boolean matches(int rule, int column, Object value, byte[] key) {
+        int cell = cellAt( rule, column );
+        switch ( kind( cell ) ) {
+            case DASH:
+                return true;
+            case STRING:
+            case NUMBER:
+                return key != null && cellEquals( cell, key );
+            default:
+                return DTUnaryTests.isSatisfied( getTest( cell ), value );
+        }
+    }
+
+    private UnaryTest getTest(int cell) {
+        switch ( kind( cell ) ) {
+            case DASH:
+                return DTUnaryTests.DASH;
+            case STRING:
+                return DTUnaryTests.equalTo( payload( cell ) );
+            case NUMBER:
+                return DTUnaryTests.equalTo( new BigDecimal( payload( cell ) ) );
+            default:
+                return compiledTests.computeIfAbsent( cell, id -> parser.apply( payload( id ) ) );
+        }
+    }
+
+    private int cellAt(int rule, int column) {
+        return buffer.getInt( rowsPos + (rule * (inputCount + outputCount) + column) * 4 );
+    }
+
+    private int cellStart(int cell) {
+        return buffer.getInt( cellsPos + cell * 4 );
+    }
+
+    private char kind(int cell) {
+        return (char) buffer.get( cellStart( cell ) );
+    }
+
+    private String payload(int cell) {
+        int start = cellStart( cell ) + 1;
+        byte[] bytes = new byte[ cellStart( cell + 1 ) - start ];
+        for ( int i = 0; i < bytes.length; i++ ) {
+            bytes[i] = buffer.get( start + i );
+        }
+        return new String( bytes, StandardCharsets.UTF_8 );
+    }
+
+    private boolean cellEquals(int cell, byte[] key) {
+        int start = cellStart( cell );
+        if ( cellStart( cell + 1 ) - start != key.length ) {
+            return false;
+        }
+        for ( int i = 0; i < key.length; i++ ) {
+            if ( buffer.get( start + i ) != key[i] ) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String normalize(BigDecimal number) {
+        return number.signum() == 0 ? "0" : number.stripTrailingZeros().toPlainString();
+    }
+
+    private class RuleList
+            extends AbstractList<DTDecisionRule>
+            implements RandomAccess {
+
+        @Override
+        public DTDecisionRule get(int index) {
+            if ( index < 0 || index >= ruleCount ) {
+                throw new IndexOutOfBoundsException( "Index: " + index + ", Size: " + ruleCount );
+            }
+            return getRule( index );
+        }
+
+        @Override
+        public int size() {
+            return ruleCount;
+        }
+    }
+
+    /**
+     * Builds a rule store file from the text of the rules' cells, added one rule at a time.
+     * Identical cells are stored once and the indexes are built as the rules are added, so only
+     * the distinct cells and a few ints per cell are held in memory until the file is written.
+     */
+    public static class Writer {
+        private final int                 inputCount;
+        private final int                 outputCount;
+        private final Map<String, Integer> cellIds = new HashMap<>();
+        private final List<byte[]>        cells   = new ArrayList<>();
+        private final IntList             rows    = new IntList();
+        // for each input column, the rules of each literal cell and the rules of the other cells
+        private final List<Map<Integer, IntList>> indexes = new ArrayList<>();
+        private final List<IntList>       others  = new ArrayList<>();
+        private int                       ruleCount;
+
+        public Writer(int inputCount, int outputCount) {
+            this.inputCount = inputCount;
+            this.outputCount = outputCount;
+            for ( int c = 0; c < inputCount; c++ ) {
+                indexes.add( new LinkedHashMap<>() );
+                others.add( new IntList() );
+            }
+        }
+
+        /**
+         * Adds a rule given the text of its input and output entries
+         */
+        public Writer addRule(List<String> inputEntries, List<String> outputEntries) {
+            if ( inputEntries.size() != inputCount || outputEntries.size() != outputCount ) {
+                throw new IllegalArgumentException( "Rule " + (ruleCount + 1) + " has " + inputEntries.size() + " input entries and " + outputEntries.size() +
+                                                    " output entries, " + inputCount + " and " + outputCount + " expected" );
+            }
+            if ( (long) (ruleCount + 1) * (inputCount + outputCount) > Integer.MAX_VALUE / 4 ) {
+                throw new IllegalStateException( "Too many rules for a decision table rule store" );
+            }
+            for ( int c = 0; c < inputCount; c++ ) {
+                String cell = inputCell( inputEntries.get( c ) );
+                int id = cellId( cell );
+                rows.add( id );
+                if ( cell.charAt( 0 ) == STRING || cell.charAt( 0 ) == NUMBER ) {
+                    indexes.get( c ).computeIfAbsent( id, k -> new IntList() ).add( ruleCount );
+                } else {
+                    others.get( c ).add( ruleCount );
+                }
+            }
+            for ( String entry : outputEntries ) {
+                rows.add( cellId( EXPRESSION + (entry != null ? entry : "") ) );
+            }
+            ruleCount++;
+            return this;
+        }
+
+        public int getRuleCount() {
+            return ruleCount;
+        }
+
+        /**
+         * Returns the number of distinct cells added so far
+         */
+        public int getCellCount() {
+            return cells.size();
+        }
+
+        private static String inputCell(String text) {
+            String t = text != null ? text.trim() : "";
+            if ( "-".equals( t ) ) {
+                return String.valueOf( DASH );
+            }
+            if ( t.length() >= 2 && t.charAt( 0 ) == '"' && t.charAt( t.length() - 1 ) == '"' ) {
+                String value = t.substring( 1, t.length() - 1 );
+                if ( value.indexOf( '"' ) < 0 && value.indexOf( '\\' ) < 0 ) {
+                    return STRING + value;
+                }
+            }
+            if ( NUMBER_LITERAL.matcher( t ).matches() ) {
+                return NUMBER + normalize( new BigDecimal( t ) );
+            }
+            return EXPRESSION + t;
+        }
+
+        private int cellId(String cell) {
+            Integer id = cellIds.get( cell );
+            if ( id == null ) {
+                id = cells.size();
+                cells.add( cell.getBytes( StandardCharsets.UTF_8 ) );
+                cellIds.put( cell, id );
+            }
+            return id;
+        }
+
+        /**
+         * Writes the rules added so far to the given file. The file is written next to its
+         * final location and then moved there, so it is never read while partially written.
+         */
+        public void write(Path file) throws IOException {
+            // compute the position of each section
+            long cellsPos = HEADER_SIZE;
+            long cellsSize = 4L * (cells.size() + 1);
+            for ( byte[] cell : cells ) {
+                cellsSize += cell.length;
+            }
+            long rowsPos = cellsPos + cellsSize;
+            long indexPos = rowsPos + 4L * rows.size;
+            long entriesPos = indexPos + 16L * inputCount;
+            long postingsPos = entriesPos;
+            for ( Map<Integer, IntList> index : indexes ) {
+                postingsPos += 16L * index.size();
+            }
+            long size = postingsPos + 4L * ruleCount * inputCount;
+            if ( size > Integer.MAX_VALUE ) {
+                throw new IllegalStateException( "A decision table rule store can not be larger than 2 GB" );
+            }
+
+            Path tmp = Files.createTempFile( file.toAbsolutePath().getParent(), file.getFileName().toString(), ".tmp" );
+            try {
+                try ( DataOutputStream out = new DataOutputStream( new BufferedOutputStream( Files.newOutputStream( tmp ) ) ) ) {
+                    out.writeInt( MAGIC );
+                    out.writeInt( VERSION );
+                    out.writeInt( ruleCount );
+                    out.writeInt( inputCount );
+                    out.writeInt( outputCount );
+                    out.writeInt( cells.size() );
+                    out.writeInt( (int) cellsPos );
+                    out.writeInt( (int) rowsPos );
+                    out.writeInt( (int) indexPos );
+
+                    int cellPos = (int) (cellsPos + 4L * (cells.size() + 1));
+                    for ( byte[] cell : cells ) {
+                        out.writeInt( cellPos );
+                        cellPos += cell.length;
+                    }
+                    out.writeInt( cellPos );
+                    for ( byte[] cell : cells ) {
+                        out.write( cell );
+                    }
+
+                    for ( int i = 0; i < rows.size; i++ ) {
+                        out.writeInt( rows.values[i] );
+                    }
+
+                    // directory: the entries and the unindexed rules of each column
+                    long entryPos = entriesPos;
+                    long postingPos = postingsPos;
+                    for ( int c = 0; c < inputCount; c++ ) {
+                        out.writeInt( (int) entryPos );
+                        out.writeInt( indexes.get( c ).size() );
+                        for ( IntList rules : indexes.get( c ).values() ) {
+                            postingPos += 4L * rules.size;
+                        }
+                        out.writeInt( (int) postingPos );
+                        out.writeInt( others.get( c ).size );
+                        entryPos += 16L * indexes.get( c ).size();
+                        postingPos += 4L * others.get( c ).size;
+                    }
+
+                    // entries, sorted by hash: hash, cell, position and number of the matching rules
+                    postingPos = postingsPos;
+                    List<IntList> postings = new ArrayList<>();
+                    int[] hashes = new int[ cells.size() ];
+                    for ( int cell = 0; cell < hashes.length; cell++ ) {
+                        hashes[cell] = Arrays.hashCode( cells.get( cell ) );
+                    }
+                    for ( int c = 0; c < inputCount; c++ ) {
+                        List<Integer> keys = new ArrayList<>( indexes.get( c ).keySet() );
+                        keys.sort( (a, b) -> Integer.compare( hashes[a], hashes[b] ) );
+                        for ( int cell : keys ) {
+                            IntList rules = indexes.get( c ).get( cell );
+                            out.writeInt( hashes[cell] );
+                            out.writeInt( cell );
+                            out.writeInt( (int) postingPos );
+                            out.writeInt( rules.size );
+                            postingPos += 4L * rules.size;
+                            postings.add( rules );
+                        }
+                        postingPos += 4L * others.get( c ).size;
+                        postings.add( others.get( c ) );
+                    }
+                    for ( IntList rules : postings ) {
+                        for ( int i = 0; i < rules.size; i++ ) {
+                            out.writeInt( rules.values[i] );
+                        }
+                    }
+                }
+                Files.move( tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE );
+            } finally {
+                Files.deleteIfExists( tmp );
+            }
+        }
+    }
+
+    private static class IntList {
+        private int[] values = new int[ 4 ];
+        private int   size;
+
+        private void add(int value) {
+            if ( size == values.length ) {
+                values = Arrays.copyOf( values, size * 2 );
+            }
+            values[size++] = value;
+        }
+    }
+}
@@ -0,0 +1,297 @@
+/*
+ * Copyright 2016 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.dmn.feel.runtime.decisiontables;
+
+import org.kie.dmn.feel.runtime.Range;
+import org.kie.dmn.feel.runtime.UnaryTest;
+import org.kie.dmn.feel.util.EvalHelper;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Specialized unary tests used for decision table cells.
+ *
+ * Unlike plain lambdas, these tests know what they check (a literal value,
+ * a comparison, a range, a disjunction of tests or a dash), are compared by
+ * value and never allocate on evaluation.
+ */
+public final class DTUnaryTests {
+
+    public static enum Comparison {
+        LTE, LT, GT, GTE, NE, EQ;
+    }
+
+    /**
+     * The "-" input entry: matches any value
+     */
+    public static final UnaryTest DASH = new DashTest();
+
+    private DTUnaryTests() {
+        // utility class
+    }
+
+    public static UnaryTest equalTo(Object value) {
+        return new EqualsTest( value );
+    }
+
+    /**
+     * A comparison of the tested value against the given value, e.g. "&lt; 10". Like
+     * all FEEL comparisons, the result is null if either side is null.
+     */
+    public static UnaryTest compare(Comparison comparison, Object value) {
+        return new ComparisonTest( comparison, value );
+    }
+
+    public static UnaryTest range(Range range) {
+        return new RangeTest( range );
+    }
+
+    /**
+     * Returns a test that matches if any of the given tests matches. A single test
+     * is returned as is, and a disjunction containing a dash is a dash.
+     */
+    public static UnaryTest or(List<UnaryTest> tests) {
+        if ( tests.size() == 1 ) {
+            return tests.get( 0 );
+        }
+        for ( UnaryTest t : tests ) {
+            if ( t == DASH ) {
+                return DASH;
+            }
+        }
+        return new DisjunctionTest( tests.toArray( new UnaryTest[tests.size()] ) );
+    }
+
+    /**
+     * Returns true if the given test is one of the tests of this class that are compared by
+     * value, so that equal instances can be used interchangeably
+     */
+    public static boolean isValueBased(UnaryTest test) {
+        return test instanceof DashTest || test instanceof EqualsTest || test instanceof ComparisonTest ||
+               test instanceof RangeTest || test instanceof DisjunctionTest;
+    }
+
+    /**
+     * Evaluates a test as a boolean condition: a null result does not match.
+     */
+    public static boolean isSatisfied(UnaryTest test, Object value) {
+        return Boolean.TRUE.equals( test.apply( value ) );
+    }
+
+    public static final class DashTest
+            implements UnaryTest {
+
+        private DashTest() {
+        }
+
+        @Override
+        public Boolean apply(Object o) {
+            return Boolean.TRUE;
+        }
+
+        @Override
+        public String toString() {
+            return "-";
+        }
+    }
+
+    public static final class EqualsTest
+            implements UnaryTest {
+        private final Object value;
+
+        private EqualsTest(Object value) {
+            this.value = value;
+        }
+
+        public Object getValue() {
+            return value;
+        }
+
+        @Override
+        public Boolean apply(Object o) {
+            return o != null && sameValue( o, value );
+        }
+
+        /**
+         * Numbers are equal by value, regardless of their type and scale, as in {@link DTRuleStore}
+         */
+        private static boolean sameValue(Object a, Object b) {
+            if ( a instanceof Number && b instanceof Number ) {
+                return EvalHelper.getBigDecimalOrNull( a ).compareTo( EvalHelper.getBigDecimalOrNull( b ) ) == 0;
+            }
+            return a.equals( b );
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if ( this == o ) return true;
+            if ( !(o instanceof EqualsTest) ) return false;
+            EqualsTest that = (EqualsTest) o;
+            return value != null ? that.value != null && sameValue( value, that.value ) : that.value == null;
+        }
+
+        @Override
+        public int hashCode() {
+            if ( value instanceof Number ) {
+                BigDecimal number = EvalHelper.getBigDecimalOrNull( value );
+                return number.signum() == 0 ? 0 : number.stripTrailingZeros().hashCode();
+            }
+            return value != null ? value.hashCode() : 0;
+        }
+
+        @Override
+        public String toString() {
+            return "= " + value;
+        }
+    }
+
+    public static final class ComparisonTest
+            implements UnaryTest {
+        private final Comparison comparison;
+        private final Object     value;
+
+        private ComparisonTest(Comparison comparison, Object value) {
+            this.comparison = comparison;
+            this.value = value;
+        }
+
+        public Comparison getComparison() {
+            return comparison;
+        }
+
+        public Object getValue() {
+            return value;
+        }
+
+        @Override
+        public Boolean apply(Object o) {
+            if ( o == null || value == null ) {
+                return null;
+            }
+            int c = ((Comparable) o).compareTo( value );
+            switch ( comparison ) {
+                case LTE:
+                    return c <= 0;
+                case LT:
+                    return c < 0;
+                case GT:
+                    return c > 0;
+                case GTE:
+                    return c >= 0;
+                case EQ:
+                    return c == 0;
+                default:
+                    return c != 0;
+            }
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if ( this == o ) return true;
+            if ( !(o instanceof ComparisonTest) ) return false;
+            ComparisonTest that = (ComparisonTest) o;
+            return comparison == that.comparison && (value != null ? value.equals( that.value ) : that.value == null);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * comparison.hashCode() + (value != null ? value.hashCode() : 0);
+        }
+
+        @Override
+        public String toString() {
+            return comparison + " " + value;
+        }
+    }
+
+    public static final class RangeTest
+            implements UnaryTest {
+        private final Range range;
+
+        private RangeTest(Range range) {
+            this.range = range;
+        }
+
+        public Range getRange() {
+            return range;
+        }
+
+        @Override
+        public Boolean apply(Object o) {
+            return o != null && Boolean.TRUE.equals( range.includes( (Comparable) o ) );
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if ( this == o ) return true;
+            if ( !(o instanceof RangeTest) ) return false;
+            return range.equals( ((RangeTest) o).range );
+        }
+
+        @Override
+        public int hashCode() {
+            return range.hashCode();
+        }
+
+        @Override
+        public String toString() {
+            return range.toString();
+        }
+    }
+
+    public static final class DisjunctionTest
+            implements UnaryTest {
+        private final UnaryTest[] tests;
+
+        private DisjunctionTest(UnaryTest[] tests) {
+            this.tests = tests;
+        }
+
+        public List<UnaryTest> getTests() {
+            return Arrays.asList( tests );
+        }
+
+        @Override
+        public Boolean apply(Object o) {
+            for ( int i = 0; i < tests.length; i++ ) {
+                if ( Boolean.TRUE.equals( tests[i].apply( o ) ) ) {
+                    return Boolean.TRUE;
+                }
+            }
+            return Boolean.FALSE;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if ( this == o ) return true;
+            if ( !(o instanceof DisjunctionTest) ) return false;
+            return Arrays.equals( tests, ((DisjunctionTest) o).tests );
+        }
+
+        @Override
+        public int hashCode() {
+            return Arrays.hashCode( tests );
+        }
+
+        @Override
+        public String toString() {
+            return Arrays.toString( tests );
+        }
+    }
+}
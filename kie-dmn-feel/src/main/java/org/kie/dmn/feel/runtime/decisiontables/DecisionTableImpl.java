@@ -17,8 +17,14 @@
 package org.kie.dmn.feel.runtime.decisiontables;
 
 import org.kie.dmn.feel.FEEL;
+import org.kie.dmn.feel.lang.CompiledExpression;
+import org.kie.dmn.feel.lang.CompilerContext;
 import org.kie.dmn.feel.lang.EvaluationContext;
+import org.kie.dmn.feel.lang.ast.ASTNode;
+import org.kie.dmn.feel.lang.ast.BaseNode;
+import org.kie.dmn.feel.lang.impl.CompiledExpressionImpl;
 import org.kie.dmn.feel.lang.impl.FEELEventListenersManager;
+import org.kie.dmn.feel.lang.types.BuiltInType;
 import org.kie.dmn.feel.runtime.UnaryTest;
 import org.kie.dmn.feel.runtime.events.DecisionTableRulesMatchedEvent;
 import org.kie.dmn.feel.runtime.events.FEELEvent;
@@ -26,23 +32,64 @@ import org.kie.dmn.feel.runtime.events.InvalidInputEvent;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.AbstractList;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
-import java.util.stream.IntStream;
-
-import static java.util.stream.Collectors.toMap;
 
 public class DecisionTableImpl {
     private static final Logger logger = LoggerFactory.getLogger( DecisionTableImpl.class );
 
+    /**
+     * Rank returned by {@link #getOutputRank(DTDecisionRule, int)} when the rank of an output entry
+     * can only be known by evaluating it
+     */
+    public static final int UNKNOWN_RANK = Integer.MIN_VALUE;
+
+    // outcomes of the shared tests during an evaluation
+    private static final byte NOT_EVALUATED = 0;
+    private static final byte SATISFIED     = 1;
+    private static final byte NOT_SATISFIED = 2;
+
+    // code of the input values not looked up in their column dictionary yet
+    private static final int NOT_ENCODED = Integer.MIN_VALUE;
+
     private String               name;
     private List<String>         parameterNames;
     private List<DTInputClause>  inputs;
     private List<DTOutputClause> outputs;
     private List<DTDecisionRule> decisionRules;
     private HitPolicy            hitPolicy;
+    // null when the rules are held in decisionRules
+    private final DTRuleStore    ruleStore;
+
+    // compiled form of the input values and input entries, indexed by [input] and [rule][input]
+    private final UnaryTest[][]  inputValueTests;
+    // null for the columns without input values
+    private final ValueConstraint[] inputConstraints;
+    private final UnaryTest[][]  ruleTests;
+    // the distinct tests of each column, shared by all the rules that use them, and the
+    // index in sharedTests of each rule's test, by [rule][input]
+    private final UnaryTest[]    sharedTests;
+    private final int[][]        ruleTestIds;
+    private final int[]          sharedTestColumns;
+    // the dictionary of the strings each input column is compared to, null for the columns without
+    // string equality tests, and the codes matched by each shared test, null if it is not encoded
+    private final ColumnDictionary[] dictionaries;
+    private final int[][]        sharedTestCodes;
+    // position of each literal output entry in the output values list, indexed by [rule][output]
+    private final int[][]        outputRanks;
+    // set by the static analysis when it proves the first match determines the result
+    private boolean              firstMatchSufficient;
+
+    // the order in which the input columns are tested: the cheapest input expressions first, by
+    // their static cost estimate, then in the order of the columns
+    private final int[]          columnOrder;
 
     public DecisionTableImpl(String name,
                              List<String> parameterNames,
@@ -50,16 +97,189 @@ public class DecisionTableImpl {
                              List<DTOutputClause> outputs,
                              List<DTDecisionRule> decisionRules,
                              HitPolicy hitPolicy) {
+        this( name, parameterNames, inputs, outputs, decisionRules, null, hitPolicy );
+    }
+
+    /**
+     * Creates a decision table whose rules are read from the given store instead of being held in
+     * memory. Only the rules listed by the index of an input column are tested, and only the
+     * matching ones are materialized. Such tables are not statically analyzed, see {@link #analyze()}.
+     */
+    public DecisionTableImpl(String name,
+                             List<String> parameterNames,
+                             List<DTInputClause> inputs,
+                             List<DTOutputClause> outputs,
+                             DTRuleStore ruleStore,
+                             HitPolicy hitPolicy) {
+        this( name, parameterNames, inputs, outputs, ruleStore.asList(), ruleStore, hitPolicy );
+        if ( ruleStore.getInputCount() != inputs.size() || ruleStore.getOutputCount() != outputs.size() ) {
+            throw new IllegalArgumentException( "The rule store of decision table '" + name + "' has " + ruleStore.getInputCount() + " inputs and " +
+                                                ruleStore.getOutputCount() + " outputs, " + inputs.size() + " and " + outputs.size() + " expected" );
+        }
+    }
+
+    private DecisionTableImpl(String name,
+                              List<String> parameterNames,
+                              List<DTInputClause> inputs,
+                              List<DTOutputClause> outputs,
+                              List<DTDecisionRule> decisionRules,
+                              DTRuleStore ruleStore,
+                              HitPolicy hitPolicy) {
         this.name = name;
         this.parameterNames = parameterNames;
         this.inputs = inputs;
         this.outputs = outputs;
         this.decisionRules = decisionRules;
         this.hitPolicy = hitPolicy;
+        this.ruleStore = ruleStore;
+        this.inputValueTests = compileInputValues( inputs );
+        this.inputConstraints = new ValueConstraint[ inputs.size() ];
+        for ( int i = 0; i < inputConstraints.length; i++ ) {
+            inputConstraints[i] = ValueConstraint.of( inputs.get( i ).getInputValues() );
+        }
+        this.ruleTests = ruleStore == null ? compileRules( decisionRules ) : new UnaryTest[0][];
+        List<UnaryTest> distinctTests = new ArrayList<>();
+        this.ruleTestIds = shareTests( ruleTests, distinctTests );
+        this.sharedTests = distinctTests.toArray( new UnaryTest[distinctTests.size()] );
+        this.sharedTestColumns = new int[ sharedTests.length ];
+        for ( int[] ids : ruleTestIds ) {
+            for ( int c = 0; c < ids.length; c++ ) {
+                sharedTestColumns[ids[c]] = c;
+            }
+        }
+        this.dictionaries = compileDictionaries( inputs.size(), sharedTests, sharedTestColumns );
+        this.sharedTestCodes = new int[ sharedTests.length ][];
+        for ( int id = 0; id < sharedTests.length; id++ ) {
+            ColumnDictionary dictionary = sharedTestColumns[id] < dictionaries.length ? dictionaries[ sharedTestColumns[id] ] : null;
+            sharedTestCodes[id] = dictionary != null ? dictionary.codesOf( sharedTests[id] ) : null;
+        }
+        this.outputRanks = ruleStore == null ? compileOutputRanks( outputs, decisionRules ) : new int[0][];
+        this.columnOrder = compileColumnOrder( parameterNames, inputs );
+    }
+
+    private static int[] compileColumnOrder(List<String> parameterNames, List<DTInputClause> inputs) {
+        int[] costs = new int[ inputs.size() ];
+        FEEL feel = FEEL.newInstance();
+        CompilerContext ctx = feel.newCompilerContext();
+        if ( parameterNames != null ) {
+            parameterNames.forEach( p -> ctx.addInputVariableType( p, BuiltInType.UNKNOWN ) );
+        }
+        for ( int i = 0; i < costs.length; i++ ) {
+            String text = inputs.get( i ).getInputExpression();
+            CompiledExpression compiled = text != null ? feel.compile( text, ctx ) : null;
+            ASTNode node = compiled != null ? ((CompiledExpressionImpl) compiled).getExpression() : null;
+            costs[i] = ExpressionCost.of( node instanceof BaseNode ? (BaseNode) node : null );
+        }
+        Integer[] columns = new Integer[ costs.length ];
+        for ( int c = 0; c < columns.length; c++ ) {
+            columns[c] = c;
+        }
+        // a stable sort, so that columns of the same cost keep their order
+        Arrays.sort( columns, Comparator.comparingInt( c -> costs[c] ) );
+        int[] order = new int[ columns.length ];
+        for ( int c = 0; c < order.length; c++ ) {
+            order[c] = columns[c];
+        }
+        return order;
+    }
+
+    private static UnaryTest[][] compileInputValues(List<DTInputClause> inputs) {
+        UnaryTest[][] tests = new UnaryTest[ inputs.size() ][];
+        for ( int i = 0; i < tests.length; i++ ) {
+            List<UnaryTest> inputValues = inputs.get( i ).getInputValues();
+            tests[i] = inputValues != null ? inputValues.toArray( new UnaryTest[inputValues.size()] ) : new UnaryTest[0];
+        }
+        return tests;
+    }
+
+    private static UnaryTest[][] compileRules(List<DTDecisionRule> decisionRules) {
+        UnaryTest[][] tests = new UnaryTest[ decisionRules.size() ][];
+        for ( int i = 0; i < tests.length; i++ ) {
+            List<UnaryTest> inputEntry = decisionRules.get( i ).getInputEntry();
+            tests[i] = inputEntry.toArray( new UnaryTest[inputEntry.size()] );
+        }
+        return tests;
     }
 
     /**
-     * Evaluates this decision table returning the result
+     * Identical tests in the same column (e.g. the same literal or range repeated across rules)
+     * are collapsed into a single shared test, so that each is evaluated at most once per evaluation
+     */
+    private static int[][] shareTests(UnaryTest[][] ruleTests, List<UnaryTest> distinctTests) {
+        List<Map<UnaryTest, Integer>> columns = new ArrayList<>();
+        int[][] ids = new int[ ruleTests.length ][];
+        for ( int r = 0; r < ruleTests.length; r++ ) {
+            ids[r] = new int[ ruleTests[r].length ];
+            for ( int c = 0; c < ruleTests[r].length; c++ ) {
+                if ( columns.size() <= c ) {
+                    columns.add( new HashMap<>() );
+                }
+                Integer id = columns.get( c ).get( ruleTests[r][c] );
+                if ( id == null ) {
+                    id = distinctTests.size();
+                    distinctTests.add( ruleTests[r][c] );
+                    columns.get( c ).put( ruleTests[r][c], id );
+                }
+                ids[r][c] = id;
+            }
+        }
+        return ids;
+    }
+
+    private static ColumnDictionary[] compileDictionaries(int columns, UnaryTest[] sharedTests, int[] sharedTestColumns) {
+        List<List<UnaryTest>> columnTests = new ArrayList<>();
+        for ( int c = 0; c < columns; c++ ) {
+            columnTests.add( new ArrayList<>() );
+        }
+        for ( int id = 0; id < sharedTests.length; id++ ) {
+            if ( sharedTestColumns[id] < columns ) {
+                columnTests.get( sharedTestColumns[id] ).add( sharedTests[id] );
+            }
+        }
+        ColumnDictionary[] dictionaries = new ColumnDictionary[ columns ];
+        for ( int c = 0; c < columns; c++ ) {
+            dictionaries[c] = ColumnDictionary.of( columnTests.get( c ) );
+        }
+        return dictionaries;
+    }
+
+    private static int[][] compileOutputRanks(List<DTOutputClause> outputs, List<DTDecisionRule> decisionRules) {
+        int[][] ranks = new int[ decisionRules.size() ][ outputs.size() ];
+        for ( int r = 0; r < ranks.length; r++ ) {
+            List<String> outputEntry = decisionRules.get( r ).getOutputEntry();
+            for ( int o = 0; o < outputs.size(); o++ ) {
+                String literal = outputEntry.size() == outputs.size() ? stringLiteralValue( outputEntry.get( o ) ) : null;
+                ranks[r][o] = literal != null ? outputs.get( o ).getOutputValues().indexOf( literal ) : UNKNOWN_RANK;
+            }
+        }
+        return ranks;
+    }
+
+    /**
+     * Returns the value of a simple FEEL string literal, or null if the text is any other expression
+     */
+    private static String stringLiteralValue(String text) {
+        if ( text == null ) {
+            return null;
+        }
+        String t = text.trim();
+        if ( t.length() >= 2 && t.charAt( 0 ) == '"' && t.charAt( t.length() - 1 ) == '"' ) {
+            String value = t.substring( 1, t.length() - 1 );
+            if ( value.indexOf( '"' ) < 0 && value.indexOf( '\\' ) < 0 ) {
+                return value;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Evaluates this decision table returning the result.
+     *
+     * The input expressions of the columns with input values are always evaluated, as their values
+     * are validated. The others are only evaluated when a rule tests them, the cheapest columns
+     * first, so an error in one of those expressions is only raised when a rule reaches it. The
+     * order does not depend on previous evaluations, so the same inputs always raise the same errors.
+     *
      * @param ctx
      * @param params these are the required information items, not to confuse with the columns of the
      *               decision table that are expressions derived from these parameters
@@ -72,29 +292,202 @@ public class DecisionTableImpl {
 
         try {
             FEEL feel = FEEL.newInstance();
-            Object[] actualInputs = resolveActualInputs( ctx, feel );
+            Map<String, Object> variables = ctx.getAllValues();
+            LazyInputs actualInputs = new LazyInputs( variables, feel );
 
-            if ( ! actualInputsMatchInputValues( ctx, actualInputs ) ) {
+            // the columns with input values are always evaluated, as they have to be validated
+            for ( int i = 0; i < inputConstraints.length; i++ ) {
+                if ( inputConstraints[i] != null ) {
+                    actualInputs.get( i );
+                }
+            }
+            if ( ! actualInputsMatchInputValues( ctx, actualInputs.values ) ) {
                 return null;
             }
 
-            List<DTDecisionRule> matches = findMatches( ctx, actualInputs );
-            if( !matches.isEmpty() ) {
-                List<Object> results = evaluateResults( ctx, feel, actualInputs, matches );
-                Object result = hitPolicy.getDti().dti( ctx, this, actualInputs, matches, results );
+            if ( ruleStore != null ) {
+                List<DTDecisionRule> matches = findStoredMatches( ctx, actualInputs, hitPolicy == HitPolicy.FIRST || firstMatchSufficient );
+                return applyHitPolicy( ctx, variables, feel, actualInputs.values, matches );
+            }
 
-                return result;
-            } else {
-                return null;
+            DTCollectAggregator aggregator = DTCollectAggregator.forHitPolicy( hitPolicy, outputs );
+            if ( aggregator != null ) {
+                return aggregate( ctx, variables, feel, actualInputs, aggregator );
             }
+
+            List<DTDecisionRule> matches = findMatches( ctx, actualInputs, hitPolicy == HitPolicy.FIRST || firstMatchSufficient );
+            return applyHitPolicy( ctx, variables, feel, actualInputs.values, matches );
         } catch ( Exception e ) {
             logger.error( "Error invoking decision table '" + getName() + "'.", e );
             throw e;
         }
     }
 
-    private Object[] resolveActualInputs(EvaluationContext ctx, FEEL feel) {
-        Map<String, Object> variables = ctx.getAllValues();
+    /**
+     * Evaluates this decision table for a batch of parameter tuples, returning the result for each one.
+     *
+     * The parameters are given column-major: parameterColumns[i][row] is the value of the i-th
+     * parameter for the given row, and all columns must have the same length. Each shared input
+     * entry test is run over a whole input column at once, producing a bitset of the rows it matches,
+     * and the rows matched by each rule are the intersection of its tests' bitsets. The hit policy
+     * is then applied row by row. The rules of a table backed by a {@link DTRuleStore} are instead
+     * looked up row by row through the indexes of the store.
+     *
+     * @param ctx
+     * @param parameterColumns the values of each parameter, in the order of {@link #getParameterNames()}
+     * @return the result for each row
+     */
+    public Object[] evaluateBatch(EvaluationContext ctx, Object[][] parameterColumns) {
+        int rows = parameterColumns.length > 0 ? parameterColumns[0].length : 0;
+        for ( Object[] column : parameterColumns ) {
+            if ( column.length != rows ) {
+                throw new IllegalArgumentException( "All the parameter columns must have the same number of rows for decision table '" + getName() + "'." );
+            }
+        }
+        Object[] results = new Object[ rows ];
+        if ( decisionRules.isEmpty() || rows == 0 ) {
+            return results;
+        }
+
+        try {
+            FEEL feel = FEEL.newInstance();
+            Map<String, Object> globals = ctx.getAllValues();
+
+            // bind the parameters of each row and resolve the input columns
+            Map<String, Object>[] rowVariables = new Map[ rows ];
+            Object[][] inputColumns = new Object[ inputs.size() ][ rows ];
+            long[] validRows = new long[ (rows + 63) >>> 6 ];
+            for ( int row = 0; row < rows; row++ ) {
+                Map<String, Object> variables = new HashMap<>( globals );
+                for ( int p = 0; p < parameterColumns.length; p++ ) {
+                    variables.put( parameterNames.get( p ), parameterColumns[p][row] );
+                }
+                rowVariables[row] = variables;
+                Object[] actualInputs = resolveActualInputs( variables, feel );
+                for ( int i = 0; i < actualInputs.length; i++ ) {
+                    inputColumns[i][row] = actualInputs[i];
+                }
+                if ( actualInputsMatchInputValues( ctx, actualInputs ) ) {
+                    validRows[row >>> 6] |= 1L << row;
+                }
+            }
+
+            if ( ruleStore != null ) {
+                boolean firstOnly = hitPolicy == HitPolicy.FIRST || firstMatchSufficient;
+                for ( int row = 0; row < rows; row++ ) {
+                    if ( (validRows[row >>> 6] & (1L << row)) != 0 ) {
+                        Object[] actualInputs = new Object[ inputs.size() ];
+                        for ( int i = 0; i < actualInputs.length; i++ ) {
+                            actualInputs[i] = inputColumns[i][row];
+                        }
+                        List<DTDecisionRule> matches = findStoredMatches( ctx, new LazyInputs( actualInputs ), firstOnly );
+                        results[row] = applyHitPolicy( ctx, rowVariables[row], feel, actualInputs, matches );
+                    }
+                }
+                return results;
+            }
+
+            // run each shared test once over its column, the encoded ones over the encoded column
+            long[][] testRows = new long[ sharedTests.length ][];
+            int[][] codeColumns = new int[ inputColumns.length ][];
+            for ( int id = 0; id < sharedTests.length; id++ ) {
+                int c = sharedTestColumns[id];
+                if ( c < inputColumns.length && sharedTestCodes[id] != null ) {
+                    if ( codeColumns[c] == null ) {
+                        codeColumns[c] = new int[ rows ];
+                        for ( int row = 0; row < rows; row++ ) {
+                            codeColumns[c][row] = dictionaries[c].encode( inputColumns[c][row] );
+                        }
+                    }
+                    testRows[id] = matchingRows( sharedTestCodes[id], codeColumns[c], validRows );
+                } else if ( c < inputColumns.length ) {
+                    testRows[id] = matchingRows( sharedTests[id], inputColumns[c], validRows );
+                }
+            }
+
+            // the rows matched by a rule are the intersection of the rows matched by its tests
+            long[][] ruleRows = new long[ ruleTestIds.length ][];
+            for ( int r = 0; r < ruleTestIds.length; r++ ) {
+                long[] matched = validRows.clone();
+                for ( int c = 0; c < inputs.size(); c++ ) {
+                    long[] tested = testRows[ ruleTestIds[r][c] ];
+                    for ( int w = 0; w < matched.length; w++ ) {
+                        matched[w] &= tested[w];
+                    }
+                }
+                ruleRows[r] = matched;
+            }
+
+            boolean firstOnly = hitPolicy == HitPolicy.FIRST || firstMatchSufficient;
+            for ( int row = 0; row < rows; row++ ) {
+                if ( (validRows[row >>> 6] & (1L << row)) == 0 ) {
+                    continue;
+                }
+                List<DTDecisionRule> matches = new ArrayList<>();
+                for ( int r = 0; r < ruleRows.length; r++ ) {
+                    if ( (ruleRows[r][row >>> 6] & (1L << row)) != 0 ) {
+                        matches.add( decisionRules.get( r ) );
+                        if ( firstOnly ) {
+                            break;
+                        }
+                    }
+                }
+                notifyRulesMatched( ctx, matches );
+                Object[] actualInputs = new Object[ inputs.size() ];
+                for ( int i = 0; i < actualInputs.length; i++ ) {
+                    actualInputs[i] = inputColumns[i][row];
+                }
+                results[row] = applyHitPolicy( ctx, rowVariables[row], feel, actualInputs, matches );
+            }
+            return results;
+        } catch ( Exception e ) {
+            logger.error( "Error invoking decision table '" + getName() + "'.", e );
+            throw e;
+        }
+    }
+
+    private static long[] matchingRows(UnaryTest test, Object[] column, long[] validRows) {
+        long[] matched = new long[ validRows.length ];
+        if ( test == DTUnaryTests.DASH ) {
+            System.arraycopy( validRows, 0, matched, 0, validRows.length );
+            return matched;
+        }
+        for ( int row = 0; row < column.length; row++ ) {
+            if ( (validRows[row >>> 6] & (1L << row)) != 0 && DTUnaryTests.isSatisfied( test, column[row] ) ) {
+                matched[row >>> 6] |= 1L << row;
+            }
+        }
+        return matched;
+    }
+
+    private static long[] matchingRows(int[] testCodes, int[] codes, long[] validRows) {
+        long[] matched = new long[ validRows.length ];
+        for ( int row = 0; row < codes.length; row++ ) {
+            if ( (validRows[row >>> 6] & (1L << row)) != 0 && ColumnDictionary.matches( testCodes, codes[row] ) ) {
+                matched[row >>> 6] |= 1L << row;
+            }
+        }
+        return matched;
+    }
+
+    private Object applyHitPolicy(EvaluationContext ctx, Map<String, Object> variables, FEEL feel, Object[] actualInputs, List<DTDecisionRule> matches) {
+        if ( matches.isEmpty() ) {
+            return null;
+        }
+        DTCollectAggregator aggregator = DTCollectAggregator.forHitPolicy( hitPolicy, outputs );
+        if ( aggregator != null ) {
+            for ( DTDecisionRule match : matches ) {
+                aggregator.accumulate( hitToOutput( variables, feel, match ) );
+            }
+            return aggregator.getResult();
+        }
+        List<Object> results = evaluatesOutputsOnDemand( hitPolicy ) ?
+                               new LazyResults( variables, feel, matches ) :
+                               evaluateResults( variables, feel, matches );
+        return hitPolicy.getDti().dti( ctx, this, actualInputs, matches, results );
+    }
+
+    private Object[] resolveActualInputs(Map<String, Object> variables, FEEL feel) {
         Object[] actualInputs = new Object[ inputs.size() ];
         for( int i = 0; i < inputs.size(); i++ ) {
             actualInputs[i] = feel.evaluate( inputs.get( i ).getInputExpression(), variables );
@@ -111,24 +504,20 @@ public class DecisionTableImpl {
     private boolean actualInputsMatchInputValues(EvaluationContext ctx, Object[] params) {
         // check that all the parameters match the input list values if they are defined
         for( int i = 0; i < params.length; i++ ) {
-            final DTInputClause input = inputs.get( i );
             // if a list of values is defined, check the the parameter matches the value
-            if ( input.getInputValues() != null && ! input.getInputValues().isEmpty() ) {
+            if ( inputConstraints[i] != null && ! inputConstraints[i].accepts( params[i] ) ) {
+                final DTInputClause input = inputs.get( i );
                 final Object parameter = params[i];
-                boolean satisfies = input.getInputValues().stream().map( ut -> ut.apply( parameter ) ).filter( Boolean::booleanValue ).findAny().orElse( false );
-
-                if ( !satisfies ) {
-                    FEELEventListenersManager.notifyListeners( ctx.getEventsManager(), () -> {
-                        String values = input.getInputValuesText();
-                        return new InvalidInputEvent( FEELEvent.Severity.ERROR,
-                                                      input.getInputExpression()+"='" + parameter + "' does not match any of the valid values " + values + " for decision table '" + getName() + "'.",
-                                                      getName(),
-                                                      null,
-                                                      values );
-                        }
-                    );
-                    return false;
-                }
+                FEELEventListenersManager.notifyListeners( ctx.getEventsManager(), () -> {
+                    String values = input.getInputValuesText();
+                    return new InvalidInputEvent( FEELEvent.Severity.ERROR,
+                                                  input.getInputExpression()+"='" + parameter + "' does not match any of the valid values " + values + " for decision table '" + getName() + "'.",
+                                                  getName(),
+                                                  null,
+                                                  values );
+                    }
+                );
+                return false;
             }
         }
         return true;
@@ -139,15 +528,72 @@ public class DecisionTableImpl {
      *
      * @param ctx
      * @param params
+     * @param firstOnly stop at the first matching rule
      * @return
      */
-    private List<DTDecisionRule> findMatches(EvaluationContext ctx, Object[] params) {
+    private List<DTDecisionRule> findMatches(EvaluationContext ctx, LazyInputs params, boolean firstOnly) {
         List<DTDecisionRule> matchingDecisionRules = new ArrayList<>();
-        for ( DTDecisionRule decisionRule : decisionRules ) {
-            if ( matches( ctx, params, decisionRule ) ) {
-                matchingDecisionRules.add( decisionRule );
+        byte[] outcomes = new byte[ sharedTests.length ];
+        for ( int i = 0; i < ruleTestIds.length; i++ ) {
+            if ( matches( params, ruleTestIds[i], columnOrder, outcomes ) ) {
+                matchingDecisionRules.add( decisionRules.get( i ) );
+                if ( firstOnly ) {
+                    break;
+                }
+            }
+        }
+        notifyRulesMatched( ctx, matchingDecisionRules );
+        return matchingDecisionRules;
+    }
+
+    /**
+     * Finds the rules of the rule store that match a given set of parameters. When an input column
+     * is indexed, only the rules the index lists for the value of that column are tested.
+     */
+    private List<DTDecisionRule> findStoredMatches(EvaluationContext ctx, LazyInputs params, boolean firstOnly) {
+        int[] order = columnOrder;
+        byte[][] keys = new byte[ inputs.size() ][];
+        boolean[] keyed = new boolean[ inputs.size() ];
+        int[] candidates = null;
+        for ( int c : order ) {
+            if ( ruleStore.isIndexed( c ) ) {
+                candidates = ruleStore.findRules( c, storeKey( params, c, keys, keyed ) );
+                break;
+            }
+        }
+        List<DTDecisionRule> matchingDecisionRules = new ArrayList<>();
+        int count = candidates != null ? candidates.length : ruleStore.getRuleCount();
+        for ( int i = 0; i < count; i++ ) {
+            int rule = candidates != null ? candidates[i] : i;
+            if ( storedRuleMatches( params, rule, order, keys, keyed ) ) {
+                matchingDecisionRules.add( ruleStore.getRule( rule ) );
+                if ( firstOnly ) {
+                    break;
+                }
+            }
+        }
+        notifyRulesMatched( ctx, matchingDecisionRules );
+        return matchingDecisionRules;
+    }
+
+    private boolean storedRuleMatches(LazyInputs params, int rule, int[] order, byte[][] keys, boolean[] keyed) {
+        for ( int c : order ) {
+            if ( !ruleStore.matches( rule, c, params.get( c ), storeKey( params, c, keys, keyed ) ) ) {
+                return false;
             }
         }
+        return true;
+    }
+
+    private static byte[] storeKey(LazyInputs params, int column, byte[][] keys, boolean[] keyed) {
+        if ( !keyed[column] ) {
+            keys[column] = DTRuleStore.keyOf( params.get( column ) );
+            keyed[column] = true;
+        }
+        return keys[column];
+    }
+
+    private void notifyRulesMatched(EvaluationContext ctx, List<DTDecisionRule> matchingDecisionRules) {
         FEELEventListenersManager.notifyListeners( ctx.getEventsManager() , () -> {
             List<Integer> matches = matchingDecisionRules.stream().map( dr -> dr.getIndex() ).collect( Collectors.toList() );
             return new DecisionTableRulesMatchedEvent(FEELEvent.Severity.INFO,
@@ -156,59 +602,249 @@ public class DecisionTableImpl {
                                                       matches );
             }
         );
-        return matchingDecisionRules;
     }
 
     /**
-     * Checks if the parameters match a single rule
-     * @param ctx
+     * Feeds the output of each matching rule straight into the aggregator, without
+     * collecting the matches and their outputs first
+     */
+    private Object aggregate(EvaluationContext ctx, Map<String, Object> variables, FEEL feel, LazyInputs params, DTCollectAggregator aggregator) {
+        // the indexes of the matched rules are only needed if someone is listening
+        final List<Integer> matchedIndexes = ctx.getEventsManager() != null && ctx.getEventsManager().hasListeners() ? new ArrayList<>() : null;
+        boolean matched = false;
+        byte[] outcomes = new byte[ sharedTests.length ];
+        for ( int i = 0; i < ruleTestIds.length; i++ ) {
+            if ( matches( params, ruleTestIds[i], columnOrder, outcomes ) ) {
+                DTDecisionRule rule = decisionRules.get( i );
+                if ( matchedIndexes != null ) {
+                    matchedIndexes.add( rule.getIndex() );
+                }
+                aggregator.accumulate( hitToOutput( variables, feel, rule ) );
+                matched = true;
+            }
+        }
+        if ( matchedIndexes != null ) {
+            FEELEventListenersManager.notifyListeners( ctx.getEventsManager(), () -> new DecisionTableRulesMatchedEvent( FEELEvent.Severity.INFO,
+                                                                                                                      "Rules matched for decision table '" + getName() + "': " + matchedIndexes.toString(),
+                                                                                                                      getName(),
+                                                                                                                      matchedIndexes ) );
+        }
+        return matched ? aggregator.getResult() : null;
+    }
+
+    /**
+     * Checks if the parameters match a single rule. The tests whose input column is already
+     * evaluated are checked first, as they are free, then the others in the given column order,
+     * so that a lazy input column is only evaluated when all the other tests of the rule passed.
+     * Dash entries match anything and never cause their column to be evaluated.
+     *
      * @param params
-     * @param rule
+     * @param testIds the shared tests of the rule's input entries
+     * @param order the order in which the input columns are tested
+     * @param outcomes the outcome of each shared test already evaluated for these parameters
      * @return
      */
-    private boolean matches(EvaluationContext ctx, Object[] params, DTDecisionRule rule) {
-        for( int i = 0; i < params.length; i++ ) {
-            if( ! satisfies( ctx, params[i], rule.getInputEntry().get( i ) ) ) {
+    private boolean matches(LazyInputs params, int[] testIds, int[] order, byte[] outcomes) {
+        for ( int c : order ) {
+            if ( params.evaluated[c] && !isSatisfied( params, c, testIds[c], outcomes ) ) {
+                return false;
+            }
+        }
+        for ( int c : order ) {
+            if ( !isSatisfied( params, c, testIds[c], outcomes ) ) {
                 return false;
             }
         }
         return true;
     }
 
-    /**
-     * Checks that a given parameter matches a single cell test
-     * @param ctx
-     * @param param
-     * @param test
-     * @return
-     */
-    private boolean satisfies(EvaluationContext ctx, Object param, UnaryTest test ) {
-        return test.apply( param );
+    private boolean isSatisfied(LazyInputs params, int column, int id, byte[] outcomes) {
+        if ( outcomes[id] == NOT_EVALUATED ) {
+            if ( sharedTests[id] == DTUnaryTests.DASH ) {
+                outcomes[id] = SATISFIED;
+            } else {
+                boolean satisfied = sharedTestCodes[id] != null ?
+                                    ColumnDictionary.matches( sharedTestCodes[id], params.code( column ) ) :
+                                    DTUnaryTests.isSatisfied( sharedTests[id], params.get( column ) );
+                outcomes[id] = satisfied ? SATISFIED : NOT_SATISFIED;
+            }
+        }
+        return outcomes[id] == SATISFIED;
     }
 
-    private List<Object> evaluateResults(EvaluationContext ctx, FEEL feel, Object[] params, List<DTDecisionRule> matchingDecisionRules) {
-        List<Object> results = matchingDecisionRules.stream().map( dr -> hitToOutput( ctx, feel, dr ) ).collect( Collectors.toList());
+    private List<Object> evaluateResults(Map<String, Object> variables, FEEL feel, List<DTDecisionRule> matchingDecisionRules) {
+        List<Object> results = new ArrayList<>( matchingDecisionRules.size() );
+        for ( DTDecisionRule dr : matchingDecisionRules ) {
+            results.add( hitToOutput( variables, feel, dr ) );
+        }
         return results;
     }
 
+    /**
+     * Hit policies that do not need the output of every matched rule get a results list
+     * that evaluates each output entry the first time it is read
+     */
+    private static boolean evaluatesOutputsOnDemand(HitPolicy hitPolicy) {
+        switch ( hitPolicy ) {
+            case UNIQUE:
+            case ANY:
+            case PRIORITY:
+            case OUTPUT_ORDER:
+                return true;
+            default:
+                return false;
+        }
+    }
+
     /**
      *  Each hit results in one output value (multiple outputs are collected into a single context value)
      */
-    private Object hitToOutput(EvaluationContext ctx, FEEL feel, DTDecisionRule rule) {
+    private Object hitToOutput(Map<String, Object> values, FEEL feel, DTDecisionRule rule) {
         List<String> outputEntries = rule.getOutputEntry();
-        Map<String, Object> values = ctx.getAllValues();
         if ( outputEntries.size() == 1 ) {
             Object value = feel.evaluate( outputEntries.get( 0 ), values );
             return value;
         } else {
-            // zip outputEntries with its name:
-            return IntStream.range( 0, outputs.size() ).boxed()
-                    .collect( toMap( i -> outputs.get( i ).getName(), i -> feel.evaluate( outputEntries.get( i ), values ) ) );
+            // zip outputEntries with its name; do not use Collectors.toMap() as it does not support null for values.
+            Map<String, Object> output = new HashMap<>();
+            for ( int i = 0; i < outputs.size(); i++ ) {
+                output.put( outputs.get( i ).getName(), feel.evaluate( outputEntries.get( i ), values ) );
+            }
+            return output;
         }
     }
 
+    /**
+     * The values of the input expressions for one evaluation, each one evaluated the first time it is read
+     */
+    private class LazyInputs {
+        private final Map<String, Object> variables;
+        private final FEEL                feel;
+        // the columns that are never read are left null
+        private final Object[]            values;
+        private final boolean[]           evaluated;
+        // the dictionary codes of the values, NOT_ENCODED until looked up
+        private final int[]               codes;
 
+        private LazyInputs(Map<String, Object> variables, FEEL feel) {
+            this.variables = variables;
+            this.feel = feel;
+            this.values = new Object[ inputs.size() ];
+            this.evaluated = new boolean[ inputs.size() ];
+            this.codes = newCodes();
+        }
+
+        private LazyInputs(Object[] values) {
+            this.variables = null;
+            this.feel = null;
+            this.values = values;
+            this.evaluated = new boolean[ values.length ];
+            Arrays.fill( evaluated, true );
+            this.codes = newCodes();
+        }
 
+        private int[] newCodes() {
+            int[] codes = new int[ inputs.size() ];
+            Arrays.fill( codes, NOT_ENCODED );
+            return codes;
+        }
+
+        /**
+         * Returns the code of the value of the given column in its dictionary
+         */
+        private int code(int column) {
+            if ( codes[column] == NOT_ENCODED ) {
+                codes[column] = dictionaries[column].encode( get( column ) );
+            }
+            return codes[column];
+        }
+
+        private Object get(int column) {
+            if ( !evaluated[column] ) {
+                values[column] = feel.evaluate( inputs.get( column ).getInputExpression(), variables );
+                evaluated[column] = true;
+            }
+            return values[column];
+        }
+    }
+
+    private class LazyResults
+            extends AbstractList<Object> {
+        private final Map<String, Object>  variables;
+        private final FEEL                 feel;
+        private final List<DTDecisionRule> matches;
+        private final Object[]             values;
+        private final boolean[]            evaluated;
+
+        private LazyResults(Map<String, Object> variables, FEEL feel, List<DTDecisionRule> matches) {
+            this.variables = variables;
+            this.feel = feel;
+            this.matches = matches;
+            this.values = new Object[ matches.size() ];
+            this.evaluated = new boolean[ matches.size() ];
+        }
+
+        @Override
+        public Object get(int index) {
+            if ( !evaluated[index] ) {
+                values[index] = hitToOutput( variables, feel, matches.get( index ) );
+                evaluated[index] = true;
+            }
+            return values[index];
+        }
+
+        @Override
+        public int size() {
+            return values.length;
+        }
+    }
+
+    /**
+     * Returns the position of the given rule's output entry in the output values list of the
+     * given output, -1 if it is not listed, or {@link #UNKNOWN_RANK} if the output entry is not
+     * a literal and has to be evaluated first.
+     */
+    public int getOutputRank(DTDecisionRule rule, int output) {
+        int index = rule.getIndex();
+        if ( index >= 0 && index < outputRanks.length && decisionRules.get( index ) == rule ) {
+            return outputRanks[index][output];
+        }
+        return UNKNOWN_RANK;
+    }
+
+
+
+
+    /**
+     * Statically analyzes the input entries of this decision table looking for overlapping rules,
+     * subsumed rules and gaps. When the analysis proves that no other rule can change the result
+     * of the first matching rule (e.g. a UNIQUE table without overlaps), from now on evaluation
+     * stops at the first match. Tables backed by a {@link DTRuleStore} are too large to be
+     * analyzed, and get an empty analysis.
+     */
+    public DTAnalysis analyze() {
+        if ( ruleStore != null ) {
+            return new DTAnalysis( Collections.emptyList(), Collections.emptyList(), Collections.emptyList(), false, false );
+        }
+        DTAnalysis analysis = DTAnalyzer.analyze( this );
+        this.firstMatchSufficient = analysis.isFirstMatchSufficient();
+        return analysis;
+    }
+
+    UnaryTest[][] getRuleTests() {
+        return ruleTests;
+    }
+
+    UnaryTest[][] getInputValueTests() {
+        return inputValueTests;
+    }
+
+    /**
+     * Returns the store the rules are read from, or null if they are held in memory
+     */
+    public DTRuleStore getRuleStore() {
+        return ruleStore;
+    }
 
     public HitPolicy getHitPolicy() {
         return hitPolicy;
@@ -218,6 +854,14 @@ public class DecisionTableImpl {
         return name;
     }
 
+    public List<DTInputClause> getInputs() {
+        return inputs;
+    }
+
+    public List<DTDecisionRule> getDecisionRules() {
+        return decisionRules;
+    }
+
     public List<DTOutputClause> getOutputs() {
         return outputs;
     }
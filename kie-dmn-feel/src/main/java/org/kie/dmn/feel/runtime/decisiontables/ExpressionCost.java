@@ -0,0 +1,131 @@
+/*
+ * Copyright 2016 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.dmn.feel.runtime.decisiontables;
+
+import org.kie.dmn.feel.lang.ast.*;
+
+import java.util.List;
+
+/**
+ * Static estimate of the cost of evaluating a compiled FEEL expression, used to test the cheap
+ * input columns of a decision table first. It only depends on the shape of the AST, so the order
+ * of the columns, and the errors raised by the ones that end up being evaluated, do not depend
+ * on the values the table was evaluated with before.
+ */
+final class ExpressionCost {
+
+    // function invocations and iterations are deemed as costly as this many simple nodes
+    static final int INVOCATION = 10;
+    static final int ITERATION  = 10;
+    // unknown nodes, and expressions that failed to compile
+    static final int UNKNOWN    = 100;
+
+    private ExpressionCost() {
+        // utility class
+    }
+
+    static int of(BaseNode node) {
+        if ( node == null ) {
+            return UNKNOWN;
+        }
+        if ( node instanceof StringNode || node instanceof NumberNode || node instanceof BooleanNode || node instanceof NullNode
+             || node instanceof DashNode || node instanceof TypeNode || node instanceof NameDefNode ) {
+            return 0;
+        }
+        if ( node instanceof NameRefNode ) {
+            return 1;
+        }
+        if ( node instanceof QualifiedNameNode ) {
+            return 1 + ((QualifiedNameNode) node).getParts().size();
+        }
+        if ( node instanceof FunctionInvocationNode ) {
+            FunctionInvocationNode fin = (FunctionInvocationNode) node;
+            return INVOCATION + of( fin.getName() ) + of( fin.getParams() );
+        }
+        if ( node instanceof FunctionDefNode ) {
+            return 1;
+        }
+        if ( node instanceof ListNode ) {
+            return 1 + sum( ((ListNode) node).getElements() );
+        }
+        if ( node instanceof ContextNode ) {
+            return 1 + sum( ((ContextNode) node).getEntries() );
+        }
+        if ( node instanceof ContextEntryNode ) {
+            return of( ((ContextEntryNode) node).getValue() );
+        }
+        if ( node instanceof InfixOpNode ) {
+            return 1 + of( ((InfixOpNode) node).getLeft() ) + of( ((InfixOpNode) node).getRight() );
+        }
+        if ( node instanceof BetweenNode ) {
+            BetweenNode bn = (BetweenNode) node;
+            return 1 + of( bn.getValue() ) + of( bn.getStart() ) + of( bn.getEnd() );
+        }
+        if ( node instanceof IfExpressionNode ) {
+            IfExpressionNode ien = (IfExpressionNode) node;
+            return 1 + of( ien.getCondition() ) + Math.max( of( ien.getThenExpression() ), of( ien.getElseExpression() ) );
+        }
+        if ( node instanceof InNode ) {
+            return 1 + of( ((InNode) node).getValue() ) + of( ((InNode) node).getExprs() );
+        }
+        if ( node instanceof RangeNode ) {
+            return 1 + of( ((RangeNode) node).getStart() ) + of( ((RangeNode) node).getEnd() );
+        }
+        if ( node instanceof UnaryTestNode ) {
+            return 1 + of( ((UnaryTestNode) node).getValue() );
+        }
+        if ( node instanceof SignedUnaryNode ) {
+            return 1 + of( ((SignedUnaryNode) node).getExpression() );
+        }
+        if ( node instanceof NotNode ) {
+            return 1 + of( ((NotNode) node).getExpression() );
+        }
+        if ( node instanceof InstanceOfNode ) {
+            return 1 + of( ((InstanceOfNode) node).getExpression() );
+        }
+        if ( node instanceof NamedParameterNode ) {
+            return of( ((NamedParameterNode) node).getExpression() );
+        }
+        if ( node instanceof PathExpressionNode ) {
+            return 2 + of( ((PathExpressionNode) node).getExpression() );
+        }
+        if ( node instanceof FilterExpressionNode ) {
+            FilterExpressionNode fen = (FilterExpressionNode) node;
+            return ITERATION + of( fen.getExpression() ) + of( fen.getFilter() );
+        }
+        if ( node instanceof ForExpressionNode ) {
+            ForExpressionNode fen = (ForExpressionNode) node;
+            return ITERATION + sum( fen.getIterationContexts() ) + of( fen.getExpression() );
+        }
+        if ( node instanceof QuantifiedExpressionNode ) {
+            QuantifiedExpressionNode qen = (QuantifiedExpressionNode) node;
+            return ITERATION + sum( qen.getIterationContexts() ) + of( qen.getExpression() );
+        }
+        if ( node instanceof IterationContextNode ) {
+            return of( ((IterationContextNode) node).getExpression() );
+        }
+        return UNKNOWN;
+    }
+
+    private static int sum(List<? extends BaseNode> nodes) {
+        int cost = 0;
+        for ( BaseNode node : nodes ) {
+            cost += of( node );
+        }
+        return cost;
+    }
+}
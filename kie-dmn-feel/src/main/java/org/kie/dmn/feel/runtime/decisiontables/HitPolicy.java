@@ -22,11 +22,11 @@ import org.kie.dmn.feel.runtime.events.FEELEvent;
 import org.kie.dmn.feel.runtime.events.HitPolicyViolationEvent;
 import org.kie.dmn.feel.runtime.events.InvalidInputEvent;
 
-import java.math.BigDecimal;
+import java.util.ArrayList;
 import java.util.Collections;
-import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.function.Function;
 import java.util.stream.Collector;
 import java.util.stream.Stream;
@@ -152,13 +152,19 @@ public enum HitPolicy {
                              List<DTDecisionRule> matches,
                              List<Object> results) {
         if ( matches.size() > 1 ) {
-            long distinctOutputEntry = results.stream()
-                    .distinct()
-                    .count();
-            if ( distinctOutputEntry > 1 ) {
-                throw new RuntimeException( "multiple rules can match, but they [must] all have the same output" );
+            // rules with the same output entries as the first match produce the same output, so only
+            // the outputs of the other rules need to be evaluated and compared
+            List<String> firstOutputEntry = matches.get( 0 ).getOutputEntry();
+            Object first = results.get( 0 );
+            for ( int i = 1; i < matches.size(); i++ ) {
+                if ( !matches.get( i ).getOutputEntry().equals( firstOutputEntry ) && !Objects.equals( first, results.get( i ) ) ) {
+                    throw new RuntimeException( "multiple rules can match, but they [must] all have the same output" );
+                }
             }
 
+            return first;
+        }
+        if ( matches.size() == 1 ) {
             return results.get( 0 );
         }
         return null;
@@ -172,8 +178,17 @@ public enum HitPolicy {
                                   Object[] params,
                                   List<DTDecisionRule> matches,
                                   List<Object> results) {
-        Object result = outputOrder( ctx, dt, params, matches, results );
-        return result != null ? ((List) result).get( 0 ) : null;
+        if ( matches.isEmpty() ) {
+            return null;
+        }
+        // only the output of the winning rule is needed
+        int best = 0;
+        for ( int i = 1; i < matches.size(); i++ ) {
+            if ( compareByOutputsOrder( dt, matches, results, i, best ) < 0 ) {
+                best = i;
+            }
+        }
+        return results.get( best );
     }
 
     /**
@@ -188,34 +203,53 @@ public enum HitPolicy {
             return null;
         }
 
-        if ( dt.getOutputs().size() == 1 && !dt.getOutputs().get( 0 ).getOutputValues().isEmpty() ) {
-            // single output, just sort the results
-            List<String> outs = dt.getOutputs().get( 0 ).getOutputValues();
-            results.sort( (r1, r2) -> {
-                return sortByOutputsOrder( outs, r1, r2 );
-            } );
-        } else if ( dt.getOutputs().size() > 1 ) {
-            // multiple outputs, collect the ones that have values listed
-            List<DTOutputClause> priorities = dt.getOutputs().stream().filter( o -> !o.getOutputValues().isEmpty() ).collect( toList() );
-            results.sort( (r1, r2) -> {
-                Map<String, Object> m1 = (Map<String, Object>) r1;
-                Map<String, Object> m2 = (Map<String, Object>) r2;
-                for ( DTOutputClause oc : priorities ) {
-                    int o = sortByOutputsOrder( oc.getOutputValues(), m1.get( oc.getName() ), m2.get( oc.getName() ) );
-                    if ( o != 0 ) {
-                        return o;
-                    }
-                }
-                // unable to sort, so keep order
-                return 0;
-            } );
+        // sort the match positions, so that literal output entries are ranked without being evaluated
+        List<Integer> order = new ArrayList<>( matches.size() );
+        for ( int i = 0; i < matches.size(); i++ ) {
+            order.add( i );
         }
-        return results;
+        order.sort( (i1, i2) -> compareByOutputsOrder( dt, matches, results, i1, i2 ) );
+        List<Object> sorted = new ArrayList<>( order.size() );
+        for ( Integer i : order ) {
+            sorted.add( results.get( i ) );
+        }
+        return sorted;
+    }
+
+    /**
+     * Compares two matches by the outputs that have output values listed, in output order. Outputs
+     * that are not listed sort last, and matches that cannot be told apart keep their rule order.
+     */
+    private static int compareByOutputsOrder(DecisionTableImpl dt, List<DTDecisionRule> matches, List<Object> results, int m1, int m2) {
+        List<DTOutputClause> outputs = dt.getOutputs();
+        for ( int o = 0; o < outputs.size(); o++ ) {
+            if ( outputs.get( o ).getOutputValues().isEmpty() ) {
+                continue;
+            }
+            int r1i = outputRank( dt, matches, results, m1, o );
+            int r2i = outputRank( dt, matches, results, m2, o );
+            int c = sortByOutputsOrder( r1i, r2i );
+            if ( c != 0 ) {
+                return c;
+            }
+        }
+        return 0;
     }
 
-    private static int sortByOutputsOrder(List<String> outs, Object r1, Object r2) {
-        int r1i = outs.indexOf( r1 );
-        int r2i = outs.indexOf( r2 );
+    private static int outputRank(DecisionTableImpl dt, List<DTDecisionRule> matches, List<Object> results, int match, int output) {
+        int rank = dt.getOutputRank( matches.get( match ), output );
+        if ( rank == DecisionTableImpl.UNKNOWN_RANK ) {
+            DTOutputClause oc = dt.getOutputs().get( output );
+            Object value = results.get( match );
+            if ( dt.getOutputs().size() > 1 ) {
+                value = ((Map<String, Object>) value).get( oc.getName() );
+            }
+            rank = oc.getOutputValues().indexOf( value );
+        }
+        return rank;
+    }
+
+    private static int sortByOutputsOrder(int r1i, int r2i) {
         if ( r1i >= 0 && r2i >= 0 ) {
             return r1i - r2i;
         } else if ( r1i >= 0 ) {
@@ -263,6 +297,14 @@ public enum HitPolicy {
                 .collect( singleValueOrContext( dt.getOutputs() ) );
     }
 
+    private static Object aggregate(HitPolicy hitPolicy, DecisionTableImpl dt, List<Object> results) {
+        DTCollectAggregator aggregator = DTCollectAggregator.forHitPolicy( hitPolicy, dt.getOutputs() );
+        for ( Object result : results ) {
+            aggregator.accumulate( result );
+        }
+        return aggregator.getResult();
+    }
+
     /**
      * C# – return the count of the outputs
      */
@@ -271,10 +313,7 @@ public enum HitPolicy {
                                       Object[] params,
                                       List<DTDecisionRule> matches,
                                       List<Object> results) {
-        return generalizedCollect( ctx,
-                                   dt,
-                                   results,
-                                   x -> new BigDecimal( x.collect( toSet() ).size() ) );
+        return aggregate( COLLECT_COUNT, dt, results );
     }
 
     /**
@@ -285,10 +324,7 @@ public enum HitPolicy {
                                     Object[] params,
                                     List<DTDecisionRule> matches,
                                     List<Object> results) {
-        return generalizedCollect( ctx,
-                                   dt,
-                                   results,
-                                   x -> x.map( y -> (Comparable) y ).collect( minBy( Comparator.naturalOrder() ) ).orElse( null ) );
+        return aggregate( COLLECT_MIN, dt, results );
     }
 
     /**
@@ -299,10 +335,7 @@ public enum HitPolicy {
                                     Object[] params,
                                     List<DTDecisionRule> matches,
                                     List<Object> results) {
-        return generalizedCollect( ctx,
-                                   dt,
-                                   results,
-                                   x -> x.map( y -> (Comparable) y ).collect( maxBy( Comparator.naturalOrder() ) ).orElse( null ) );
+        return aggregate( COLLECT_MAX, dt, results );
     }
 
     /**
@@ -313,17 +346,6 @@ public enum HitPolicy {
                                     Object[] params,
                                     List<DTDecisionRule> matches,
                                     List<Object> results) {
-        return generalizedCollect( ctx,
-                                   dt,
-                                   results,
-                                   x -> x.reduce( BigDecimal.ZERO, (a, b) -> {
-                                       if ( !(a instanceof Number && b instanceof Number) ) {
-                                           return null;
-                                       } else {
-                                           BigDecimal aB = new BigDecimal( ((Number) a).toString() );
-                                           BigDecimal bB = new BigDecimal( ((Number) b).toString() );
-                                           return aB.add( bB );
-                                       }
-                                   } ) );
+        return aggregate( COLLECT_SUM, dt, results );
     }
 }
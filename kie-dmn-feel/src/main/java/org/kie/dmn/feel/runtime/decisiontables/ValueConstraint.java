@@ -0,0 +1,193 @@
+/*
+ * Copyright 2016 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.dmn.feel.runtime.decisiontables;
+
+import org.kie.dmn.feel.runtime.Range;
+import org.kie.dmn.feel.runtime.UnaryTest;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * A list of allowed values, e.g. the input values of a decision table column or the allowed
+ * values of an item definition, compiled for fast validation. The literal values are kept in
+ * a hash set, the ranges in an array sorted by their low end point and any other test is
+ * checked one by one, after the faster checks failed.
+ *
+ * A value is accepted if it satisfies any of the tests the constraint was compiled from.
+ */
+public final class ValueConstraint {
+
+    private final boolean     acceptsAll;
+    private final Set<Object> values;
+    // sorted by low end point, for the values of endPointClass
+    private final Range[]     ranges;
+    // the highest high end point among ranges[0..i]
+    private final Comparable[] maxHighEndPoints;
+    private final Class<?>    endPointClass;
+    // the tests that can not be indexed, including the ranges when their end points are not of a single type
+    private final UnaryTest[] others;
+
+    private ValueConstraint(boolean acceptsAll, Set<Object> values, List<Range> ranges, Class<?> endPointClass, List<UnaryTest> others) {
+        this.acceptsAll = acceptsAll;
+        this.values = values;
+        this.endPointClass = endPointClass;
+        this.ranges = ranges.toArray( new Range[ranges.size()] );
+        Arrays.sort( this.ranges, Comparator.comparing( r -> (Comparable) r.getLowEndPoint() ) );
+        this.maxHighEndPoints = new Comparable[ this.ranges.length ];
+        for ( int i = 0; i < this.ranges.length; i++ ) {
+            Comparable high = this.ranges[i].getHighEndPoint();
+            maxHighEndPoints[i] = i > 0 && maxHighEndPoints[i - 1].compareTo( high ) > 0 ? maxHighEndPoints[i - 1] : high;
+        }
+        this.others = others.toArray( new UnaryTest[others.size()] );
+    }
+
+    /**
+     * Compiles the given tests, or returns null if there are none, i.e. any value is allowed
+     */
+    public static ValueConstraint of(List<UnaryTest> tests) {
+        if ( tests == null || tests.isEmpty() ) {
+            return null;
+        }
+        boolean acceptsAll = false;
+        Set<Object> values = new HashSet<>();
+        List<Range> ranges = new ArrayList<>();
+        List<UnaryTest> others = new ArrayList<>();
+        for ( UnaryTest t : tests ) {
+            collect( t, values, ranges, others );
+            acceptsAll |= t == DTUnaryTests.DASH;
+        }
+        Class<?> endPointClass = getEndPointClass( ranges );
+        if ( endPointClass == null ) {
+            ranges.forEach( r -> others.add( DTUnaryTests.range( r ) ) );
+            ranges.clear();
+        }
+        return new ValueConstraint( acceptsAll, values, ranges, endPointClass, others );
+    }
+
+    /**
+     * Compiles a list of allowed values as evaluated from FEEL, where each element is either
+     * a literal value, a range or a unary test
+     */
+    public static ValueConstraint ofValues(List<?> allowedValues) {
+        if ( allowedValues == null || allowedValues.isEmpty() ) {
+            return null;
+        }
+        List<UnaryTest> tests = new ArrayList<>( allowedValues.size() );
+        for ( Object o : allowedValues ) {
+            if ( o instanceof UnaryTest ) {
+                tests.add( (UnaryTest) o );
+            } else if ( o instanceof Range ) {
+                tests.add( DTUnaryTests.range( (Range) o ) );
+            } else {
+                tests.add( DTUnaryTests.equalTo( o ) );
+            }
+        }
+        return of( tests );
+    }
+
+    private static void collect(UnaryTest t, Set<Object> values, List<Range> ranges, List<UnaryTest> others) {
+        if ( t instanceof DTUnaryTests.EqualsTest ) {
+            Object value = ((DTUnaryTests.EqualsTest) t).getValue();
+            // an equality to null never matches
+            if ( value != null ) {
+                values.add( value );
+            }
+        } else if ( t instanceof DTUnaryTests.RangeTest && isBounded( ((DTUnaryTests.RangeTest) t).getRange() ) ) {
+            ranges.add( ((DTUnaryTests.RangeTest) t).getRange() );
+        } else if ( t instanceof DTUnaryTests.DisjunctionTest ) {
+            for ( UnaryTest d : ((DTUnaryTests.DisjunctionTest) t).getTests() ) {
+                collect( d, values, ranges, others );
+            }
+        } else if ( t != DTUnaryTests.DASH ) {
+            others.add( t );
+        }
+    }
+
+    private static boolean isBounded(Range r) {
+        return r.getLowEndPoint() != null && r.getHighEndPoint() != null && r.getLowBoundary() != null && r.getHighBoundary() != null;
+    }
+
+    // the ranges are only indexed when all their end points are of the same type
+    private static Class<?> getEndPointClass(List<Range> ranges) {
+        if ( ranges.isEmpty() ) {
+            return null;
+        }
+        Class<?> c = ranges.get( 0 ).getLowEndPoint().getClass();
+        for ( Range r : ranges ) {
+            if ( r.getLowEndPoint().getClass() != c || r.getHighEndPoint().getClass() != c ) {
+                return null;
+            }
+        }
+        return c;
+    }
+
+    public boolean accepts(Object value) {
+        if ( acceptsAll ) {
+            return true;
+        }
+        if ( value != null ) {
+            if ( values.contains( value ) ) {
+                return true;
+            }
+            if ( ranges.length > 0 && endPointClass.isInstance( value ) && inRanges( (Comparable) value ) ) {
+                return true;
+            }
+        }
+        for ( UnaryTest t : others ) {
+            if ( DTUnaryTests.isSatisfied( t, value ) ) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean inRanges(Comparable value) {
+        // the last range starting at or before the value
+        int low = 0;
+        int high = ranges.length - 1;
+        int last = -1;
+        while ( low <= high ) {
+            int mid = (low + high) >>> 1;
+            if ( ranges[mid].getLowEndPoint().compareTo( value ) <= 0 ) {
+                last = mid;
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        // walk back only while an earlier range can still reach the value
+        for ( int i = last; i >= 0 && maxHighEndPoints[i].compareTo( value ) >= 0; i-- ) {
+            if ( Boolean.TRUE.equals( ranges[i].includes( value ) ) ) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the literal values of this constraint, e.g. to enumerate an input domain
+     */
+    public Set<Object> getValues() {
+        return Collections.unmodifiableSet( values );
+    }
+}
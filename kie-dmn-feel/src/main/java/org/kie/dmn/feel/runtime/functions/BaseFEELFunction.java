@@ -21,6 +21,7 @@ import org.kie.dmn.feel.lang.Symbol;
 import org.kie.dmn.feel.runtime.FEELFunction;
 import org.kie.dmn.feel.lang.impl.NamedParameter;
 import org.kie.dmn.feel.lang.types.FunctionSymbol;
+import org.kie.dmn.feel.util.DecimalMath;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -99,6 +100,11 @@ public abstract class BaseFEELFunction implements FEELFunction {
                         params = rearrangeParameters( params, ((DTInvokerFunction) this).getParameterNames().get( 0 ) );
                     }
                     result = ((DTInvokerFunction)this).apply( ctx, params );
+                } else if( this instanceof InvocableFunction ) {
+                    if( isNamedParams ) {
+                        params = rearrangeParameters( params, ((InvocableFunction) this).getParameterNames().get( 0 ) );
+                    }
+                    result = ((InvocableFunction)this).apply( ctx, params );
                 } else {
                     logger.error( "Unable to find function '" + toString() +"'" );
                 }
@@ -203,7 +209,7 @@ public abstract class BaseFEELFunction implements FEELFunction {
 
     private Object normalizeResult(Object result) {
         // this is to normalize types returned by external functions
-        return result != null && result instanceof Number && !(result instanceof BigDecimal) ? new BigDecimal( result.toString() ) : result;
+        return result != null && result instanceof Number && !(result instanceof BigDecimal) ? DecimalMath.toBigDecimal( (Number) result ) : result;
     }
 
     protected boolean isCustomFunction() {
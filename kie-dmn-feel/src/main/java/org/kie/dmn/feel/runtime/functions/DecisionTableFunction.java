@@ -124,11 +124,11 @@ public class DecisionTableFunction
         if ( o instanceof UnaryTest ) {
             return (UnaryTest) o;
         } else if ( o instanceof Range ) {
-            return x -> ((Range) o).includes( (Comparable<?>) x );
+            return DTUnaryTests.range( (Range) o );
         } else if ( o instanceof List ) {
             return x -> ((List<?>) o).contains( x );
         } else {
-            return x -> x.equals( o );
+            return DTUnaryTests.equalTo( o );
         }
     }
 
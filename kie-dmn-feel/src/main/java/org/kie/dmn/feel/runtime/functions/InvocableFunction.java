@@ -0,0 +1,161 @@
+/*
+ * Copyright 2016 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.dmn.feel.runtime.functions;
+
+import org.kie.dmn.feel.lang.EvaluationContext;
+import org.kie.dmn.feel.runtime.FEELFunction;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.stream.Collectors;
+
+/**
+ * A function defined once in a model, e.g. a business knowledge model, and shared by all the
+ * expressions that invoke it. The body is an already compiled function that receives the
+ * arguments in the order of the formal parameters.
+ *
+ * When memoization is enabled, the results are cached by the arguments they were computed
+ * from, so it must only be enabled for bodies that always return the same result for the same
+ * arguments. Null results are never cached, so that errors are reported on every invocation.
+ */
+public class InvocableFunction
+        extends BaseFEELFunction {
+
+    private static final Logger logger = LoggerFactory.getLogger( InvocableFunction.class );
+
+    private final List<String>                       parameters;
+    private final FEELFunction                       body;
+    // functions the body can invoke, e.g. other business knowledge models
+    private final Map<String, FEELFunction>          scope = new LinkedHashMap<>();
+    private final int                                maxMemoizedResults;
+    private final ConcurrentMap<List<Object>, Object> results;
+
+    public InvocableFunction(String name, List<String> parameters, FEELFunction body) {
+        this( name, parameters, body, 0 );
+    }
+
+    /**
+     * @param maxMemoizedResults the number of results to memoize, 0 disables memoization
+     */
+    public InvocableFunction(String name, List<String> parameters, FEELFunction body, int maxMemoizedResults) {
+        super( name );
+        this.parameters = Collections.unmodifiableList( parameters );
+        this.body = body;
+        this.maxMemoizedResults = maxMemoizedResults;
+        this.results = maxMemoizedResults > 0 ? new ConcurrentHashMap<>() : null;
+    }
+
+    public List<List<String>> getParameterNames() {
+        return Collections.singletonList( parameters );
+    }
+
+    /**
+     * Returns the position of the given parameter in the arguments of this function, or -1
+     * if there is no such parameter
+     */
+    public int getParameterIndex(String name) {
+        return parameters.indexOf( name );
+    }
+
+    public int getParameterCount() {
+        return parameters.size();
+    }
+
+    public FEELFunction getBody() {
+        return body;
+    }
+
+    /**
+     * Makes the given function visible to the body of this function under the given name
+     */
+    public void addToScope(String name, FEELFunction function) {
+        scope.put( name, function );
+    }
+
+    public Map<String, FEELFunction> getScope() {
+        return Collections.unmodifiableMap( scope );
+    }
+
+    public boolean isMemoized() {
+        return results != null;
+    }
+
+    public int getMemoizedResultCount() {
+        return results != null ? results.size() : 0;
+    }
+
+    public void clearMemoizedResults() {
+        if ( results != null ) {
+            results.clear();
+        }
+    }
+
+    public Object apply(EvaluationContext ctx, Object[] params) {
+        if ( params.length != parameters.size() ) {
+            logger.error( "Illegal invocation of function. Expecting " + getSignature() + " but got " + getName() + "( " + Arrays.asList( params ) + " )" );
+            return null;
+        }
+        if ( results == null ) {
+            return invokeBody( ctx, params );
+        }
+        List<Object> key = Arrays.asList( params.clone() );
+        Object result = results.get( key );
+        if ( result == null ) {
+            result = invokeBody( ctx, params );
+            if ( result != null && results.size() < maxMemoizedResults ) {
+                results.putIfAbsent( key, result );
+            }
+        }
+        return result;
+    }
+
+    private Object invokeBody(EvaluationContext ctx, Object[] params) {
+        if ( scope.isEmpty() ) {
+            return body.applyReflectively( ctx, params );
+        }
+        try {
+            ctx.enterFrame();
+            for ( Map.Entry<String, FEELFunction> f : scope.entrySet() ) {
+                ctx.setValue( f.getKey(), f.getValue() );
+            }
+            return body.applyReflectively( ctx, params );
+        } finally {
+            ctx.exitFrame();
+        }
+    }
+
+    private String getSignature() {
+        return getName() + "( " + parameters.stream().collect( Collectors.joining( ", " ) ) + " )";
+    }
+
+    @Override
+    protected boolean isCustomFunction() {
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        return "function " + getSignature();
+    }
+}
@@ -20,9 +20,16 @@ import org.kie.dmn.feel.lang.EvaluationContext;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.UndeclaredThrowableException;
 import java.util.Arrays;
 import java.util.List;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 public class JavaFunction
@@ -33,12 +40,39 @@ public class JavaFunction
     private final List<String> parameters;
     private final Class        clazz;
     private final Method       method;
+    // resolved once: a handle taking the arguments as an Object[] and returning an Object,
+    // and the conversion of each argument to the type of the parameter
+    private final MethodHandle                 handle;
+    private final Function<Object, Object>[]   coercers;
 
     public JavaFunction(String name, List<String> parameters, Class clazz, Method method) {
         super( name );
         this.parameters = parameters;
         this.clazz = clazz;
         this.method = method;
+        this.handle = staticMethodHandle( method );
+        Class<?>[] paramTypes = method.getParameterTypes();
+        this.coercers = new Function[ paramTypes.length ];
+        for ( int i = 0; i < paramTypes.length; i++ ) {
+            coercers[i] = coercer( paramTypes[i], i < parameters.size() ? parameters.get( i ) : null );
+        }
+    }
+
+    /**
+     * Returns a handle to the given static method, adapted to be invoked with an Object[] of arguments,
+     * or null if the method is not static or not accessible, in which case it is invoked reflectively
+     */
+    private static MethodHandle staticMethodHandle(Method method) {
+        if ( !Modifier.isStatic( method.getModifiers() ) ) {
+            return null;
+        }
+        try {
+            MethodHandle mh = MethodHandles.publicLookup().unreflect( method );
+            return mh.asSpreader( Object[].class, method.getParameterCount() )
+                     .asType( MethodType.methodType( Object.class, Object[].class ) );
+        } catch ( IllegalAccessException e ) {
+            return null;
+        }
     }
 
     public List<List<String>> getParameterNames() {
@@ -56,7 +90,7 @@ public class JavaFunction
                 ctx.setValue( parameters.get( i ), params[i] );
             }
             Object[] actualParams = prepareParams( params );
-            Object result = method.invoke( clazz, actualParams );
+            Object result = invoke( actualParams );
             return result;
         } catch ( Exception e ) {
             logger.error( "Error invoking function " + getSignature() + ".", e );
@@ -66,40 +100,73 @@ public class JavaFunction
         return null;
     }
 
-    private Object[] prepareParams(Object[] params) {
-        Object[] actual = new Object[ params.length ];
-        Class[] paramTypes = method.getParameterTypes();
-        for( int i = 0; i < paramTypes.length; i++ ) {
-            if( paramTypes[i].isAssignableFrom( params[i].getClass() ) ) {
-                actual[i] = params[i];
-            } else {
-                // try to coerce
-                if( params[i] == null ) {
-                    actual[i] = null;
-                } else if( params[i] instanceof Number ) {
-                    if( paramTypes[i] == byte.class || paramTypes[i] == Byte.class ) {
-                        actual[i] = ((Number)params[i]).byteValue();
-                    } else if( paramTypes[i] == short.class || paramTypes[i] == Short.class ) {
-                        actual[i] = ((Number) params[i]).shortValue();
-                    } else if( paramTypes[i] == int.class || paramTypes[i] == Integer.class ) {
-                        actual[i] = ((Number) params[i]).intValue();
-                    } else if( paramTypes[i] == long.class || paramTypes[i] == Long.class ) {
-                        actual[i] = ((Number) params[i]).longValue();
-                    } else if( paramTypes[i] == float.class || paramTypes[i] == Float.class ) {
-                        actual[i] = ((Number) params[i]).floatValue();
-                    } else if( paramTypes[i] == double.class || paramTypes[i] == Double.class ) {
-                        actual[i] = ((Number) params[i]).doubleValue();
-                    } else {
-                        throw new IllegalArgumentException( "Unable to coerce parameter "+parameters.get( 0 )+". Expected "+paramTypes[i]+" but found "+params[i].getClass() );
-                    }
-                } else {
-                    throw new IllegalArgumentException( "Unable to coerce parameter "+parameters.get( 0 )+". Expected "+paramTypes[i]+" but found "+params[i].getClass() );
+    /**
+     * Invokes the method, rethrowing the errors raised by it as is, also when invoked reflectively
+     */
+    private Object invoke(Object[] actualParams) throws Exception {
+        if ( handle == null ) {
+            try {
+                return method.invoke( clazz, actualParams );
+            } catch ( InvocationTargetException e ) {
+                if ( e.getCause() instanceof Error ) {
+                    throw (Error) e.getCause();
                 }
+                throw e;
             }
         }
+        try {
+            return (Object) handle.invokeExact( actualParams );
+        } catch ( Exception | Error e ) {
+            throw e;
+        } catch ( Throwable e ) {
+            throw new UndeclaredThrowableException( e );
+        }
+    }
+
+    private Object[] prepareParams(Object[] params) {
+        Object[] actual = new Object[ params.length ];
+        for( int i = 0; i < coercers.length; i++ ) {
+            actual[i] = coercers[i].apply( params[i] );
+        }
         return actual;
     }
 
+    /**
+     * Returns the conversion of an argument to the given parameter type: values of the type (or of its
+     * wrapper, for primitives) are passed as is, numbers are converted to the numeric type expected
+     */
+    private static Function<Object, Object> coercer(Class<?> type, String parameter) {
+        Function<Number, Object> numeric = numericCoercer( type );
+        // primitive parameters accept their wrapper type
+        Class<?> boxed = MethodType.methodType( type ).wrap().returnType();
+        return value -> {
+            if( value == null || boxed.isInstance( value ) ) {
+                return value;
+            }
+            if( numeric != null && value instanceof Number ) {
+                return numeric.apply( (Number) value );
+            }
+            throw new IllegalArgumentException( "Unable to coerce parameter "+parameter+". Expected "+type+" but found "+value.getClass() );
+        };
+    }
+
+    private static Function<Number, Object> numericCoercer(Class<?> type) {
+        if( type == byte.class || type == Byte.class ) {
+            return Number::byteValue;
+        } else if( type == short.class || type == Short.class ) {
+            return Number::shortValue;
+        } else if( type == int.class || type == Integer.class ) {
+            return Number::intValue;
+        } else if( type == long.class || type == Long.class ) {
+            return Number::longValue;
+        } else if( type == float.class || type == Float.class ) {
+            return Number::floatValue;
+        } else if( type == double.class || type == Double.class ) {
+            return Number::doubleValue;
+        }
+        return null;
+    }
+
     private String getSignature() {
         return getName() + "( " + parameters.stream().collect( Collectors.joining( ", " ) ) + " )";
     }
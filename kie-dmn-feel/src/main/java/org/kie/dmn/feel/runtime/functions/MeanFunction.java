@@ -16,6 +16,8 @@
 
 package org.kie.dmn.feel.runtime.functions;
 
+import org.kie.dmn.feel.util.DecimalMath;
+
 import java.math.BigDecimal;
 import java.math.MathContext;
 import java.util.Arrays;
@@ -36,10 +38,8 @@ public class MeanFunction
     }
 
     public BigDecimal apply(@ParameterName( "list" ) Number single) {
-        if( single instanceof BigDecimal ) {
-            return (BigDecimal) single;
-        } else if( single != null ) {
-            return new BigDecimal( ((Number)single).toString() );
+        if( single != null ) {
+            return DecimalMath.toBigDecimal( single );
         } else {
             return null;
         }
@@ -16,6 +16,8 @@
 
 package org.kie.dmn.feel.runtime.functions;
 
+import org.kie.dmn.feel.util.DecimalMath;
+
 import java.math.BigDecimal;
 import java.util.Arrays;
 import java.util.List;
@@ -33,7 +35,7 @@ public class SumFunction
             if ( element instanceof BigDecimal ) {
                 sum = sum.add( (BigDecimal) element );
             } else if ( element instanceof Number ) {
-                sum = sum.add( new BigDecimal( ((Number) element).toString() ) );
+                sum = sum.add( DecimalMath.toBigDecimal( (Number) element ) );
             } else {
                 return null;
             }
@@ -42,10 +44,8 @@ public class SumFunction
     }
 
     public BigDecimal apply(@ParameterName("list") Number single) {
-        if ( single instanceof BigDecimal ) {
-            return (BigDecimal) single;
-        } else if ( single != null ) {
-            return new BigDecimal( single.toString() );
+        if ( single != null ) {
+            return DecimalMath.toBigDecimal( single );
         } else {
             return null;
         }
@@ -0,0 +1,85 @@
+/*
+ * Copyright 2016 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.dmn.feel.util;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.MathContext;
+
+/**
+ * Arithmetic on FEEL numbers with a fast path for the common small-scale values.
+ *
+ * FEEL arithmetic is defined on DECIMAL128, but rounding to a MathContext is only needed when
+ * the exact result has more than 34 digits. BigDecimal keeps values of up to 18 digits as a
+ * scaled long, and its exact operations on those are plain long arithmetic with an overflow
+ * check, so the exact result is computed first and rounded only if it does not fit. The results
+ * are identical to those of the DECIMAL128 operations.
+ */
+public final class DecimalMath {
+
+    private static final int MAX_EXACT_PRECISION = MathContext.DECIMAL128.getPrecision();
+
+    private DecimalMath() {
+        // utility class
+    }
+
+    public static BigDecimal add(BigDecimal l, BigDecimal r) {
+        if ( !fitsExactly( l, r ) ) {
+            return l.add( r, MathContext.DECIMAL128 );
+        }
+        BigDecimal exact = l.add( r );
+        return exact.precision() <= MAX_EXACT_PRECISION ? exact : l.add( r, MathContext.DECIMAL128 );
+    }
+
+    public static BigDecimal subtract(BigDecimal l, BigDecimal r) {
+        if ( !fitsExactly( l, r ) ) {
+            return l.subtract( r, MathContext.DECIMAL128 );
+        }
+        BigDecimal exact = l.subtract( r );
+        return exact.precision() <= MAX_EXACT_PRECISION ? exact : l.subtract( r, MathContext.DECIMAL128 );
+    }
+
+    /**
+     * Returns false when aligning the scales of the operands of an addition already takes more
+     * than 34 digits, as for 1E+100000000 + 1E-100000000, where the exact result would be huge
+     */
+    private static boolean fitsExactly(BigDecimal l, BigDecimal r) {
+        long scaleDifference = Math.abs( (long) l.scale() - r.scale() );
+        return Math.max( l.precision(), r.precision() ) + scaleDifference <= MAX_EXACT_PRECISION;
+    }
+
+    public static BigDecimal multiply(BigDecimal l, BigDecimal r) {
+        BigDecimal exact = l.multiply( r );
+        return exact.precision() <= MAX_EXACT_PRECISION ? exact : l.multiply( r, MathContext.DECIMAL128 );
+    }
+
+    /**
+     * Converts a number to BigDecimal through its decimal string representation, without
+     * going through a String for the integral types
+     */
+    public static BigDecimal toBigDecimal(Number value) {
+        if ( value instanceof BigDecimal ) {
+            return (BigDecimal) value;
+        } else if ( value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte ) {
+            return BigDecimal.valueOf( value.longValue() );
+        } else if ( value instanceof BigInteger ) {
+            return new BigDecimal( (BigInteger) value );
+        } else {
+            return new BigDecimal( value.toString() );
+        }
+    }
+}
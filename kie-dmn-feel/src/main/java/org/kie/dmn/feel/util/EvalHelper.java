@@ -16,6 +16,9 @@
 
 package org.kie.dmn.feel.util;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.math.BigDecimal;
@@ -23,6 +26,7 @@ import java.math.BigInteger;
 import java.math.MathContext;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Stream;
@@ -34,6 +38,17 @@ import org.slf4j.LoggerFactory;
 public class EvalHelper {
     public static final Logger LOG = LoggerFactory.getLogger(EvalHelper.class);
 
+    /**
+     * Per class cache of the resolved property accessors. Entries are populated lazily
+     * on first access to a given property and are safe to share across threads.
+     */
+    private static final ClassValue<Map<String, PropertyAccessor>> ACCESSORS = new ClassValue<Map<String, PropertyAccessor>>() {
+        @Override
+        protected Map<String, PropertyAccessor> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
     public static String normalizeVariableName(String name) {
         return name.replaceAll( "\\s+", " " );
     }
@@ -45,9 +60,9 @@ public class EvalHelper {
         if ( !BigDecimal.class.isAssignableFrom( value.getClass() ) ) {
             if ( value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte ||
                  value instanceof AtomicLong || value instanceof AtomicInteger ) {
-                value = new BigDecimal( ((Number) value).longValue(), MathContext.DECIMAL128 );
+                value = BigDecimal.valueOf( ((Number) value).longValue() );
             } else if ( value instanceof BigInteger ) {
-                value = new BigDecimal( ((BigInteger) value).toString(), MathContext.DECIMAL128 );
+                value = new BigDecimal( (BigInteger) value, MathContext.DECIMAL128 );
             } else {
                 value = new BigDecimal( ((Number) value).doubleValue(), MathContext.DECIMAL128 );
             }
@@ -127,11 +142,26 @@ public class EvalHelper {
         } else if ( current instanceof Map ) {
             current = ((Map) current).get( property );
         } else {
-            Method getter = getGenericAccessor( current.getClass(), property );
-            current = getter.invoke( current );
+            current = getPropertyAccessor( current.getClass(), property ).get( current );
         }
         return coerceNumber( current );
     }
+
+    /**
+     * Returns the cached accessor for the given property of clazz, resolving it
+     * through {@link #getGenericAccessor(Class, String)} on first use.
+     * @param clazz
+     * @param property
+     * @return the accessor, never null. If the property does not exist, the accessor always returns null.
+     */
+    public static PropertyAccessor getPropertyAccessor(Class<?> clazz, String property) {
+        Map<String, PropertyAccessor> accessors = ACCESSORS.get( clazz );
+        PropertyAccessor accessor = accessors.get( property );
+        if ( accessor == null ) {
+            accessor = accessors.computeIfAbsent( property, p -> PropertyAccessor.of( clazz, p, getGenericAccessor( clazz, p ) ) );
+        }
+        return accessor;
+    }
     
     /**
      * FEEL annotated or else Java accessor.
@@ -190,6 +220,68 @@ public class EvalHelper {
         }
     }
 
+    /**
+     * A resolved property read, backed by a MethodHandle adapted to (Object)Object
+     */
+    public static final class PropertyAccessor {
+        private static final MethodType GETTER_TYPE = MethodType.methodType( Object.class, Object.class );
+
+        private final String       property;
+        private final Method       method;
+        private final MethodHandle handle;
+
+        private PropertyAccessor(String property, Method method, MethodHandle handle) {
+            this.property = property;
+            this.method = method;
+            this.handle = handle;
+        }
+
+        static PropertyAccessor of(Class<?> clazz, String property, Method method) {
+            if ( method == null ) {
+                LOG.debug( "No accessor found for property '{}' on {}", property, clazz );
+                return new PropertyAccessor( property, null, null );
+            }
+            MethodHandle handle = null;
+            try {
+                handle = MethodHandles.publicLookup().unreflect( method ).asType( GETTER_TYPE );
+            } catch ( IllegalAccessException e ) {
+                // not accessible through a method handle, fall back to reflection on each call
+                LOG.debug( "Unable to create method handle for {}, using reflection instead", method );
+            }
+            return new PropertyAccessor( property, method, handle );
+        }
+
+        public String getProperty() {
+            return property;
+        }
+
+        public Method getMethod() {
+            return method;
+        }
+
+        /**
+         * True if the property is read through a method handle, false if through reflection
+         */
+        boolean isMethodHandle() {
+            return handle != null;
+        }
+
+        public Object get(Object target)
+                throws IllegalAccessException, InvocationTargetException {
+            if ( handle != null ) {
+                try {
+                    return (Object) handle.invokeExact( target );
+                } catch ( Throwable t ) {
+                    // same contract as Method.invoke()
+                    throw new InvocationTargetException( t );
+                }
+            } else if ( method != null ) {
+                return method.invoke( target );
+            }
+            return null;
+        }
+    }
+
     public static String ucFirst(final String name) {
         return name.toUpperCase().charAt( 0 ) + name.substring( 1 );
     }
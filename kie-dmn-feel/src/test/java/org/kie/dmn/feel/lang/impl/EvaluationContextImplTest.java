@@ -0,0 +1,128 @@
+/*
+ * Copyright 2016 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.dmn.feel.lang.impl;
+
+import org.junit.Test;
+
+import java.util.Map;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.assertThat;
+
+public class EvaluationContextImplTest {
+
+    @Test
+    public void testNestedFrames() {
+        EvaluationContextImpl ctx = new EvaluationContextImpl( new FEELEventListenersManager() );
+        ExecutionFrame global = ctx.peek();
+        ctx.setValue( "a", "global" );
+
+        ctx.enterFrame();
+        ExecutionFrame first = ctx.peek();
+        assertThat( first.getParentFrame(), is( sameInstance( global ) ) );
+        ctx.setValue( "b", "first" );
+        ctx.enterFrame();
+        ExecutionFrame second = ctx.peek();
+        ctx.setValue( "a", "second" );
+        assertThat( ctx.getValue( "a" ), is( "second" ) );
+        assertThat( ctx.getValue( "b" ), is( "first" ) );
+
+        ctx.exitFrame();
+        assertThat( ctx.getValue( "a" ), is( "global" ) );
+        assertThat( ctx.getValue( "b" ), is( "first" ) );
+        ctx.exitFrame();
+        assertThat( ctx.getValue( "b" ), is( nullValue() ) );
+        assertThat( ctx.peek(), is( sameInstance( global ) ) );
+
+        // the frames are reused, without the values of their previous use
+        ctx.enterFrame();
+        assertThat( ctx.peek(), is( sameInstance( first ) ) );
+        assertThat( ctx.getValue( "b" ), is( nullValue() ) );
+        ctx.enterFrame();
+        assertThat( ctx.peek(), is( sameInstance( second ) ) );
+        assertThat( second.getParentFrame(), is( sameInstance( first ) ) );
+        assertThat( ctx.getValue( "a" ), is( "global" ) );
+        ctx.exitFrame();
+        ctx.exitFrame();
+    }
+
+    @Test
+    public void testAllValuesInvalidation() {
+        EvaluationContextImpl ctx = new EvaluationContextImpl( new FEELEventListenersManager() );
+        ctx.setValue( "a", "global" );
+        Map<String, Object> values = ctx.getAllValues();
+        assertThat( values.get( "a" ), is( "global" ) );
+        assertThat( ctx.getAllValues(), is( sameInstance( values ) ) );
+
+        ctx.setValue( "a", "changed" );
+        values = ctx.getAllValues();
+        assertThat( values.get( "a" ), is( "changed" ) );
+
+        ctx.push( new ExecutionFrame( ctx.peek() ) );
+        assertThat( ctx.getAllValues(), is( not( sameInstance( values ) ) ) );
+        ctx.setValue( "a", "inner" );
+        ctx.setValue( "b", "inner" );
+        values = ctx.getAllValues();
+        assertThat( values.get( "a" ), is( "inner" ) );
+        assertThat( values.get( "b" ), is( "inner" ) );
+
+        ctx.pop();
+        values = ctx.getAllValues();
+        assertThat( values.get( "a" ), is( "changed" ) );
+        assertThat( values.containsKey( "b" ), is( false ) );
+
+        ctx.enterFrame();
+        ctx.setValue( "c", "inner" );
+        assertThat( ctx.getAllValues().get( "c" ), is( "inner" ) );
+        ctx.exitFrame();
+        assertThat( ctx.getAllValues().containsKey( "c" ), is( false ) );
+    }
+
+    @Test
+    public void testReleasedContextStartsClean() {
+        FEELEventListenersManager eventsManager = new FEELEventListenersManager();
+        EvaluationContextImpl ctx = EvaluationContextImpl.acquire( eventsManager );
+        ctx.setValue( "a", "global" );
+        ctx.enterFrame();
+        ctx.setValue( "b", "inner" );
+        ctx.enterFrame();
+        ctx.release();
+
+        EvaluationContextImpl reused = EvaluationContextImpl.acquire( eventsManager );
+        // the current thread gets the context it released back
+        assertThat( reused, is( sameInstance( ctx ) ) );
+        assertThat( reused.getEventsManager(), is( sameInstance( eventsManager ) ) );
+        assertThat( reused.getValue( "a" ), is( nullValue() ) );
+        assertThat( reused.getValue( "b" ), is( nullValue() ) );
+        assertThat( reused.getAllValues().containsKey( "a" ), is( false ) );
+        assertThat( reused.getValue( "sum" ), is( notNullValue() ) );
+        reused.enterFrame();
+        assertThat( reused.getValue( "b" ), is( nullValue() ) );
+        reused.exitFrame();
+        // only the root and global frames are left
+        assertThat( reused.peek().getParentFrame().getParentFrame(), is( nullValue() ) );
+        reused.release();
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testGlobalFrameCanNotBePopped() {
+        EvaluationContextImpl ctx = new EvaluationContextImpl( new FEELEventListenersManager() );
+        ctx.enterFrame();
+        ctx.exitFrame();
+        ctx.pop();
+    }
+}
@@ -16,6 +16,8 @@
 
 package org.kie.dmn.feel.parser.feel11;
 
+import org.antlr.v4.runtime.ANTLRInputStream;
+import org.antlr.v4.runtime.CommonTokenStream;
 import org.antlr.v4.runtime.tree.ParseTree;
 import org.junit.Test;
 import org.kie.dmn.feel.lang.ast.*;
@@ -1120,6 +1122,20 @@ public class FEELParserTest {
         assertThat( pathExpr.getName().getText(), is( "first name" ) );
     }
 
+    @Test
+    public void testSourceSharedByNodesOfOtherStreams() {
+        String inputExpression = "1 + 2";
+        FEEL_1_1Parser parser = new FEEL_1_1Parser( new CommonTokenStream( new FEEL_1_1Lexer( new ANTLRInputStream( inputExpression ) ) ) );
+        BaseNode infix = new ASTBuilderVisitor().visit( parser.expression() );
+
+        assertThat( infix, is( instanceOf( InfixOpNode.class ) ) );
+        InfixOpNode add = (InfixOpNode) infix;
+        assertThat( add.getText(), is( inputExpression ) );
+        assertThat( add.getRight().getText(), is( "2" ) );
+        assertThat( add.getLeft().getSource(), is( sameInstance( add.getSource() ) ) );
+        assertThat( add.getRight().getSource(), is( sameInstance( add.getSource() ) ) );
+    }
+
     private void assertLocation(String inputExpression, BaseNode number) {
         assertThat( number.getText(), is( inputExpression ) );
         assertThat( number.getStartChar(), is( 0 ) );
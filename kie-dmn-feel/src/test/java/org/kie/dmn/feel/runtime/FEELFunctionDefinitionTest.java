@@ -30,7 +30,21 @@ public class FEELFunctionDefinitionTest extends BaseFEELTest {
                 {"{ hello world : function() \"Hello World!\", message : hello world() }.message", "Hello World!" },
                 {"{ is minor : function( person's age ) person's age < 18, bob is minor : is minor( 16 ) }.bob is minor", Boolean.TRUE },
                 {"{ maximum : function( v1, v2 ) external { java : { class : \"java.lang.Math\", method signature: \"max(long,long)\" } }, the max : maximum( 10, 20 ) }.the max",
-                        BigDecimal.valueOf( 20 ) }
+                        BigDecimal.valueOf( 20 ) },
+                // numbers are converted to the primitive parameter types, and primitive results are returned as numbers
+                {"{ to string : function( v1 ) external { java : { class : \"java.lang.String\", method signature: \"valueOf(int)\" } }, s : to string( 42 ) }.s", "42" },
+                {"{ power : function( v1, v2 ) external { java : { class : \"java.lang.Math\", method signature: \"pow(double,double)\" } }, p : power( 2, 10 ) }.p",
+                        new BigDecimal( "1024.0" ) },
+                // null arguments are passed as is, and fail when the parameter is primitive
+                {"{ to string : function( v1 ) external { java : { class : \"java.lang.String\", method signature: \"valueOf(java.lang.Object)\" } }, s : to string( null ) }.s", "null" },
+                {"{ maximum : function( v1, v2 ) external { java : { class : \"java.lang.Math\", method signature: \"max(long,long)\" } }, the max : maximum( null, 20 ) }.the max", null },
+                // arguments that can not be converted to the parameter type
+                {"{ to string : function( v1 ) external { java : { class : \"java.lang.String\", method signature: \"valueOf(int)\" } }, s : to string( \"a\" ) }.s", null },
+                // a function definition evaluated many times, with a constant body and with a body that names another method
+                {"for x in [ 1, 2, 3 ] return { maximum : function( v1, v2 ) external { java : { class : \"java.lang.Math\", method signature: \"max(long,long)\" } }, the max : maximum( x, 2 ) }.the max",
+                        Arrays.asList( BigDecimal.valueOf( 2 ), BigDecimal.valueOf( 2 ), BigDecimal.valueOf( 3 ) ) },
+                {"for s in [ \"max(long,long)\", \"min(long,long)\", \"min(long,long)\", \"max(long,long)\" ] return { f : function( v1, v2 ) external { java : { class : \"java.lang.Math\", method signature: s } }, r : f( 1, 2 ) }.r",
+                        Arrays.asList( BigDecimal.valueOf( 2 ), BigDecimal.valueOf( 1 ), BigDecimal.valueOf( 1 ), BigDecimal.valueOf( 2 ) ) }
         };
         return Arrays.asList( cases );
     }
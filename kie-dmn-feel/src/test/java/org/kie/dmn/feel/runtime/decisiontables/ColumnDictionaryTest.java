@@ -0,0 +1,66 @@
+/*
+ * Copyright 2016 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.dmn.feel.runtime.decisiontables;
+
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+import static org.kie.dmn.feel.runtime.decisiontables.DTUnaryTests.*;
+
+public class ColumnDictionaryTest {
+
+    @Test
+    public void testEncoding() {
+        ColumnDictionary d = ColumnDictionary.of( Arrays.asList( equalTo( "STUDENT" ),
+                                                                 or( Arrays.asList( equalTo( "EMPLOYED" ), equalTo( "STUDENT" ) ) ),
+                                                                 DASH,
+                                                                 compare( Comparison.GT, new BigDecimal( 10 ) ) ) );
+
+        assertThat( d.size(), is( 2 ) );
+        int student = d.encode( "STUDENT" );
+        int employed = d.encode( "EMPLOYED" );
+        assertThat( ColumnDictionary.matches( d.codesOf( equalTo( "STUDENT" ) ), student ), is( true ) );
+        assertThat( ColumnDictionary.matches( d.codesOf( equalTo( "STUDENT" ) ), employed ), is( false ) );
+        int[] either = d.codesOf( or( Arrays.asList( equalTo( "EMPLOYED" ), equalTo( "STUDENT" ) ) ) );
+        assertThat( ColumnDictionary.matches( either, student ), is( true ) );
+        assertThat( ColumnDictionary.matches( either, employed ), is( true ) );
+        assertThat( d.codesOf( DASH ), is( nullValue() ) );
+        assertThat( d.codesOf( compare( Comparison.GT, new BigDecimal( 10 ) ) ), is( nullValue() ) );
+    }
+
+    @Test
+    public void testValuesNotInDictionary() {
+        ColumnDictionary d = ColumnDictionary.of( Collections.singletonList( equalTo( "STUDENT" ) ) );
+        int[] student = d.codesOf( equalTo( "STUDENT" ) );
+
+        assertThat( d.encode( "RETIRED" ), is( ColumnDictionary.NOT_IN_DICTIONARY ) );
+        assertThat( d.encode( null ), is( ColumnDictionary.NOT_IN_DICTIONARY ) );
+        assertThat( d.encode( BigDecimal.ONE ), is( ColumnDictionary.NOT_IN_DICTIONARY ) );
+        assertThat( ColumnDictionary.matches( student, ColumnDictionary.NOT_IN_DICTIONARY ), is( false ) );
+    }
+
+    @Test
+    public void testNoStringEquality() {
+        assertThat( ColumnDictionary.of( Arrays.asList( DASH, equalTo( BigDecimal.ONE ) ) ), is( nullValue() ) );
+    }
+}
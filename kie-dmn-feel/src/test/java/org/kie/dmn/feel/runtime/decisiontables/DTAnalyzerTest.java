@@ -0,0 +1,113 @@
+/*
+ * Copyright 2016 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.dmn.feel.runtime.decisiontables;
+
+import org.junit.Test;
+import org.kie.dmn.feel.runtime.Range;
+import org.kie.dmn.feel.runtime.UnaryTest;
+import org.kie.dmn.feel.runtime.impl.RangeImpl;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.kie.dmn.feel.runtime.decisiontables.DTUnaryTests.*;
+
+public class DTAnalyzerTest {
+
+    private static final List<DTInputClause>  AGE    = Collections.singletonList( new DTInputClause( "age", null, null ) );
+    private static final List<DTOutputClause> OUTPUT = Collections.singletonList( new DTOutputClause( "out", null ) );
+
+    @Test
+    public void testUniqueWithoutOverlaps() {
+        DTAnalysis analysis = analyze( AGE, HitPolicy.UNIQUE,
+                                       rule( 0, "\"minor\"", compare( Comparison.LT, n( 18 ) ) ),
+                                       rule( 1, "\"adult\"", range( new RangeImpl( Range.RangeBoundary.CLOSED, n( 18 ), n( 65 ), Range.RangeBoundary.OPEN ) ) ),
+                                       rule( 2, "\"senior\"", compare( Comparison.GTE, n( 65 ) ) ) );
+
+        assertThat( analysis.getOverlaps().isEmpty(), is( true ) );
+        assertThat( analysis.getSubsumptions().isEmpty(), is( true ) );
+        assertThat( analysis.isFirstMatchSufficient(), is( true ) );
+    }
+
+    @Test
+    public void testUniqueWithOverlaps() {
+        DTAnalysis analysis = analyze( AGE, HitPolicy.UNIQUE,
+                                       rule( 0, "\"minor\"", compare( Comparison.LTE, n( 18 ) ) ),
+                                       rule( 1, "\"adult\"", range( new RangeImpl( Range.RangeBoundary.CLOSED, n( 18 ), n( 65 ), Range.RangeBoundary.OPEN ) ) ),
+                                       rule( 2, "\"any\"", DASH ) );
+
+        assertThat( analysis.getOverlaps().size(), is( 3 ) );
+        assertThat( analysis.getOverlaps().get( 0 ).getFirst(), is( 0 ) );
+        assertThat( analysis.getOverlaps().get( 0 ).getSecond(), is( 1 ) );
+        // the dash subsumes the other two rules
+        assertThat( analysis.getSubsumptions().size(), is( 2 ) );
+        assertThat( analysis.getSubsumptions().get( 0 ).getFirst(), is( 2 ) );
+        assertThat( analysis.isFirstMatchSufficient(), is( false ) );
+    }
+
+    @Test
+    public void testUnknownTestsAreNeverProven() {
+        DTAnalysis analysis = analyze( AGE, HitPolicy.UNIQUE,
+                                       rule( 0, "\"a\"", x -> Boolean.TRUE ),
+                                       rule( 1, "\"b\"", compare( Comparison.GT, n( 3 ) ) ) );
+
+        assertThat( analysis.getOverlaps().isEmpty(), is( true ) );
+        assertThat( analysis.isFirstMatchSufficient(), is( false ) );
+    }
+
+    @Test
+    public void testAnyWithSameOutputs() {
+        DTAnalysis analysis = analyze( AGE, HitPolicy.ANY,
+                                       rule( 0, "\"b\"", compare( Comparison.GT, n( 0 ) ) ),
+                                       rule( 1, "\"b\"", DASH ) );
+
+        assertThat( analysis.getOverlaps().isEmpty(), is( true ) );
+        assertThat( analysis.isFirstMatchSufficient(), is( true ) );
+    }
+
+    @Test
+    public void testGaps() {
+        List<DTInputClause> inputs = Arrays.asList( new DTInputClause( "color", "\"r\",\"g\",\"b\"", Arrays.asList( equalTo( "r" ), equalTo( "g" ), equalTo( "b" ) ) ),
+                                                    new DTInputClause( "size", null, null ) );
+        DTAnalysis analysis = analyze( inputs, HitPolicy.FIRST,
+                                       rule( 0, "1", equalTo( "r" ), DASH ),
+                                       rule( 1, "2", or( Arrays.asList( equalTo( "g" ), equalTo( "r" ) ) ), DASH ) );
+
+        assertThat( analysis.isGapsChecked(), is( true ) );
+        assertThat( analysis.getGaps().size(), is( 1 ) );
+        assertThat( analysis.getGaps().get( 0 ).get( 0 ), is( "b" ) );
+    }
+
+    private static DTAnalysis analyze(List<DTInputClause> inputs, HitPolicy hitPolicy, DTDecisionRule... rules) {
+        return new DecisionTableImpl( "test", Collections.emptyList(), inputs, OUTPUT, Arrays.asList( rules ), hitPolicy ).analyze();
+    }
+
+    private static DTDecisionRule rule(int index, String output, UnaryTest... tests) {
+        DTDecisionRule rule = new DTDecisionRule( index );
+        rule.getInputEntry().addAll( Arrays.asList( tests ) );
+        rule.getOutputEntry().add( output );
+        return rule;
+    }
+
+    private static BigDecimal n(int value) {
+        return BigDecimal.valueOf( value );
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright 2016 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.dmn.feel.runtime.decisiontables;
+
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+public class DTCollectAggregatorTest {
+
+    private static final List<DTOutputClause> OUTPUT  = Collections.singletonList( new DTOutputClause( "out", null ) );
+    private static final List<DTOutputClause> OUTPUTS = Arrays.asList( new DTOutputClause( "amount", null ), new DTOutputClause( "label", null ) );
+
+    private static Object aggregate(HitPolicy hitPolicy, List<DTOutputClause> outputs, Object... ruleOutputs) {
+        DTCollectAggregator aggregator = DTCollectAggregator.forHitPolicy( hitPolicy, outputs );
+        for ( Object ruleOutput : ruleOutputs ) {
+            aggregator.accumulate( ruleOutput );
+        }
+        return aggregator.getResult();
+    }
+
+    private static Map<String, Object> output(Object amount, Object label) {
+        Map<String, Object> output = new HashMap<>();
+        output.put( "amount", amount );
+        output.put( "label", label );
+        return output;
+    }
+
+    @Test
+    public void testNotAggregating() {
+        assertThat( DTCollectAggregator.forHitPolicy( HitPolicy.COLLECT, OUTPUT ), is( nullValue() ) );
+        assertThat( DTCollectAggregator.forHitPolicy( HitPolicy.ANY, OUTPUT ), is( nullValue() ) );
+    }
+
+    @Test
+    public void testSum() {
+        assertThat( aggregate( HitPolicy.COLLECT_SUM, OUTPUT, n( 1 ), 2L, new BigDecimal( "0.5" ) ), is( new BigDecimal( "3.5" ) ) );
+        assertThat( aggregate( HitPolicy.COLLECT_SUM, OUTPUT, n( 1 ), null, n( 2 ) ), is( nullValue() ) );
+        assertThat( aggregate( HitPolicy.COLLECT_SUM, OUTPUT, n( 1 ), "2" ), is( nullValue() ) );
+    }
+
+    @Test
+    public void testCount() {
+        assertThat( aggregate( HitPolicy.COLLECT_COUNT, OUTPUT, "a", "b", "a" ), is( n( 2 ) ) );
+        // a null output is one of the distinct outputs
+        assertThat( aggregate( HitPolicy.COLLECT_COUNT, OUTPUT, n( 1 ), null, null ), is( n( 2 ) ) );
+    }
+
+    @Test
+    public void testMinMax() {
+        assertThat( aggregate( HitPolicy.COLLECT_MIN, OUTPUT, n( 3 ), n( 1 ), n( 2 ) ), is( n( 1 ) ) );
+        assertThat( aggregate( HitPolicy.COLLECT_MAX, OUTPUT, n( 3 ), n( 1 ), n( 2 ) ), is( n( 3 ) ) );
+        assertThat( aggregate( HitPolicy.COLLECT_MIN, OUTPUT, "b", "a", "c" ), is( "a" ) );
+        assertThat( aggregate( HitPolicy.COLLECT_MAX, OUTPUT, "b", "a", "c" ), is( "c" ) );
+        // null outputs are ignored
+        assertThat( aggregate( HitPolicy.COLLECT_MIN, OUTPUT, null, n( 2 ), null, n( 1 ) ), is( n( 1 ) ) );
+        assertThat( aggregate( HitPolicy.COLLECT_MAX, OUTPUT, n( 2 ), null ), is( n( 2 ) ) );
+        assertThat( aggregate( HitPolicy.COLLECT_MAX, OUTPUT, null, null ), is( nullValue() ) );
+    }
+
+    @Test
+    public void testMultipleOutputs() {
+        Map<String, Object> sum = (Map<String, Object>) aggregate( HitPolicy.COLLECT_SUM, OUTPUTS, output( n( 1 ), "a" ), output( n( 2 ), "b" ) );
+        assertThat( sum.get( "amount" ), is( n( 3 ) ) );
+        assertThat( sum.get( "label" ), is( nullValue() ) );
+
+        Map<String, Object> max = (Map<String, Object>) aggregate( HitPolicy.COLLECT_MAX, OUTPUTS, output( n( 1 ), "b" ), output( null, "a" ) );
+        assertThat( max.get( "amount" ), is( n( 1 ) ) );
+        assertThat( max.get( "label" ), is( "b" ) );
+    }
+
+    @Test
+    public void testAnySingleMatch() {
+        List<DTDecisionRule> matches = Collections.singletonList( new DTDecisionRule( 0 ) );
+        assertThat( HitPolicy.any( null, null, null, matches, Collections.singletonList( "a" ) ), is( "a" ) );
+        assertThat( HitPolicy.any( null, null, null, matches, Collections.singletonList( null ) ), is( nullValue() ) );
+        assertThat( HitPolicy.any( null, null, null, Collections.emptyList(), Collections.emptyList() ), is( nullValue() ) );
+    }
+
+    @Test
+    public void testAnySameOutputs() {
+        DTDecisionRule first = new DTDecisionRule( 0 );
+        first.getOutputEntry().add( "\"a\"" );
+        DTDecisionRule second = new DTDecisionRule( 1 );
+        second.getOutputEntry().add( "\"a\"" );
+        DTDecisionRule third = new DTDecisionRule( 2 );
+        third.getOutputEntry().add( "\"b\"" );
+
+        assertThat( HitPolicy.any( null, null, null, Arrays.asList( first, second ), Arrays.asList( "a", "a" ) ), is( "a" ) );
+        try {
+            HitPolicy.any( null, null, null, Arrays.asList( first, third ), Arrays.asList( "a", "b" ) );
+            throw new AssertionError( "different outputs must be rejected" );
+        } catch ( RuntimeException e ) {
+            // expected
+        }
+    }
+
+    private static BigDecimal n(int value) {
+        return BigDecimal.valueOf( value );
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright 2016 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.dmn.feel.runtime.decisiontables;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.kie.dmn.feel.runtime.UnaryTest;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.function.Function;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertThat;
+
+public class DTRuleStoreTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    // the only non literal input entries used below are "> n"
+    private static final Function<String, UnaryTest> PARSER = text -> DTUnaryTests.compare( DTUnaryTests.Comparison.GT, new BigDecimal( text.substring( 1 ).trim() ) );
+
+    private DTRuleStore store() throws Exception {
+        DTRuleStore.Writer writer = new DTRuleStore.Writer( 2, 1 );
+        writer.addRule( Arrays.asList( "\"1000\"", "10" ), Arrays.asList( "\"low\"" ) );
+        writer.addRule( Arrays.asList( "\"2000\"", "10.0" ), Arrays.asList( "\"medium\"" ) );
+        writer.addRule( Arrays.asList( "-", "> 50" ), Arrays.asList( "\"high\"" ) );
+        writer.addRule( Arrays.asList( "\"1000\"", "-" ), Arrays.asList( "\"low\"" ) );
+        // 5 distinct input entries, 3 distinct output entries, "10" and "10.0" are the same number
+        assertThat( writer.getCellCount(), is( 8 ) );
+
+        Path file = folder.getRoot().toPath().resolve( "postcodes.rules" );
+        writer.write( file );
+        return DTRuleStore.open( file, PARSER );
+    }
+
+    @Test
+    public void testRules() throws Exception {
+        DTRuleStore store = store();
+
+        assertThat( store.getRuleCount(), is( 4 ) );
+        assertThat( store.asList().size(), is( 4 ) );
+        DTDecisionRule rule = store.getRule( 2 );
+        assertThat( rule.getIndex(), is( 2 ) );
+        assertThat( rule.getInputEntry().get( 0 ), is( DTUnaryTests.DASH ) );
+        assertThat( rule.getInputEntry().get( 1 ).apply( new BigDecimal( 60 ) ), is( true ) );
+        assertThat( rule.getOutputEntry(), is( Arrays.asList( "\"high\"" ) ) );
+        assertThat( store.getRule( 0 ).getInputEntry().get( 0 ), is( DTUnaryTests.equalTo( "1000" ) ) );
+    }
+
+    @Test
+    public void testIndexes() throws Exception {
+        DTRuleStore store = store();
+
+        assertThat( store.isIndexed( 0 ), is( true ) );
+        assertArrayEquals( new int[]{ 0, 2, 3 }, store.findRules( 0, DTRuleStore.keyOf( "1000" ) ) );
+        assertArrayEquals( new int[]{ 1, 2 }, store.findRules( 0, DTRuleStore.keyOf( "2000" ) ) );
+        assertArrayEquals( new int[]{ 2 }, store.findRules( 0, DTRuleStore.keyOf( "3000" ) ) );
+        assertArrayEquals( new int[]{ 2 }, store.findRules( 0, DTRuleStore.keyOf( null ) ) );
+        // numbers are indexed by value, regardless of their scale
+        assertArrayEquals( new int[]{ 0, 1, 2, 3 }, store.findRules( 1, DTRuleStore.keyOf( new BigDecimal( "10.00" ) ) ) );
+        assertArrayEquals( new int[]{ 2, 3 }, store.findRules( 1, DTRuleStore.keyOf( 10L + 1 ) ) );
+    }
+
+    @Test
+    public void testMatches() throws Exception {
+        DTRuleStore store = store();
+        BigDecimal sixty = new BigDecimal( 60 );
+
+        assertThat( store.matches( 0, 0, "1000", DTRuleStore.keyOf( "1000" ) ), is( true ) );
+        assertThat( store.matches( 0, 0, "2000", DTRuleStore.keyOf( "2000" ) ), is( false ) );
+        assertThat( store.matches( 0, 1, 10, DTRuleStore.keyOf( 10 ) ), is( true ) );
+        // a string is never equal to a number
+        assertThat( store.matches( 0, 1, "10", DTRuleStore.keyOf( "10" ) ), is( false ) );
+        assertThat( store.matches( 2, 1, sixty, DTRuleStore.keyOf( sixty ) ), is( true ) );
+        assertThat( store.matches( 2, 1, BigDecimal.ONE, DTRuleStore.keyOf( BigDecimal.ONE ) ), is( false ) );
+        assertThat( store.matches( 3, 1, null, null ), is( true ) );
+    }
+
+    @Test
+    public void testSameNumberEqualityAsInMemory() throws Exception {
+        DTRuleStore store = store();
+        UnaryTest inMemory = DTUnaryTests.equalTo( new BigDecimal( "10.0" ) );
+
+        for ( Object value : Arrays.asList( new BigDecimal( "10" ), new BigDecimal( "10.00" ), 10, new BigDecimal( "10.5" ), "10" ) ) {
+            boolean stored = store.matches( 1, 1, value, DTRuleStore.keyOf( value ) );
+            assertThat( inMemory.apply( value ), is( stored ) );
+            assertThat( store.getRule( 1 ).getInputEntry().get( 1 ).apply( value ), is( stored ) );
+        }
+        assertThat( inMemory, is( DTUnaryTests.equalTo( BigDecimal.TEN ) ) );
+        assertThat( inMemory.hashCode(), is( DTUnaryTests.equalTo( BigDecimal.TEN ).hashCode() ) );
+    }
+}
@@ -0,0 +1,150 @@
+/*
+ * Copyright 2016 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.dmn.feel.runtime.decisiontables;
+
+import org.junit.Test;
+import org.kie.dmn.feel.runtime.Range;
+import org.kie.dmn.feel.runtime.UnaryTest;
+import org.kie.dmn.feel.runtime.impl.RangeImpl;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+import static org.kie.dmn.feel.runtime.decisiontables.DTUnaryTests.*;
+
+public class DTUnaryTestsTest {
+
+    private static UnaryTest closedRange(int low, int high) {
+        return range( new RangeImpl( Range.RangeBoundary.CLOSED, n( low ), n( high ), Range.RangeBoundary.CLOSED ) );
+    }
+
+    @Test
+    public void testEquals() {
+        UnaryTest gold = equalTo( "gold" );
+        assertThat( gold.apply( "gold" ), is( true ) );
+        assertThat( gold.apply( "silver" ), is( false ) );
+        assertThat( gold.apply( null ), is( false ) );
+        assertThat( equalTo( null ).apply( null ), is( false ) );
+
+        assertThat( gold, is( equalTo( "gold" ) ) );
+        assertThat( gold.hashCode(), is( equalTo( "gold" ).hashCode() ) );
+        assertThat( gold, is( not( equalTo( "silver" ) ) ) );
+        assertThat( equalTo( null ), is( equalTo( null ) ) );
+        assertThat( equalTo( null ), is( not( gold ) ) );
+        assertThat( gold, is( not( equalTo( null ) ) ) );
+    }
+
+    @Test
+    public void testEqualsComparesNumbersByValue() {
+        UnaryTest ten = equalTo( new BigDecimal( "10.0" ) );
+        assertThat( ten.apply( BigDecimal.TEN ), is( true ) );
+        assertThat( ten.apply( 10 ), is( true ) );
+        assertThat( ten.apply( new BigDecimal( "10.01" ) ), is( false ) );
+        assertThat( ten.apply( "10" ), is( false ) );
+        assertThat( ten, is( equalTo( BigDecimal.TEN ) ) );
+        assertThat( ten.hashCode(), is( equalTo( BigDecimal.TEN ).hashCode() ) );
+        assertThat( equalTo( BigDecimal.ZERO ), is( equalTo( new BigDecimal( "0.00" ) ) ) );
+        assertThat( equalTo( BigDecimal.ZERO ).hashCode(), is( equalTo( new BigDecimal( "0.00" ) ).hashCode() ) );
+    }
+
+    @Test
+    public void testComparison() {
+        assertThat( compare( Comparison.LT, n( 18 ) ).apply( n( 17 ) ), is( true ) );
+        assertThat( compare( Comparison.LT, n( 18 ) ).apply( n( 18 ) ), is( false ) );
+        assertThat( compare( Comparison.LTE, n( 18 ) ).apply( n( 18 ) ), is( true ) );
+        assertThat( compare( Comparison.GT, n( 18 ) ).apply( n( 18 ) ), is( false ) );
+        assertThat( compare( Comparison.GTE, n( 18 ) ).apply( n( 18 ) ), is( true ) );
+        assertThat( compare( Comparison.EQ, n( 18 ) ).apply( new BigDecimal( "18.0" ) ), is( true ) );
+        assertThat( compare( Comparison.NE, n( 18 ) ).apply( n( 19 ) ), is( true ) );
+        // like all FEEL comparisons, null if either side is null
+        assertThat( compare( Comparison.LT, n( 18 ) ).apply( null ), is( nullValue() ) );
+        assertThat( compare( Comparison.LT, null ).apply( n( 17 ) ), is( nullValue() ) );
+        assertThat( isSatisfied( compare( Comparison.LT, n( 18 ) ), null ), is( false ) );
+
+        assertThat( compare( Comparison.LT, n( 18 ) ), is( compare( Comparison.LT, n( 18 ) ) ) );
+        assertThat( compare( Comparison.LT, n( 18 ) ).hashCode(), is( compare( Comparison.LT, n( 18 ) ).hashCode() ) );
+        assertThat( compare( Comparison.LT, n( 18 ) ), is( not( compare( Comparison.LTE, n( 18 ) ) ) ) );
+        assertThat( compare( Comparison.LT, n( 18 ) ), is( not( compare( Comparison.LT, n( 21 ) ) ) ) );
+    }
+
+    @Test
+    public void testRange() {
+        UnaryTest adult = closedRange( 18, 65 );
+        assertThat( adult.apply( n( 18 ) ), is( true ) );
+        assertThat( adult.apply( n( 65 ) ), is( true ) );
+        assertThat( adult.apply( n( 17 ) ), is( false ) );
+        assertThat( adult.apply( null ), is( false ) );
+        UnaryTest open = range( new RangeImpl( Range.RangeBoundary.OPEN, n( 18 ), n( 65 ), Range.RangeBoundary.OPEN ) );
+        assertThat( open.apply( n( 18 ) ), is( false ) );
+        assertThat( open.apply( n( 40 ) ), is( true ) );
+
+        assertThat( adult, is( closedRange( 18, 65 ) ) );
+        assertThat( adult.hashCode(), is( closedRange( 18, 65 ).hashCode() ) );
+        assertThat( adult, is( not( open ) ) );
+        assertThat( adult, is( not( closedRange( 18, 66 ) ) ) );
+    }
+
+    @Test
+    public void testDisjunction() {
+        UnaryTest goldOrSilver = or( Arrays.asList( equalTo( "gold" ), equalTo( "silver" ) ) );
+        assertThat( goldOrSilver, is( instanceOf( DisjunctionTest.class ) ) );
+        assertThat( goldOrSilver.apply( "gold" ), is( true ) );
+        assertThat( goldOrSilver.apply( "silver" ), is( true ) );
+        assertThat( goldOrSilver.apply( "bronze" ), is( false ) );
+        assertThat( goldOrSilver.apply( null ), is( false ) );
+        // a null outcome of one test does not prevent another one from matching
+        UnaryTest childOrSenior = or( Arrays.asList( compare( Comparison.LT, n( 18 ) ), compare( Comparison.GT, n( 65 ) ) ) );
+        assertThat( childOrSenior.apply( n( 70 ) ), is( true ) );
+        assertThat( childOrSenior.apply( n( 30 ) ), is( false ) );
+        assertThat( childOrSenior.apply( null ), is( false ) );
+
+        assertThat( goldOrSilver, is( or( Arrays.asList( equalTo( "gold" ), equalTo( "silver" ) ) ) ) );
+        assertThat( goldOrSilver.hashCode(), is( or( Arrays.asList( equalTo( "gold" ), equalTo( "silver" ) ) ).hashCode() ) );
+        // the order of the tests is significant
+        assertThat( goldOrSilver, is( not( or( Arrays.asList( equalTo( "silver" ), equalTo( "gold" ) ) ) ) ) );
+    }
+
+    @Test
+    public void testOr() {
+        UnaryTest gold = equalTo( "gold" );
+        assertThat( or( Collections.singletonList( gold ) ), is( sameInstance( gold ) ) );
+        assertThat( or( Arrays.asList( gold, DASH ) ), is( sameInstance( DASH ) ) );
+        assertThat( DASH.apply( null ), is( true ) );
+        assertThat( ((DisjunctionTest) or( Arrays.asList( gold, equalTo( "silver" ) ) )).getTests(), is( Arrays.asList( gold, equalTo( "silver" ) ) ) );
+    }
+
+    @Test
+    public void testValueBased() {
+        assertThat( isValueBased( DASH ), is( true ) );
+        assertThat( isValueBased( equalTo( "gold" ) ), is( true ) );
+        assertThat( isValueBased( compare( Comparison.LT, n( 18 ) ) ), is( true ) );
+        assertThat( isValueBased( closedRange( 18, 65 ) ), is( true ) );
+        assertThat( isValueBased( or( Arrays.asList( equalTo( "gold" ), equalTo( "silver" ) ) ) ), is( true ) );
+        assertThat( isValueBased( o -> true ), is( false ) );
+    }
+
+    private static BigDecimal n(int value) {
+        return BigDecimal.valueOf( value );
+    }
+}
@@ -0,0 +1,153 @@
+/*
+ * Copyright 2016 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.dmn.feel.runtime.decisiontables;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.kie.dmn.feel.lang.impl.EvaluationContextImpl;
+import org.kie.dmn.feel.lang.impl.FEELEventListenersManager;
+import org.kie.dmn.feel.runtime.UnaryTest;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class DecisionTableBatchTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    // more than 64 rows, so that the row bitsets take more than one word
+    private static final int ROWS = 150;
+
+    private static final List<String> PARAMETERS = Arrays.asList( "Age", "Tier" );
+
+    // "platinum" is not one of the allowed input values, so the rows having it fail the validation
+    private static final String[] TIERS = { "gold", "silver", "bronze", "platinum" };
+
+    private static final List<DTInputClause> INPUTS = Arrays.asList(
+            new DTInputClause( "Age", null, null ),
+            new DTInputClause( "Tier", "\"gold\",\"silver\",\"bronze\"", Arrays.asList( DTUnaryTests.equalTo( "gold" ), DTUnaryTests.equalTo( "silver" ), DTUnaryTests.equalTo( "bronze" ) ) ) );
+
+    private static final List<DTOutputClause> OUTPUTS = Arrays.asList( new DTOutputClause( "Discount", null ) );
+
+    // the rules overlap, so that the hit policies return different results
+    private static final String[][] RULES = {
+            { "< 18", "-", "0" },
+            { "-", "\"gold\"", "20" },
+            { ">= 65", "-", "15" },
+            { ">= 18", "\"silver\"", "10" },
+            { "< 65", "\"bronze\"", "5" } };
+
+    private static UnaryTest parse(String text) {
+        if ( text.equals( "-" ) ) {
+            return DTUnaryTests.DASH;
+        } else if ( text.startsWith( "\"" ) ) {
+            return DTUnaryTests.equalTo( text.substring( 1, text.length() - 1 ) );
+        } else if ( text.startsWith( ">=" ) ) {
+            return DTUnaryTests.compare( DTUnaryTests.Comparison.GTE, new BigDecimal( text.substring( 2 ).trim() ) );
+        }
+        return DTUnaryTests.compare( DTUnaryTests.Comparison.LT, new BigDecimal( text.substring( 1 ).trim() ) );
+    }
+
+    private static DecisionTableImpl table(HitPolicy hitPolicy) {
+        List<DTDecisionRule> rules = new ArrayList<>();
+        for ( int i = 0; i < RULES.length; i++ ) {
+            DTDecisionRule rule = new DTDecisionRule( i );
+            rule.getInputEntry().add( parse( RULES[i][0] ) );
+            rule.getInputEntry().add( parse( RULES[i][1] ) );
+            rule.getOutputEntry().add( RULES[i][2] );
+            rules.add( rule );
+        }
+        return new DecisionTableImpl( "discount", PARAMETERS, INPUTS, OUTPUTS, rules, hitPolicy );
+    }
+
+    private DecisionTableImpl storedTable(HitPolicy hitPolicy) throws Exception {
+        DTRuleStore.Writer writer = new DTRuleStore.Writer( 2, 1 );
+        for ( String[] rule : RULES ) {
+            writer.addRule( Arrays.asList( rule[0], rule[1] ), Arrays.asList( rule[2] ) );
+        }
+        Path file = folder.getRoot().toPath().resolve( "discount.rules" );
+        writer.write( file );
+        return new DecisionTableImpl( "discount", PARAMETERS, INPUTS, OUTPUTS, DTRuleStore.open( file, DecisionTableBatchTest::parse ), hitPolicy );
+    }
+
+    private static Object[][] columns() {
+        Object[][] columns = new Object[ PARAMETERS.size() ][ ROWS ];
+        for ( int row = 0; row < ROWS; row++ ) {
+            columns[0][row] = new BigDecimal( row % 90 );
+            columns[1][row] = TIERS[ row % TIERS.length ];
+        }
+        return columns;
+    }
+
+    private static void assertBatchMatchesEvaluate(DecisionTableImpl dt) {
+        Object[][] columns = columns();
+        Object[] results = dt.evaluateBatch( new EvaluationContextImpl( new FEELEventListenersManager() ), columns );
+        assertThat( results.length, is( ROWS ) );
+
+        int invalid = 0;
+        for ( int row = 0; row < ROWS; row++ ) {
+            EvaluationContextImpl ctx = new EvaluationContextImpl( new FEELEventListenersManager() );
+            ctx.enterFrame();
+            Object[] params = new Object[ PARAMETERS.size() ];
+            for ( int p = 0; p < params.length; p++ ) {
+                params[p] = columns[p][row];
+                ctx.setValue( PARAMETERS.get( p ), params[p] );
+            }
+            Object expected = dt.evaluate( ctx, params );
+            assertThat( "row " + row, results[row], is( expected ) );
+            if ( expected == null ) {
+                invalid++;
+            }
+        }
+        // at least the rows failing the validation have no result
+        assertThat( invalid >= ROWS / TIERS.length, is( true ) );
+    }
+
+    @Test
+    public void testFirst() {
+        assertBatchMatchesEvaluate( table( HitPolicy.FIRST ) );
+    }
+
+    @Test
+    public void testUnique() {
+        assertBatchMatchesEvaluate( table( HitPolicy.UNIQUE ) );
+    }
+
+    @Test
+    public void testCollect() {
+        assertBatchMatchesEvaluate( table( HitPolicy.COLLECT ) );
+    }
+
+    @Test
+    public void testCollectSum() {
+        assertBatchMatchesEvaluate( table( HitPolicy.COLLECT_SUM ) );
+    }
+
+    @Test
+    public void testRuleStore() throws Exception {
+        assertBatchMatchesEvaluate( storedTable( HitPolicy.FIRST ) );
+        assertBatchMatchesEvaluate( storedTable( HitPolicy.COLLECT ) );
+    }
+}
@@ -0,0 +1,266 @@
+/*
+ * Copyright 2016 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.dmn.feel.runtime.decisiontables;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.kie.dmn.feel.lang.impl.EvaluationContextImpl;
+import org.kie.dmn.feel.lang.impl.FEELEventListenersManager;
+import org.kie.dmn.feel.runtime.UnaryTest;
+import org.kie.dmn.feel.runtime.functions.DTInvokerFunction;
+import org.kie.dmn.feel.runtime.functions.JavaFunction;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+import static org.kie.dmn.feel.runtime.decisiontables.DTUnaryTests.*;
+
+public class DecisionTableImplTest {
+
+    private static final List<String>         PARAMETERS = Arrays.asList( "Age", "Tier" );
+    private static final List<DTOutputClause> OUTPUT     = Collections.singletonList( new DTOutputClause( "Risk", Arrays.asList( "high", "medium", "low" ) ) );
+
+    // the arguments of each call of the external function "record", which returns its argument
+    private static final List<Object> RECORDED = new ArrayList<>();
+
+    public static Object record(Object value) {
+        RECORDED.add( value );
+        return value;
+    }
+
+    private static final JavaFunction RECORD;
+
+    static {
+        try {
+            RECORD = new JavaFunction( "record", Collections.singletonList( "value" ), DecisionTableImplTest.class,
+                                       DecisionTableImplTest.class.getMethod( "record", Object.class ) );
+        } catch ( NoSuchMethodException e ) {
+            throw new IllegalStateException( e );
+        }
+    }
+
+    @Before
+    public void clearRecorded() {
+        RECORDED.clear();
+    }
+
+    /**
+     * A table whose first input column is the given age expression and the second one the tier
+     */
+    private static DecisionTableImpl riskTable(String ageExpression, HitPolicy hitPolicy) {
+        List<DTInputClause> inputs = Arrays.asList( new DTInputClause( ageExpression, null, null ),
+                                                    new DTInputClause( "Tier", null, null ) );
+        return new DecisionTableImpl( "risk", PARAMETERS, inputs, OUTPUT,
+                                      Arrays.asList( rule( 0, "\"high\"", compare( Comparison.GTE, n( 60 ) ), equalTo( "gold" ) ),
+                                                     rule( 1, "\"medium\"", compare( Comparison.GTE, n( 18 ) ), equalTo( "gold" ) ),
+                                                     rule( 2, "\"low\"", DASH, equalTo( "silver" ) ),
+                                                     rule( 3, "\"medium\"", compare( Comparison.LT, n( 18 ) ), equalTo( "silver" ) ) ),
+                                      hitPolicy );
+    }
+
+    private static DTDecisionRule rule(int index, String output, UnaryTest... tests) {
+        DTDecisionRule rule = new DTDecisionRule( index );
+        rule.getInputEntry().addAll( Arrays.asList( tests ) );
+        rule.getOutputEntry().add( output );
+        return rule;
+    }
+
+    /**
+     * Returns the result of the table, or the class of the exception it threw
+     */
+    private static Object evaluate(DecisionTableImpl dt, Object... params) {
+        EvaluationContextImpl ctx = new EvaluationContextImpl( new FEELEventListenersManager() );
+        ctx.setValue( "record", RECORD );
+        try {
+            return new DTInvokerFunction( dt ).apply( ctx, params );
+        } catch ( RuntimeException e ) {
+            return e.getClass();
+        }
+    }
+
+    @Test
+    public void testCostlyColumnOnlyEvaluatedWhenReached() {
+        for ( HitPolicy hitPolicy : HitPolicy.values() ) {
+            // the cheaper tier column, tested first, rejects every rule
+            RECORDED.clear();
+            evaluate( riskTable( "record( Age )", hitPolicy ), n( 70 ), "bronze" );
+            assertThat( hitPolicy.getShortName(), RECORDED.isEmpty(), is( true ) );
+
+            // evaluated once, even if tested by several rules
+            RECORDED.clear();
+            evaluate( riskTable( "record( Age )", hitPolicy ), n( 70 ), "gold" );
+            assertThat( hitPolicy.getShortName(), RECORDED, is( Collections.singletonList( (Object) n( 70 ) ) ) );
+        }
+    }
+
+    @Test
+    public void testSameResultsAsEagerColumns() {
+        for ( HitPolicy hitPolicy : HitPolicy.values() ) {
+            DecisionTableImpl lazy = riskTable( "record( Age )", hitPolicy );
+            DecisionTableImpl eager = riskTable( "Age", hitPolicy );
+            for ( Object age : Arrays.asList( null, n( 10 ), n( 30 ), n( 70 ) ) ) {
+                for ( String tier : Arrays.asList( "gold", "silver", "bronze" ) ) {
+                    assertThat( hitPolicy.getShortName() + " " + age + " " + tier, evaluate( lazy, age, tier ), is( evaluate( eager, age, tier ) ) );
+                }
+            }
+        }
+    }
+
+    /**
+     * A test that counts how many times it runs. It is only equal to itself, so a decision table
+     * shares it between the rules given the same instance.
+     */
+    private static final class CountingTest
+            implements UnaryTest {
+        private final UnaryTest test;
+        private int             count;
+
+        private CountingTest(UnaryTest test) {
+            this.test = test;
+        }
+
+        @Override
+        public Boolean apply(Object o) {
+            count++;
+            return test.apply( o );
+        }
+    }
+
+    private static DecisionTableImpl tierTable(HitPolicy hitPolicy, UnaryTest gold0, UnaryTest gold1, UnaryTest gold3) {
+        List<DTInputClause> inputs = Arrays.asList( new DTInputClause( "Age", null, null ),
+                                                    new DTInputClause( "Tier", null, null ) );
+        return new DecisionTableImpl( "risk", PARAMETERS, inputs, OUTPUT,
+                                      Arrays.asList( rule( 0, "\"high\"", compare( Comparison.GTE, n( 60 ) ), gold0 ),
+                                                     rule( 1, "\"medium\"", compare( Comparison.GTE, n( 18 ) ), gold1 ),
+                                                     rule( 2, "\"low\"", DASH, equalTo( "silver" ) ),
+                                                     rule( 3, "\"low\"", DASH, gold3 ) ),
+                                      hitPolicy );
+    }
+
+    @Test
+    public void testSharedTestRunsOncePerEvaluation() {
+        for ( HitPolicy hitPolicy : HitPolicy.values() ) {
+            for ( Object age : Arrays.asList( n( 10 ), n( 30 ), n( 70 ) ) ) {
+                for ( String tier : Arrays.asList( "gold", "silver" ) ) {
+                    String message = hitPolicy.getShortName() + " " + age + " " + tier;
+                    CountingTest shared = new CountingTest( equalTo( "gold" ) );
+                    Object sharedResult = evaluate( tierTable( hitPolicy, shared, shared, shared ), age, tier );
+                    CountingTest[] separate = { new CountingTest( equalTo( "gold" ) ), new CountingTest( equalTo( "gold" ) ), new CountingTest( equalTo( "gold" ) ) };
+                    Object separateResult = evaluate( tierTable( hitPolicy, separate[0], separate[1], separate[2] ), age, tier );
+
+                    assertThat( message, sharedResult, is( separateResult ) );
+                    int separateCount = separate[0].count + separate[1].count + separate[2].count;
+                    assertThat( message, shared.count, is( separateCount > 0 ? 1 : 0 ) );
+                }
+            }
+        }
+        // the matches keep the rule order
+        CountingTest shared = new CountingTest( equalTo( "gold" ) );
+        assertThat( evaluate( tierTable( HitPolicy.RULE_ORDER, shared, shared, shared ), n( 70 ), "gold" ), is( (Object) Arrays.asList( "high", "medium", "low" ) ) );
+        assertThat( shared.count, is( 1 ) );
+    }
+
+    private static DecisionTableImpl table(HitPolicy hitPolicy, List<DTOutputClause> outputs, DTDecisionRule... rules) {
+        List<DTInputClause> inputs = Arrays.asList( new DTInputClause( "Age", null, null ),
+                                                    new DTInputClause( "Tier", null, null ) );
+        return new DecisionTableImpl( "risk", PARAMETERS, inputs, outputs, Arrays.asList( rules ), hitPolicy );
+    }
+
+    private static DTDecisionRule rule(int index, List<String> outputs, UnaryTest... tests) {
+        DTDecisionRule rule = new DTDecisionRule( index );
+        rule.getInputEntry().addAll( Arrays.asList( tests ) );
+        rule.getOutputEntry().addAll( outputs );
+        return rule;
+    }
+
+    @Test
+    public void testFirstStopsAtFirstMatch() {
+        CountingTest later = new CountingTest( equalTo( "gold" ) );
+        DecisionTableImpl dt = table( HitPolicy.FIRST, OUTPUT,
+                                      rule( 0, "record( \"high\" )", compare( Comparison.GTE, n( 60 ) ), equalTo( "gold" ) ),
+                                      rule( 1, "record( \"medium\" )", compare( Comparison.GTE, n( 18 ) ), later ),
+                                      rule( 2, "record( \"low\" )", DASH, later ) );
+
+        assertThat( evaluate( dt, n( 70 ), "gold" ), is( (Object) "high" ) );
+        // neither the input entries nor the output entries of the following rules are evaluated
+        assertThat( later.count, is( 0 ) );
+        assertThat( RECORDED, is( Collections.singletonList( (Object) "high" ) ) );
+    }
+
+    @Test
+    public void testOnlyReadOutputsEvaluated() {
+        DecisionTableImpl unique = table( HitPolicy.UNIQUE, OUTPUT,
+                                          rule( 0, "record( \"high\" )", compare( Comparison.GTE, n( 60 ) ), DASH ),
+                                          rule( 1, "record( \"medium\" )", compare( Comparison.GTE, n( 18 ) ), DASH ),
+                                          rule( 2, "record( \"low\" )", compare( Comparison.LT, n( 18 ) ), DASH ) );
+        assertThat( evaluate( unique, n( 30 ), "gold" ), is( (Object) "medium" ) );
+        assertThat( RECORDED, is( Collections.singletonList( (Object) "medium" ) ) );
+        // a violation of the hit policy reads no output
+        RECORDED.clear();
+        assertThat( evaluate( unique, n( 70 ), "gold" ), is( nullValue() ) );
+        assertThat( RECORDED.isEmpty(), is( true ) );
+
+        // the rules with the same output entries as the first match are not evaluated again
+        DecisionTableImpl any = table( HitPolicy.ANY, OUTPUT,
+                                       rule( 0, "record( \"medium\" )", compare( Comparison.GTE, n( 18 ) ), DASH ),
+                                       rule( 1, "record( \"medium\" )", compare( Comparison.GTE, n( 60 ) ), DASH ),
+                                       rule( 2, "record( \"low\" )", compare( Comparison.LT, n( 18 ) ), DASH ) );
+        RECORDED.clear();
+        assertThat( evaluate( any, n( 70 ), "gold" ), is( (Object) "medium" ) );
+        assertThat( RECORDED, is( Collections.singletonList( (Object) "medium" ) ) );
+
+        // literal outputs are ranked without being evaluated, and only the winning rule is
+        List<DTOutputClause> outputs = Arrays.asList( OUTPUT.get( 0 ), new DTOutputClause( "Note", Collections.<String>emptyList() ) );
+        DecisionTableImpl priority = table( HitPolicy.PRIORITY, outputs,
+                                            rule( 0, Arrays.asList( "\"medium\"", "record( \"adult\" )" ), compare( Comparison.GTE, n( 18 ) ), DASH ),
+                                            rule( 1, Arrays.asList( "\"high\"", "record( \"senior\" )" ), compare( Comparison.GTE, n( 60 ) ), DASH ) );
+        RECORDED.clear();
+        Map<String, Object> result = (Map<String, Object>) evaluate( priority, n( 70 ), "gold" );
+        assertThat( result.get( "Risk" ), is( (Object) "high" ) );
+        assertThat( result.get( "Note" ), is( (Object) "senior" ) );
+        assertThat( RECORDED, is( Collections.singletonList( (Object) "senior" ) ) );
+    }
+
+    @Test
+    public void testPriorityOfNonLiteralOutputs() {
+        DecisionTableImpl dt = table( HitPolicy.PRIORITY, OUTPUT,
+                                      rule( 0, "record( \"medium\" )", compare( Comparison.GTE, n( 18 ) ), DASH ),
+                                      rule( 1, "record( \"high\" )", compare( Comparison.GTE, n( 60 ) ), DASH ),
+                                      rule( 2, "\"low\"", compare( Comparison.GTE, n( 18 ) ), DASH ) );
+        assertThat( dt.getOutputRank( dt.getDecisionRules().get( 0 ), 0 ), is( DecisionTableImpl.UNKNOWN_RANK ) );
+        assertThat( dt.getOutputRank( dt.getDecisionRules().get( 2 ), 0 ), is( 2 ) );
+
+        // the outputs whose rank is unknown are evaluated to be ranked
+        assertThat( evaluate( dt, n( 70 ), "gold" ), is( (Object) "high" ) );
+        assertThat( RECORDED.size(), is( 2 ) );
+        assertThat( RECORDED.containsAll( Arrays.asList( "medium", "high" ) ), is( true ) );
+        RECORDED.clear();
+        assertThat( evaluate( dt, n( 30 ), "gold" ), is( (Object) "medium" ) );
+        assertThat( RECORDED, is( Collections.singletonList( (Object) "medium" ) ) );
+    }
+
+    private static BigDecimal n(int value) {
+        return BigDecimal.valueOf( value );
+    }
+}
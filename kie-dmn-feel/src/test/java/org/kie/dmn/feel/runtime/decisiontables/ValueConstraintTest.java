@@ -0,0 +1,85 @@
+/*
+ * Copyright 2016 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.dmn.feel.runtime.decisiontables;
+
+import org.junit.Test;
+import org.kie.dmn.feel.runtime.Range;
+import org.kie.dmn.feel.runtime.impl.RangeImpl;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+import static org.kie.dmn.feel.runtime.decisiontables.DTUnaryTests.*;
+
+public class ValueConstraintTest {
+
+    @Test
+    public void testEnumeration() {
+        ValueConstraint c = ValueConstraint.ofValues( Arrays.asList( "UNEMPLOYED", "EMPLOYED", "STUDENT" ) );
+
+        assertThat( c.accepts( "EMPLOYED" ), is( true ) );
+        assertThat( c.accepts( "RETIRED" ), is( false ) );
+        assertThat( c.accepts( null ), is( false ) );
+        assertThat( c.getValues().size(), is( 3 ) );
+    }
+
+    @Test
+    public void testOverlappingRanges() {
+        ValueConstraint c = ValueConstraint.of( Arrays.asList( range( n( 0, 100, Range.RangeBoundary.CLOSED ) ),
+                                                               range( n( 10, 20, Range.RangeBoundary.OPEN ) ),
+                                                               range( n( 200, 300, Range.RangeBoundary.OPEN ) ) ) );
+
+        assertThat( c.accepts( n( 0 ) ), is( true ) );
+        assertThat( c.accepts( n( 100 ) ), is( true ) );
+        assertThat( c.accepts( n( 150 ) ), is( false ) );
+        assertThat( c.accepts( n( 250 ) ), is( true ) );
+        assertThat( c.accepts( n( 300 ) ), is( false ) );
+        assertThat( c.accepts( n( -1 ) ), is( false ) );
+        assertThat( c.accepts( "text" ), is( false ) );
+    }
+
+    @Test
+    public void testMixedTests() {
+        ValueConstraint c = ValueConstraint.of( Arrays.asList( equalTo( n( 5 ) ),
+                                                               compare( Comparison.GT, n( 1000 ) ),
+                                                               range( n( 10, 20, Range.RangeBoundary.CLOSED ) ) ) );
+
+        assertThat( c.accepts( n( 5 ) ), is( true ) );
+        assertThat( c.accepts( n( 15 ) ), is( true ) );
+        assertThat( c.accepts( n( 2000 ) ), is( true ) );
+        assertThat( c.accepts( n( 6 ) ), is( false ) );
+        assertThat( c.accepts( null ), is( false ) );
+    }
+
+    @Test
+    public void testDashAndEmpty() {
+        assertThat( ValueConstraint.of( Collections.singletonList( DASH ) ).accepts( null ), is( true ) );
+        assertThat( ValueConstraint.of( Collections.emptyList() ), is( nullValue() ) );
+    }
+
+    private static BigDecimal n(int value) {
+        return new BigDecimal( value );
+    }
+
+    private static Range n(int low, int high, Range.RangeBoundary boundary) {
+        return new RangeImpl( boundary, n( low ), n( high ), boundary );
+    }
+}
@@ -0,0 +1,63 @@
+/*
+ * Copyright 2016 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.dmn.feel.util;
+
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class DecimalMathTest {
+
+    private static final String[] OPERANDS = {
+            // zeros with different scales
+            "0", "0.0", "0.000", "0E+3", "0E-40",
+            // trailing zeros
+            "1", "1.0", "1.00", "10", "1E+1", "100.00", "-2.50", "1E+2",
+            // fractions and negative values
+            "0.1", "0.3333333333333333333333333333333333", "-0.5", "123.456", "-987654321.123456789",
+            // operands whose exact sum or product has more than 34 digits
+            "9999999999999999999999999999999999", "1234567890123456789012345678901234", "0.00000000000000000000000000000000001",
+            "1E+33", "5E-1", "-1E-34", "1E+100000000", "1E-100000000" };
+
+    @Test
+    public void testIdenticalToDecimal128() {
+        for ( String left : OPERANDS ) {
+            for ( String right : OPERANDS ) {
+                BigDecimal l = new BigDecimal( left );
+                BigDecimal r = new BigDecimal( right );
+                String operands = left + ", " + right;
+                // equals also compares the scales
+                assertThat( "add " + operands, DecimalMath.add( l, r ), is( l.add( r, MathContext.DECIMAL128 ) ) );
+                assertThat( "subtract " + operands, DecimalMath.subtract( l, r ), is( l.subtract( r, MathContext.DECIMAL128 ) ) );
+                assertThat( "multiply " + operands, DecimalMath.multiply( l, r ), is( l.multiply( r, MathContext.DECIMAL128 ) ) );
+            }
+        }
+    }
+
+    @Test
+    public void testRoundingAt34Digits() {
+        BigDecimal max = new BigDecimal( "9999999999999999999999999999999999" );
+        assertThat( DecimalMath.add( max, BigDecimal.ONE ), is( new BigDecimal( "1.000000000000000000000000000000000E+34" ) ) );
+        assertThat( DecimalMath.add( max, new BigDecimal( "0.4" ) ), is( max ) );
+        assertThat( DecimalMath.subtract( BigDecimal.ONE, new BigDecimal( "1E-34" ) ), is( new BigDecimal( "0.9999999999999999999999999999999999" ) ) );
+        assertThat( DecimalMath.subtract( BigDecimal.ONE, new BigDecimal( "1E-40" ) ), is( new BigDecimal( "1.000000000000000000000000000000000" ) ) );
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright 2016 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.dmn.feel.util;
+
+import org.junit.Test;
+import org.kie.dmn.feel.lang.FEELProperty;
+
+import java.lang.reflect.InvocationTargetException;
+import java.math.BigDecimal;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+public class EvalHelperTest {
+
+    public static class Person {
+        public String getName() {
+            return "John";
+        }
+
+        public boolean isActive() {
+            return true;
+        }
+
+        public int getAge() {
+            return 47;
+        }
+
+        @FEELProperty("first name")
+        public String getFirstName() {
+            return "Johnny";
+        }
+
+        public String getBroken() {
+            throw new IllegalStateException( "broken" );
+        }
+    }
+
+    // not public, so not accessible through a public method handle
+    static class Hidden {
+        public String getName() {
+            return "hidden";
+        }
+
+        public String getBroken() {
+            throw new IllegalStateException( "broken" );
+        }
+    }
+
+    @Test
+    public void testMethodHandleAccessor() throws Exception {
+        EvalHelper.PropertyAccessor accessor = EvalHelper.getPropertyAccessor( Person.class, "name" );
+        assertThat( accessor.isMethodHandle(), is( true ) );
+        assertThat( accessor.getProperty(), is( "name" ) );
+        assertThat( accessor.getMethod().getName(), is( "getName" ) );
+        assertThat( accessor.get( new Person() ), is( (Object) "John" ) );
+
+        assertThat( EvalHelper.getPropertyAccessor( Person.class, "active" ).get( new Person() ), is( (Object) true ) );
+        assertThat( EvalHelper.getPropertyAccessor( Person.class, "first name" ).get( new Person() ), is( (Object) "Johnny" ) );
+        // numbers are coerced by getValue
+        assertThat( EvalHelper.getValue( new Person(), "age" ), is( (Object) BigDecimal.valueOf( 47 ) ) );
+    }
+
+    @Test
+    public void testReflectiveAccessor() throws Exception {
+        EvalHelper.PropertyAccessor accessor = EvalHelper.getPropertyAccessor( Hidden.class, "name" );
+        assertThat( accessor.isMethodHandle(), is( false ) );
+        assertThat( accessor.getMethod().getName(), is( "getName" ) );
+        assertThat( accessor.get( new Hidden() ), is( (Object) "hidden" ) );
+        assertThat( EvalHelper.getValue( new Hidden(), "name" ), is( (Object) "hidden" ) );
+    }
+
+    @Test
+    public void testAccessorsCachedPerClass() {
+        EvalHelper.PropertyAccessor accessor = EvalHelper.getPropertyAccessor( Person.class, "name" );
+        assertThat( EvalHelper.getPropertyAccessor( Person.class, "name" ), is( sameInstance( accessor ) ) );
+        assertThat( EvalHelper.getPropertyAccessor( Person.class, "active" ), is( not( sameInstance( accessor ) ) ) );
+        assertThat( EvalHelper.getPropertyAccessor( Hidden.class, "name" ), is( not( sameInstance( accessor ) ) ) );
+        EvalHelper.PropertyAccessor missing = EvalHelper.getPropertyAccessor( Person.class, "missing" );
+        assertThat( EvalHelper.getPropertyAccessor( Person.class, "missing" ), is( sameInstance( missing ) ) );
+    }
+
+    @Test
+    public void testMissingProperty() throws Exception {
+        EvalHelper.PropertyAccessor accessor = EvalHelper.getPropertyAccessor( Person.class, "missing" );
+        assertThat( accessor.getMethod(), is( nullValue() ) );
+        assertThat( accessor.get( new Person() ), is( nullValue() ) );
+        assertThat( EvalHelper.getValue( new Person(), "missing" ), is( nullValue() ) );
+        assertThat( EvalHelper.getValue( null, "name" ), is( nullValue() ) );
+    }
+
+    @Test
+    public void testFailingAccessor() throws Exception {
+        for ( Object target : new Object[]{ new Person(), new Hidden() } ) {
+            try {
+                EvalHelper.getValue( target, "broken" );
+                fail( "the exception of " + target.getClass().getSimpleName() + ".getBroken() is not rethrown" );
+            } catch ( InvocationTargetException e ) {
+                assertThat( e.getCause().getMessage(), is( "broken" ) );
+            }
+        }
+    }
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright 2016 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.dmn.feel.model.v1_1;
+
+/**
+ * Extension element of a decision table whose rules are imported from a CSV file, one rule per
+ * line. Each line holds the text of the rule's input entries followed by the text of its output
+ * entries, quoted as usual in CSV files: a FEEL string literal "a" is written """a""".
+ */
+public class RulesImport extends DMNModelInstrumentedBase {
+
+    private String  locationURI;
+    private String  separator;
+    private boolean header;
+
+    public String getLocationURI() {
+        return locationURI;
+    }
+
+    public void setLocationURI( final String value ) {
+        this.locationURI = value;
+    }
+
+    /**
+     * The character separating the cells of a line, a comma when not set
+     */
+    public String getSeparator() {
+        return separator;
+    }
+
+    public void setSeparator( final String value ) {
+        this.separator = value;
+    }
+
+    /**
+     * True if the first line of the file holds the names of the columns, and not a rule
+     */
+    public boolean isHeader() {
+        return header;
+    }
+
+    public void setHeader( final boolean value ) {
+        this.header = value;
+    }
+
+}